@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.cactoos.Input;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.io.InputOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of parsing response heads: {@link HtHead}, {@link HtStatus},
+ * {@link HtHeaders}, {@link HtCookies} and {@link ParsedHead}.
+ *
+ * <p>Run it with <code>mvn -Pjmh verify -DskipTests</code>.</p>
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HeadBench {
+
+    /**
+     * Typical response of a web server.
+     */
+    private final byte[] response = String.join(
+        "\r\n",
+        "HTTP/1.1 200 OK",
+        "Date: Mon, 27 Jul 2009 12:28:53 GMT",
+        "Server: Apache/2.2.14 (Win32)",
+        "Last-Modified: Wed, 22 Jul 2009 19:15:56 GMT",
+        "ETag: \"34aa387-d-1568eb00\"",
+        "Content-Type: text/html; charset=UTF-8",
+        "Content-Length: 13",
+        "Cache-Control: private, max-age=0",
+        "Set-Cookie: session=38afes7a8; Path=/; HttpOnly",
+        "Set-Cookie: lang=en-US; Path=/; Secure",
+        "Vary: Accept-Encoding",
+        "Connection: keep-alive",
+        "",
+        "Hello, world!"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public void head(final Blackhole hole) throws Exception {
+        hole.consume(HeadBench.read(new HtHead(this.input())));
+    }
+
+    @Benchmark
+    public int status() {
+        return new HtStatus(this.input()).intValue();
+    }
+
+    @Benchmark
+    public int headers() {
+        return new HtHeaders(this.input()).size();
+    }
+
+    @Benchmark
+    public int cookies() {
+        return new HtCookies(this.input()).size();
+    }
+
+    @Benchmark
+    public void parsed(final Blackhole hole) throws Exception {
+        final ParsedHead head = new ParsedHead(this.input().stream());
+        hole.consume(head.status());
+        hole.consume(head.headers());
+    }
+
+    @Benchmark
+    public void body(final Blackhole hole) throws Exception {
+        hole.consume(HeadBench.read(new HtBody(this.input())));
+    }
+
+    @Benchmark
+    public void parsedBody(final Blackhole hole) throws Exception {
+        hole.consume(
+            HeadBench.read(new HtBody(new HtParsedResponse(this.input())))
+        );
+    }
+
+    /**
+     * The response.
+     * @return Input
+     */
+    private Input input() {
+        return new InputOf(this.response);
+    }
+
+    /**
+     * Read it all.
+     * @param input Input
+     * @return Bytes
+     * @throws Exception If fails
+     */
+    private static byte[] read(final Input input) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream stream = input.stream()) {
+            final byte[] buf = new byte[1024];
+            int len = stream.read(buf);
+            while (len >= 0) {
+                out.write(buf, 0, len);
+                len = stream.read(buf);
+            }
+        }
+        return out.toByteArray();
+    }
+}
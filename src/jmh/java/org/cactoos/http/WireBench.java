@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cactoos.Input;
+import org.cactoos.http.io.SocketPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.takes.http.BkBasic;
+import org.takes.http.FtBasic;
+import org.takes.tk.TkText;
+
+/**
+ * Benchmark of request/response loops against a loopback server.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle NonStaticMethodCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WireBench {
+
+    /**
+     * Server is stopped.
+     */
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Server thread.
+     */
+    private Thread server;
+
+    /**
+     * Server address.
+     */
+    private URI home;
+
+    /**
+     * Pool of sockets.
+     */
+    private SocketPool pool;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        final ServerSocket socket = new ServerSocket(0);
+        this.home = URI.create(
+            String.format("http://localhost:%d/", socket.getLocalPort())
+        );
+        this.pool = new SocketPool();
+        this.server = new Thread(
+            () -> {
+                try {
+                    new FtBasic(
+                        new BkBasic(new TkText("Hello, bench!")), socket
+                    ).start(this.stopped::get);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        );
+        this.server.setDaemon(true);
+        this.server.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws InterruptedException {
+        this.stopped.set(true);
+        this.server.join();
+    }
+
+    @Benchmark
+    public long wire() throws Exception {
+        return WireBench.drain(
+            new HtResponse(new HtWire(this.home), new Get(this.home))
+        );
+    }
+
+    @Benchmark
+    public long pooledWire() throws Exception {
+        return WireBench.drain(
+            new HtResponse(
+                new HtPooledWire(this.home, this.pool),
+                new Get(this.home)
+            )
+        );
+    }
+
+    /**
+     * Read the response to its end.
+     * @param input Response
+     * @return Number of bytes read
+     * @throws Exception If fails
+     */
+    private static long drain(final Input input) throws Exception {
+        long total = 0L;
+        try (InputStream stream = input.stream()) {
+            final byte[] buf = new byte[1024];
+            int len = stream.read(buf);
+            while (len >= 0) {
+                total += (long) len;
+                len = stream.read(buf);
+            }
+        }
+        return total;
+    }
+}
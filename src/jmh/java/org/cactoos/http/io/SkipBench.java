@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.cactoos.Bytes;
+import org.cactoos.io.InputOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of skipping response heads with {@link SkipInput} and of
+ * {@link BoundedByteBuffer}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SkipBench {
+
+    /**
+     * Delimiter.
+     */
+    private final Bytes delimiter = () -> "\r\n\r\n".getBytes(
+        StandardCharsets.US_ASCII
+    );
+
+    /**
+     * Response with a head of about 8K.
+     */
+    private final byte[] response = SkipBench.response();
+
+    @Benchmark
+    public int skip() throws Exception {
+        return new SkipInput(new InputOf(this.response), this.delimiter)
+            .stream().read();
+    }
+
+    @Benchmark
+    public boolean bounded() throws Exception {
+        final byte[] bytes = this.delimiter.asBytes();
+        final BoundedByteBuffer buffer = new BoundedByteBuffer(bytes.length);
+        boolean found = false;
+        for (int idx = 0; idx < this.response.length && !found; ++idx) {
+            buffer.offer(this.response[idx]);
+            found = buffer.equalTo(bytes);
+        }
+        return found;
+    }
+
+    /**
+     * Build the response.
+     * @return Bytes
+     */
+    private static byte[] response() {
+        final StringBuilder text = new StringBuilder("HTTP/1.1 200 OK\r\n");
+        for (int idx = 0; idx < 200; ++idx) {
+            text.append("X-Header-").append(idx).append(": some value\r\n");
+        }
+        return text.append("\r\nbody").toString()
+            .getBytes(StandardCharsets.US_ASCII);
+    }
+}
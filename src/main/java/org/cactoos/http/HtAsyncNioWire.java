@@ -0,0 +1,252 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import org.cactoos.BiFunc;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.http.io.BufferPool;
+import org.cactoos.http.io.ChannelExchange;
+import org.cactoos.http.io.EventLoop;
+import org.cactoos.http.io.PlainTransport;
+import org.cactoos.http.io.TlsSessions;
+import org.cactoos.http.io.TlsTransport;
+import org.cactoos.http.io.Transport;
+import org.cactoos.io.BytesOf;
+import org.cactoos.scalar.Constant;
+import org.cactoos.scalar.Ternary;
+
+/**
+ * {@link AsyncWire} over non-blocking channels, driven by an
+ * {@link EventLoop}.
+ *
+ * <p>No thread waits for the response: the future is completed by the
+ * loop as soon as the first bytes of the response arrive, the rest of
+ * them are read by the loop while the caller reads the returned
+ * {@link Input}. The request is read into memory before it's sent.
+ * Cancelling the future closes the channel.</p>
+ *
+ * <p>With {@link TlsSessions}, or with an {@code https} URI, bytes go
+ * through TLS, made by an {@code SSLEngine} in the same loop.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class HtAsyncNioWire implements AsyncWire {
+
+    /**
+     * The loop.
+     */
+    private final EventLoop loop;
+
+    /**
+     * Address.
+     */
+    private final String address;
+
+    /**
+     * TCP port.
+     */
+    private final Scalar<Integer> port;
+
+    /**
+     * Transports over channels, by the port.
+     */
+    private final BiFunc<SocketChannel, Integer, Transport> transports;
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param uri The address of the server
+     */
+    public HtAsyncNioWire(final EventLoop loop, final URI uri) {
+        this(
+            loop,
+            uri.getHost(),
+            new Ternary<>(
+                () -> uri.getPort() == -1,
+                () -> uri.toURL().getDefaultPort(),
+                uri::getPort
+            ),
+            HtAsyncNioWire.transports(loop, uri)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     */
+    public HtAsyncNioWire(final EventLoop loop, final String addr,
+        final int tcp) {
+        this(
+            loop, addr, new Constant<>(tcp),
+            (channel, prt) -> new PlainTransport(channel)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sessions TLS sessions
+     */
+    public HtAsyncNioWire(final EventLoop loop, final String addr,
+        final int tcp, final TlsSessions sessions) {
+        this(
+            loop, addr, new Constant<>(tcp),
+            HtAsyncNioWire.secure(loop, addr, sessions)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param tcp The TCP port source
+     * @param trans Transports over channels
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    HtAsyncNioWire(final EventLoop loop, final String addr,
+        final Scalar<Integer> tcp,
+        final BiFunc<SocketChannel, Integer, Transport> trans) {
+        this.loop = loop;
+        this.address = addr;
+        this.port = tcp;
+        this.transports = trans;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public CompletableFuture<Input> send(final Input input) {
+        CompletableFuture<Input> future;
+        try {
+            final ChannelExchange exchange = this.exchange(input);
+            future = exchange.response();
+            future.whenComplete(
+                (rsp, error) -> {
+                    if (error instanceof CancellationException) {
+                        HtAsyncNioWire.close(exchange);
+                    }
+                }
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Start the exchange.
+     * @param input The data to send
+     * @return The exchange, registered in the loop
+     * @throws Exception If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    ChannelExchange exchange(final Input input) throws Exception {
+        final ByteBuffer request = ByteBuffer.wrap(
+            new BytesOf(input).asBytes()
+        );
+        final SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            final int tcp = this.port.value();
+            final int ops;
+            if (channel.connect(new InetSocketAddress(this.address, tcp))) {
+                ops = SelectionKey.OP_WRITE;
+            } else {
+                ops = SelectionKey.OP_CONNECT;
+            }
+            final ChannelExchange exchange = new ChannelExchange(
+                channel, this.transports.apply(channel, tcp), request, this.loop
+            );
+            this.loop.register(channel, ops, exchange);
+            return exchange;
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Close the exchange nobody waits for anymore.
+     * @param exchange The exchange
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private static void close(final ChannelExchange exchange) {
+        try {
+            exchange.stream().close();
+        } catch (final IOException ex) {
+            // nobody is there to report it to
+        }
+    }
+
+    /**
+     * Transports for the URI, secure for {@code https}.
+     * @param loop The loop
+     * @param uri The URI
+     * @return Transports
+     */
+    private static BiFunc<SocketChannel, Integer, Transport> transports(
+        final EventLoop loop, final URI uri) {
+        final BiFunc<SocketChannel, Integer, Transport> trans;
+        if ("https".equalsIgnoreCase(uri.getScheme())) {
+            trans = HtAsyncNioWire.secure(
+                loop, uri.getHost(), TlsSessions.SHARED
+            );
+        } else {
+            trans = (channel, prt) -> new PlainTransport(channel);
+        }
+        return trans;
+    }
+
+    /**
+     * Secure transports.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param sessions TLS sessions
+     * @return Transports
+     */
+    private static BiFunc<SocketChannel, Integer, Transport> secure(
+        final EventLoop loop, final String addr, final TlsSessions sessions) {
+        final BufferPool pool = new BufferPool();
+        return (channel, prt) -> new TlsTransport(
+            channel, loop, sessions, addr, prt, pool
+        );
+    }
+}
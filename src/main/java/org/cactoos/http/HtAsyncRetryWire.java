@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.Func;
+import org.cactoos.Input;
+
+/**
+ * {@link AsyncWire} that will try a few times before failing.
+ *
+ * <p>The next attempt is started by the failure of the previous one,
+ * no thread waits between attempts. Cancelling the future cancels the
+ * running attempt and no more attempts are made.</p>
+ *
+ * <p>The class is thread-safe if the origin wire is.</p>
+ *
+ * @since 0.1
+ */
+public final class HtAsyncRetryWire implements AsyncWire {
+
+    /**
+     * Original wire.
+     */
+    private final AsyncWire origin;
+
+    /**
+     * Exit condition.
+     */
+    private final Func<Integer, Boolean> func;
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param attempts Maximum number of attempts
+     */
+    public HtAsyncRetryWire(final AsyncWire wire, final int attempts) {
+        this(wire, attempt -> attempt >= attempts);
+    }
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param exit Exit condition, returns TRUE if there is no reason to try
+     */
+    public HtAsyncRetryWire(final AsyncWire wire,
+        final Func<Integer, Boolean> exit) {
+        this.origin = wire;
+        this.func = exit;
+    }
+
+    @Override
+    public CompletableFuture<Input> send(final Input input) {
+        final CompletableFuture<Input> result = new CompletableFuture<>();
+        final AtomicReference<CompletableFuture<Input>> current =
+            new AtomicReference<>();
+        result.whenComplete(
+            (rsp, error) -> {
+                final CompletableFuture<Input> running = current.get();
+                if (result.isCancelled() && running != null) {
+                    running.cancel(true);
+                }
+            }
+        );
+        this.attempt(input, 0, result, current);
+        return result;
+    }
+
+    /**
+     * Make an attempt and the next ones, if it fails.
+     * @param input The data to send
+     * @param attempt Number of the attempt, starting from zero
+     * @param result The future response
+     * @param current The future of the running attempt
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void attempt(final Input input, final int attempt,
+        final CompletableFuture<Input> result,
+        final AtomicReference<CompletableFuture<Input>> current) {
+        final CompletableFuture<Input> sent = this.origin.send(input);
+        current.set(sent);
+        if (result.isCancelled()) {
+            sent.cancel(true);
+        }
+        sent.whenComplete(
+            (rsp, error) -> {
+                if (error == null) {
+                    if (!result.complete(rsp)) {
+                        HtAsyncRetryWire.close(rsp);
+                    }
+                } else if (!result.isDone()) {
+                    try {
+                        if (this.func.apply(attempt + 1)) {
+                            result.completeExceptionally(error);
+                        } else {
+                            this.attempt(input, attempt + 1, result, current);
+                        }
+                    // @checkstyle IllegalCatchCheck (1 line)
+                    } catch (final Exception ex) {
+                        result.completeExceptionally(ex);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Close the response nobody waits for anymore.
+     * @param rsp The response
+     */
+    @SuppressWarnings(
+        {"PMD.AvoidCatchingGenericException", "PMD.EmptyCatchBlock"}
+    )
+    private static void close(final Input rsp) {
+        try {
+            rsp.stream().close();
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            // nobody is there to report it to
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import org.cactoos.Input;
+import org.cactoos.http.io.VirtualExecutor;
+import org.cactoos.http.io.WheelTimer;
+
+/**
+ * {@link AsyncWire} that will fail the response if it's taking too long.
+ *
+ * <p>Timeouts of all wires are tracked by the {@link WheelTimer} shared
+ * with {@link HtTimedWire}, no thread waits for a response. When time
+ * is out, the future of the origin wire is cancelled, which aborts the
+ * exchange, see {@link AsyncWire#send(Input)}. A response that arrives
+ * too late anyway is closed. Cancelling the future cancels the future
+ * of the origin wire too.</p>
+ *
+ * <p>The future is failed by the timeout in a thread of an executor, not
+ * in the thread of the timer, so callbacks of the caller never hold the
+ * timer, which is shared by all timed wires.</p>
+ *
+ * <p>The class is thread-safe if the origin wire is.</p>
+ *
+ * @since 0.1
+ */
+public final class HtAsyncTimedWire implements AsyncWire {
+
+    /**
+     * Executor of timeouts, shared by all wires.
+     */
+    private static final Executor TIMEOUTS = new VirtualExecutor();
+
+    /**
+     * Original wire.
+     */
+    private final AsyncWire origin;
+
+    /**
+     * Milliseconds.
+     */
+    private final long milliseconds;
+
+    /**
+     * Executor of timeouts.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param milliseconds Milliseconds until the response fails
+     */
+    public HtAsyncTimedWire(final AsyncWire wire, final long milliseconds) {
+        this(wire, milliseconds, HtAsyncTimedWire.TIMEOUTS);
+    }
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param milliseconds Milliseconds until the response fails
+     * @param exec Executor to fail the response in, when time is out
+     */
+    public HtAsyncTimedWire(final AsyncWire wire, final long milliseconds,
+        final Executor exec) {
+        this.origin = wire;
+        this.milliseconds = milliseconds;
+        this.executor = exec;
+    }
+
+    @Override
+    public CompletableFuture<Input> send(final Input input) {
+        final CompletableFuture<Input> result = new CompletableFuture<>();
+        final CompletableFuture<Input> sent = this.origin.send(input);
+        final WheelTimer.Timeout timer = HtTimedWire.TIMER.schedule(
+            () -> this.executor.execute(
+                () -> {
+                    result.completeExceptionally(
+                        new TimeoutException(
+                            String.format(
+                                "No response in %d msec", this.milliseconds
+                            )
+                        )
+                    );
+                    sent.cancel(true);
+                }
+            ),
+            this.milliseconds
+        );
+        result.whenComplete(
+            (rsp, error) -> {
+                if (result.isCancelled()) {
+                    timer.cancel();
+                    sent.cancel(true);
+                }
+            }
+        );
+        sent.whenComplete(
+            (rsp, error) -> {
+                timer.cancel();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (!result.complete(rsp)) {
+                    HtAsyncTimedWire.close(rsp);
+                }
+            }
+        );
+        return result;
+    }
+
+    /**
+     * Close the response nobody waits for anymore.
+     * @param rsp The response
+     */
+    @SuppressWarnings(
+        {"PMD.AvoidCatchingGenericException", "PMD.EmptyCatchBlock"}
+    )
+    private static void close(final Input rsp) {
+        try {
+            rsp.stream().close();
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            // nobody is there to report it to
+        }
+    }
+}
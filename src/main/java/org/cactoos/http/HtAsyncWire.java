@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.cactoos.Input;
+import org.cactoos.http.io.AbortScope;
+import org.cactoos.http.io.VirtualExecutor;
+
+/**
+ * {@link AsyncWire} that sends through a blocking {@link Wire},
+ * in threads of an executor.
+ *
+ * <p>By default it's a {@link VirtualExecutor}, so on JDK 21 and later
+ * every exchange waits for the network in its own virtual thread.</p>
+ *
+ * <p>Cancelling the future closes the sockets the exchange has opened
+ * so far, like {@link HtTimedWire} does, and the response, if it comes
+ * anyway.</p>
+ *
+ * <p>The class is thread-safe if the origin wire is.</p>
+ *
+ * @since 0.1
+ */
+public final class HtAsyncWire implements AsyncWire {
+
+    /**
+     * Original wire.
+     */
+    private final Wire origin;
+
+    /**
+     * Executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     */
+    public HtAsyncWire(final Wire wire) {
+        this(wire, new VirtualExecutor());
+    }
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param exec The executor to send in
+     */
+    public HtAsyncWire(final Wire wire, final Executor exec) {
+        this.origin = wire;
+        this.executor = exec;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public CompletableFuture<Input> send(final Input input) {
+        final CompletableFuture<Input> future = new CompletableFuture<>();
+        final AbortScope scope = new AbortScope();
+        future.whenComplete(
+            (rsp, error) -> {
+                if (future.isCancelled()) {
+                    scope.abort();
+                }
+            }
+        );
+        try {
+            this.executor.execute(
+                () -> {
+                    try {
+                        final Input rsp = scope.value(
+                            () -> this.origin.send(input)
+                        );
+                        if (!future.complete(rsp)) {
+                            HtAsyncWire.close(rsp);
+                        }
+                    // @checkstyle IllegalCatchCheck (1 line)
+                    } catch (final Exception ex) {
+                        future.completeExceptionally(ex);
+                    }
+                }
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Close the response nobody waits for anymore.
+     * @param rsp The response
+     */
+    @SuppressWarnings(
+        {"PMD.AvoidCatchingGenericException", "PMD.EmptyCatchBlock"}
+    )
+    private static void close(final Input rsp) {
+        try {
+            rsp.stream().close();
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            // nobody is there to report it to
+        }
+    }
+}
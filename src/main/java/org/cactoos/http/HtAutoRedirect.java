@@ -28,11 +28,13 @@ import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import org.cactoos.Input;
-import org.cactoos.io.Sticky;
 
 /**
  * Automatically redirects request if response status code is 30x.
  *
+ * <p>The origin response is parsed only once, by {@link HtParsedResponse},
+ * and its body is not kept in memory.</p>
+ *
  * @since 0.1
  */
 public final class HtAutoRedirect implements Input {
@@ -47,21 +49,21 @@ public final class HtAutoRedirect implements Input {
      * @param rsp Response
      */
     public HtAutoRedirect(final Input rsp) {
-        this.response = new Sticky(rsp);
+        this.response = rsp;
     }
 
     @Override
     public InputStream stream() throws Exception {
-        InputStream stream = this.response.stream();
+        final HtParsedResponse parsed = new HtParsedResponse(this.response);
+        InputStream stream = parsed.stream();
         final String header = "location";
-        final int status = new HtStatus(this.response).intValue();
+        final int status = new HtStatus(parsed).intValue();
         // @checkstyle MagicNumber (1 line)
         if (status >= 300 && status <= 308) {
-            final Map<String, List<String>> headers = new HtHeaders(
-                new HtHead(this.response)
-            );
+            final Map<String, List<String>> headers = new HtHeaders(parsed);
             if (headers.containsKey(header)) {
                 final URI uri = URI.create(headers.get(header).get(0));
+                stream.close();
                 stream = new HtResponse(uri).stream();
             }
         }
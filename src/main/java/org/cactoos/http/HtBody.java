@@ -30,27 +30,35 @@ import org.cactoos.http.io.SkipInput;
 import org.cactoos.io.BytesOf;
 
 /**
- * Head of HTTP response.
-
+ * Body of HTTP response.
+ *
  * @since 0.1
  */
 public final class HtBody implements Input {
 
     /**
-     * Response.
+     * Body.
      */
-    private final Input response;
+    private final Input body;
 
     /**
      * Ctor.
      * @param rsp Response
      */
     public HtBody(final Input rsp) {
-        this.response = rsp;
+        this.body = new SkipInput(rsp, new BytesOf("\r\n\r\n"));
+    }
+
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtBody(final HtParsedResponse rsp) {
+        this.body = rsp.body();
     }
 
     @Override
     public InputStream stream() throws Exception {
-        return new SkipInput(this.response, new BytesOf("\r\n\r\n")).stream();
+        return this.body.stream();
     }
 }
@@ -25,8 +25,10 @@
 package org.cactoos.http;
 
 import java.util.List;
+import java.util.Map;
 import org.cactoos.Input;
 import org.cactoos.Scalar;
+import org.cactoos.http.io.ParsedHead;
 import org.cactoos.list.ListOf;
 
 /**
@@ -43,21 +45,45 @@ import org.cactoos.list.ListOf;
 public final class HtContentType implements Scalar<List<String>> {
 
     /**
-     * Response head part.
+     * Response headers.
      */
-    private final Input head;
+    private final Map<String, List<String>> headers;
 
     /**
      * Ctor.
      * @param head Response head part
      */
     public HtContentType(final Input head) {
-        this.head = head;
+        this(new HtHeaders(head));
+    }
+
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtContentType(final HtParsedResponse rsp) {
+        this(new HtHeaders(rsp));
+    }
+
+    /**
+     * Ctor.
+     * @param head Parsed response head
+     */
+    public HtContentType(final ParsedHead head) {
+        this(new HtHeaders(head));
+    }
+
+    /**
+     * Ctor.
+     * @param hdrs Response headers
+     */
+    private HtContentType(final Map<String, List<String>> hdrs) {
+        this.headers = hdrs;
     }
 
     @Override
     public List<String> value() {
-        return new HtHeaders(this.head)
+        return this.headers
             .getOrDefault(
                 "content-type",
                 new ListOf<>("application/octet-stream")
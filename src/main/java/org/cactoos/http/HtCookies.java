@@ -23,22 +23,21 @@
  */
 package org.cactoos.http;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.cactoos.Input;
-import org.cactoos.Text;
-import org.cactoos.iterable.Filtered;
-import org.cactoos.iterable.Joined;
-import org.cactoos.iterable.Mapped;
-import org.cactoos.map.Grouped;
-import org.cactoos.map.MapEntry;
+import org.cactoos.http.io.ParsedHead;
 import org.cactoos.map.MapEnvelope;
-import org.cactoos.scalar.LengthOf;
-import org.cactoos.text.Split;
 
 /**
  * Cookies.
  *
+ * <p>Segments of <code>Set-Cookie</code> headers without a value, like
+ * <code>Secure</code> or <code>HttpOnly</code>, are skipped.</p>
+ *
  * @since 0.1
  */
 public final class HtCookies extends MapEnvelope<String, List<String>> {
@@ -48,27 +47,49 @@ public final class HtCookies extends MapEnvelope<String, List<String>> {
      * @param rsp Response
      */
     public HtCookies(final Input rsp) {
-        super(() -> new Grouped<>(
-            new Mapped<>(
-                (Text entry) -> {
-                    final Iterator<Text> iter = new Split(entry, "=").iterator();
-                    return new MapEntry<>(
-                        iter.next().asString(),
-                        iter.next().asString()
-                    );
-                },
-                new Filtered<>(
-                    entry -> new LengthOf(new Split(entry, "=")).intValue() == 2,
-                    new Joined<>(
-                        new Mapped<>(
-                            e -> new Split(e, ";\\s+"),
-                            new HtHeaders(rsp).get("set-cookie")
-                        )
-                    )
-                )
-            ),
-            MapEntry::getKey,
-            MapEntry::getValue
-        ));
+        this(new HtHeaders(rsp));
+    }
+
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtCookies(final HtParsedResponse rsp) {
+        this(new HtHeaders(rsp));
+    }
+
+    /**
+     * Ctor.
+     * @param head Parsed response head
+     */
+    public HtCookies(final ParsedHead head) {
+        this(new HtHeaders(head));
+    }
+
+    /**
+     * Ctor.
+     * @param headers Response headers
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private HtCookies(final Map<String, List<String>> headers) {
+        super(() -> {
+            final Map<String, List<String>> map = new HashMap<>(0);
+            for (final String header : headers.getOrDefault(
+                "set-cookie", Collections.emptyList()
+            )) {
+                for (final String segment : header.split(";")) {
+                    final String entry = segment.trim();
+                    final int idx = entry.indexOf('=');
+                    if (idx >= 0 && idx == entry.lastIndexOf('=')
+                        && idx < entry.length() - 1) {
+                        map.computeIfAbsent(
+                            entry.substring(0, idx),
+                            key -> new ArrayList<>(1)
+                        ).add(entry.substring(idx + 1));
+                    }
+                }
+            }
+            return map;
+        });
     }
 }
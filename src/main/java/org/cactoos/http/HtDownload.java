@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Body of a response, saved to a file.
+ *
+ * <p>The body is delimited like in {@link HtFramedResponse} and goes
+ * to the file by {@link FileChannel#transferFrom(ReadableByteChannel,
+ * long, long)} from a channel over its stream. The stream is on the
+ * heap, so the bytes are copied through heap buffers anyway: it's a
+ * convenience sink, not a copy-avoiding one. If the response has
+ * <code>Content-Length</code>, the file is made of that size before the
+ * body is read, and a body which ends earlier is an error. The body is saved whatever the status of the response is,
+ * check it with {@link HtStatus} if needed.</p>
+ *
+ * <p>The result is the number of bytes saved.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ */
+public final class HtDownload implements Scalar<Long> {
+
+    /**
+     * Bytes to transfer at once.
+     */
+    private static final long CHUNK = 1L << 20;
+
+    /**
+     * The response.
+     */
+    private final Input response;
+
+    /**
+     * The file.
+     */
+    private final Path path;
+
+    /**
+     * Ctor.
+     * @param rsp The response
+     * @param file The file
+     */
+    public HtDownload(final Input rsp, final Path file) {
+        this.response = rsp;
+        this.path = file;
+    }
+
+    @Override
+    public Long value() throws Exception {
+        final ParsedHead head = new ParsedHead(this.response.stream());
+        final List<String> lengths = head.headers().get("content-length");
+        long pos = 0L;
+        try (
+            InputStream body = HtFramedResponse.body(head, head.body());
+            ReadableByteChannel source = Channels.newChannel(body);
+            FileChannel file = FileChannel.open(
+                this.path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )
+        ) {
+            if (lengths != null && !head.headers()
+                .containsKey("transfer-encoding")) {
+                final long length = Long.parseLong(
+                    lengths.get(lengths.size() - 1).trim()
+                );
+                if (length > 0L) {
+                    file.write(ByteBuffer.allocate(1), length - 1L);
+                }
+            }
+            while (true) {
+                final long done = file.transferFrom(
+                    source, pos, HtDownload.CHUNK
+                );
+                if (done == 0L) {
+                    break;
+                }
+                pos += done;
+            }
+            file.truncate(pos);
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.cactoos.Input;
+import org.cactoos.http.io.ChunkedInputStream;
+import org.cactoos.http.io.LimitedInputStream;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Response that ends exactly where the HTTP message ends.
+ *
+ * <p>The body is delimited according to
+ * <a href="https://tools.ietf.org/html/rfc7230#section-3.3.3">
+ * section 3.3.3 of RFC 7230</a>: it is empty for 1xx, 204 and 304
+ * responses, decoded if <code>Transfer-Encoding</code> is
+ * <code>chunked</code>, limited by <code>Content-Length</code> if it is
+ * present, and read until the connection is closed otherwise. The head is
+ * returned as is, so the response can be used with {@link HtHead},
+ * {@link HtBody}, {@link HtHeaders} and others.</p>
+ *
+ * <p>Responses to HEAD requests have no body, whatever their headers
+ * say, so the method of the request must be given for them.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+public final class HtFramedResponse implements Input {
+
+    /**
+     * The origin response.
+     */
+    private final Input origin;
+
+    /**
+     * The method of the request.
+     */
+    private final String method;
+
+    /**
+     * Ctor.
+     * @param rsp The origin response
+     */
+    public HtFramedResponse(final Input rsp) {
+        this(rsp, "GET");
+    }
+
+    /**
+     * Ctor.
+     * @param rsp The origin response
+     * @param mtd The method of the request
+     */
+    public HtFramedResponse(final Input rsp, final String mtd) {
+        this.origin = rsp;
+        this.method = mtd;
+    }
+
+    @Override
+    public InputStream stream() throws Exception {
+        final ParsedHead head = new ParsedHead(this.origin.stream());
+        return head.message(
+            HtFramedResponse.body(head, head.body(), this.method)
+        );
+    }
+
+    /**
+     * Delimit the body.
+     * @param head The head of the response
+     * @param rest The rest of the message, after the head
+     * @return The body that ends at the end of the message
+     * @throws IOException If fails
+     */
+    static InputStream body(final ParsedHead head, final InputStream rest)
+        throws IOException {
+        return HtFramedResponse.body(head, rest, "GET");
+    }
+
+    /**
+     * Delimit the body of the response to a request with the method.
+     * @param head The head of the response
+     * @param rest The rest of the message, after the head
+     * @param method The method of the request
+     * @return The body that ends at the end of the message
+     * @throws IOException If fails
+     * @checkstyle MagicNumberCheck (20 lines)
+     */
+    static InputStream body(final ParsedHead head, final InputStream rest,
+        final String method) throws IOException {
+        final int status = head.status();
+        final Map<String, List<String>> headers = head.headers();
+        final InputStream body;
+        if (status < 200 || status == 204 || status == 304
+            || "HEAD".equalsIgnoreCase(method)) {
+            body = new LimitedInputStream(rest, 0L);
+        } else if (headers.containsKey("transfer-encoding")) {
+            if (HtFramedResponse.last(headers.get("transfer-encoding"))
+                .endsWith("chunked")) {
+                body = new ChunkedInputStream(rest);
+            } else {
+                body = rest;
+            }
+        } else if (headers.containsKey("content-length")) {
+            body = new LimitedInputStream(
+                rest,
+                Long.parseLong(
+                    HtFramedResponse.last(headers.get("content-length"))
+                )
+            );
+        } else {
+            body = rest;
+        }
+        return body;
+    }
+
+    /**
+     * The last value of a header, lowered and trimmed.
+     * @param values All values of the header
+     * @return The value
+     */
+    private static String last(final List<String> values) {
+        return values.get(values.size() - 1).trim()
+            .toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -25,10 +25,8 @@
 package org.cactoos.http;
 
 import java.io.InputStream;
-import java.nio.charset.Charset;
-import java.util.Scanner;
 import org.cactoos.Input;
-import org.cactoos.io.InputStreamOf;
+import org.cactoos.http.io.ParsedHead;
 
 /**
  * Head of HTTP response.
@@ -37,16 +35,6 @@ import org.cactoos.io.InputStreamOf;
  */
 public final class HtHead implements Input {
 
-    /**
-     * Header separator.
-     */
-    private static final String DELIMITER = "\r\n\r\n";
-
-    /**
-     * Charset that is used to read headers.
-     */
-    private static final Charset CHARSET = Charset.defaultCharset();
-
     /**
      * Response.
      */
@@ -60,14 +48,18 @@ public final class HtHead implements Input {
         this.response = rsp;
     }
 
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtHead(final HtParsedResponse rsp) {
+        this(rsp.head());
+    }
+
     @Override
     public InputStream stream() throws Exception {
-        try (final Scanner scanner = new Scanner(
-            this.response.stream(),
-            HtHead.CHARSET.name()
-        )) {
-            scanner.useDelimiter(HtHead.DELIMITER);
-            return new InputStreamOf(scanner.next());
+        try (InputStream stream = this.response.stream()) {
+            return new ParsedHead(stream).head();
         }
     }
 }
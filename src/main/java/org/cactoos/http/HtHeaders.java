@@ -24,23 +24,17 @@
 
 package org.cactoos.http;
 
-import java.util.HashMap;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import org.cactoos.Input;
-import org.cactoos.Text;
-import org.cactoos.list.Joined;
-import org.cactoos.list.ListOf;
+import org.cactoos.http.io.ParsedHead;
 import org.cactoos.map.MapEnvelope;
-import org.cactoos.text.Lowered;
-import org.cactoos.text.Split;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.Trimmed;
 
 /**
  * Headers of HTTP response.
  *
+ * <p>Names of headers are lowered.</p>
+ *
  * @since 0.1
  */
 public final class HtHeaders extends MapEnvelope<String, List<String>> {
@@ -49,26 +43,27 @@ public final class HtHeaders extends MapEnvelope<String, List<String>> {
      * Ctor.
      * @param head Response head part
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public HtHeaders(final Input head) {
         super(() -> {
-            final Map<String, List<String>> map = new HashMap<>();
-            final ListOf<Text> texts = new ListOf<>(
-                new Split(new TextOf(head), "\r\n")
-            );
-            for (final Text line : texts.subList(1, texts.size())) {
-                final String[] parts = line.asString().split(":", 2);
-                map.merge(
-                    new Lowered(
-                        new Trimmed(new TextOf(parts[0])), Locale.ENGLISH
-                    ).asString(),
-                    new ListOf<>(
-                        new Trimmed(new TextOf(parts[1])).asString()
-                    ),
-                    (first, second) -> new Joined<String>(first, second)
-                );
+            try (InputStream stream = head.stream()) {
+                return new ParsedHead(stream).headers();
             }
-            return map;
         });
     }
+
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtHeaders(final HtParsedResponse rsp) {
+        super(rsp::headers);
+    }
+
+    /**
+     * Ctor.
+     * @param head Parsed response head
+     */
+    public HtHeaders(final ParsedHead head) {
+        super(head::headers);
+    }
 }
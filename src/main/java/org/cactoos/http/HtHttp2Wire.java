@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.net.Socket;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.BiFunc;
+import org.cactoos.Input;
+import org.cactoos.http.h2.H2Connection;
+import org.cactoos.http.io.Connect;
+
+/**
+ * Wire of HTTP/2, all exchanges are multiplexed over one connection.
+ *
+ * <p>Requests are written in HTTP/1.1, as to any other wire: the start
+ * line and the Host header become pseudo-headers, connection-specific
+ * headers are dropped and the body, if there is Content-Length or chunked
+ * Transfer-Encoding, goes in DATA frames. The response comes back in
+ * HTTP/1.1 form too, with <code>HTTP/2</code> in the status line, so
+ * {@link HtHead}, {@link HtStatus}, {@link HtHeaders} and {@link HtBody}
+ * read it as usual. The body is never chunked, it just ends.</p>
+ *
+ * <p>The connection is opened on the first exchange and is shared by all
+ * the others, which may run in parallel, up to the number of concurrent
+ * streams the server allows. A connection that failed or got GOAWAY is
+ * replaced by a new one. By default, the connection is cleartext with
+ * prior knowledge, <code>h2c</code>.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class HtHttp2Wire implements Wire {
+
+    /**
+     * Scheme of requests.
+     */
+    private final String scheme;
+
+    /**
+     * Host.
+     */
+    private final String host;
+
+    /**
+     * TCP port.
+     */
+    private final int port;
+
+    /**
+     * Supplier of sockets.
+     */
+    private final BiFunc<String, Integer, Socket> sockets;
+
+    /**
+     * The current connection.
+     */
+    private final AtomicReference<H2Connection> conn;
+
+    /**
+     * Ctor.
+     * @param uri The address of the server, with http scheme
+     */
+    public HtHttp2Wire(final URI uri) {
+        this(
+            uri.getScheme(), uri.getHost(), HtHttp2Wire.port(uri),
+            new Connect()
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     */
+    public HtHttp2Wire(final String addr, final int tcp) {
+        this("http", addr, tcp, new Connect());
+    }
+
+    /**
+     * Ctor.
+     * @param scheme Scheme of requests, "http" or "https"
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sockets Supplier of sockets, which speak HTTP/2 from the start
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtHttp2Wire(final String scheme, final String addr, final int tcp,
+        final BiFunc<String, Integer, Socket> sockets) {
+        this.scheme = scheme;
+        this.host = addr;
+        this.port = tcp;
+        this.sockets = sockets;
+        this.conn = new AtomicReference<>();
+    }
+
+    @Override
+    public Input send(final Input input) throws Exception {
+        return new Http2Exchange(this.scheme, this.host, this.port).send(
+            this.connection(), input
+        );
+    }
+
+    /**
+     * The connection, a new one if the current one can't take streams.
+     * @return The connection
+     * @throws Exception If fails
+     */
+    private H2Connection connection() throws Exception {
+        synchronized (this.conn) {
+            H2Connection current = this.conn.get();
+            if (current == null || !current.usable()) {
+                current = new H2Connection(
+                    this.sockets.apply(this.host, this.port)
+                ).start();
+                this.conn.set(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * TCP port of the URI.
+     * @param uri The URI
+     * @return The port
+     */
+    private static int port(final URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = Http2Exchange.port(uri.getScheme());
+        }
+        return port;
+    }
+}
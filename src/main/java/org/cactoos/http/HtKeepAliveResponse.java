@@ -32,6 +32,9 @@ import org.cactoos.text.Joined;
 /**
  * The response which supports <em>Keep-Alive</em> header.
  *
+ * <p>The header only asks the server to keep the connection open, use
+ * {@link HtPooledWire} in order to actually reuse it.</p>
+ *
  * @since 0.1
  */
 public final class HtKeepAliveResponse extends InputEnvelope {
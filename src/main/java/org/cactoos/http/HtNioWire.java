@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.net.URI;
+import org.cactoos.Input;
+import org.cactoos.http.io.EventLoop;
+import org.cactoos.http.io.TlsSessions;
+
+/**
+ * Wire over non-blocking channels, driven by an {@link EventLoop}.
+ *
+ * <p>A few loop threads connect, write requests and read responses of
+ * any number of exchanges, no thread is held by an exchange while it's in
+ * flight. {@link #send(Input)} returns right after the channel is
+ * registered in the loop; the response is read from the returned
+ * {@link Input} by the caller, whenever it's ready. The request is read
+ * into memory before it's sent. Share the same loop between wires.
+ * With {@link TlsSessions}, or with an {@code https} URI, bytes go
+ * through TLS.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ * @see HtAsyncNioWire
+ */
+public final class HtNioWire implements Wire {
+
+    /**
+     * The asynchronous wire to start exchanges with.
+     */
+    private final HtAsyncNioWire origin;
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param uri The address of the server
+     */
+    public HtNioWire(final EventLoop loop, final URI uri) {
+        this(new HtAsyncNioWire(loop, uri));
+    }
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     */
+    public HtNioWire(final EventLoop loop, final String addr, final int tcp) {
+        this(new HtAsyncNioWire(loop, addr, tcp));
+    }
+
+    /**
+     * Ctor.
+     * @param loop The loop
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sessions TLS sessions
+     */
+    public HtNioWire(final EventLoop loop, final String addr, final int tcp,
+        final TlsSessions sessions) {
+        this(new HtAsyncNioWire(loop, addr, tcp, sessions));
+    }
+
+    /**
+     * Ctor.
+     * @param wire The asynchronous wire
+     */
+    private HtNioWire(final HtAsyncNioWire wire) {
+        this.origin = wire;
+    }
+
+    @Override
+    public Input send(final Input input) throws Exception {
+        return this.origin.exchange(input);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.scalar.Sticky;
+
+/**
+ * Response, parsed only once.
+ *
+ * <p>The origin response is asked for its stream only once: the status,
+ * the headers and the position of the body are taken from it in a single
+ * pass, and the body is streamed from the same stream, without keeping
+ * it in memory. {@link HtStatus}, {@link HtHeaders}, {@link HtCookies},
+ * {@link HtContentType}, {@link HtHead} and {@link HtBody} share the
+ * parsed head, if they get this object:</p>
+ *
+ * <pre> HtParsedResponse rsp = new HtParsedResponse(
+ *   new HtResponse("http://www.example.com")
+ * );
+ * int status = new HtStatus(rsp).intValue();
+ * Map&lt;String, List&lt;String&gt;&gt; headers = new HtHeaders(rsp);
+ * String body = new TextOf(new HtBody(rsp)).asString();</pre>
+ *
+ * <p>The body can be read only once, either through {@link #body()} or
+ * through {@link #stream()}, which returns the whole response again.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+public final class HtParsedResponse implements Input {
+
+    /**
+     * Parsed head.
+     */
+    private final Scalar<ParsedHead> parsed;
+
+    /**
+     * Ctor.
+     * @param rsp Response
+     */
+    public HtParsedResponse(final Input rsp) {
+        this.parsed = new Sticky<>(() -> new ParsedHead(rsp.stream()));
+    }
+
+    /**
+     * Status code.
+     * @return The code
+     * @throws Exception If fails
+     */
+    public int status() throws Exception {
+        return this.parsed.value().status();
+    }
+
+    /**
+     * Headers, with lowered names.
+     * @return Headers
+     * @throws Exception If fails
+     */
+    public Map<String, List<String>> headers() throws Exception {
+        return this.parsed.value().headers();
+    }
+
+    /**
+     * Head, without the empty line.
+     * @return The head
+     */
+    public Input head() {
+        return () -> this.parsed.value().head();
+    }
+
+    /**
+     * Body, streamed.
+     * @return The body
+     */
+    public Input body() {
+        return () -> this.parsed.value().body();
+    }
+
+    @Override
+    public InputStream stream() throws Exception {
+        return this.parsed.value().message();
+    }
+}
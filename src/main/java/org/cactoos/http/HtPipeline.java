@@ -0,0 +1,349 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.cactoos.Input;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.http.io.SocketPool;
+import org.cactoos.io.InputOf;
+
+/**
+ * HTTP/1.1 pipelining of a batch of idempotent requests.
+ *
+ * <p>Requests are written back to back over one connection, up to the
+ * depth of the pipeline ahead of the responses, and the responses are
+ * read in the same order, each one framed as in {@link HtFramedResponse}.
+ * If the server closes the connection in the middle, or says
+ * <code>Connection: close</code>, the requests that are left without
+ * responses are sent again over a new connection, which is safe since
+ * they are idempotent. If a connection gives no response at all, which
+ * happens when a pooled one was closed by the server just before the
+ * batch, the requests are sent once more over a new connection, past
+ * the pool, and if that one gives no response either, the batch
+ * fails.</p>
+ *
+ * <p>Requests must have <code>Content-Length</code> if they have a body,
+ * the empty line at the end of the head may be missing, as in
+ * {@link Get}. POST and other methods that are not idempotent are not
+ * accepted. Responses are read into memory, one by one, so they may be
+ * used in any order. The connection goes back to the pool if it's still
+ * good after the batch.</p>
+ *
+ * <p>The class is thread-safe if the pool is.</p>
+ *
+ * @since 0.1
+ */
+public final class HtPipeline {
+
+    /**
+     * Default depth.
+     */
+    private static final int DEPTH = 8;
+
+    /**
+     * Idempotent methods, RFC 7231, Section 4.2.2.
+     */
+    private static final Set<String> IDEMPOTENT = new HashSet<>(
+        Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE")
+    );
+
+    /**
+     * Address.
+     */
+    private final String address;
+
+    /**
+     * TCP port.
+     */
+    private final int port;
+
+    /**
+     * Pool of sockets.
+     */
+    private final SocketPool pool;
+
+    /**
+     * How many requests may wait for their responses.
+     */
+    private final int depth;
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     */
+    public HtPipeline(final URI uri) {
+        this(
+            uri.getHost(), HtPipeline.port(uri), new SocketPool(),
+            HtPipeline.DEPTH
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     */
+    public HtPipeline(final String addr, final int tcp) {
+        this(addr, tcp, new SocketPool(), HtPipeline.DEPTH);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param pool Pool of sockets
+     * @param depth How many requests may wait for their responses
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtPipeline(final String addr, final int tcp, final SocketPool pool,
+        final int depth) {
+        this.address = addr;
+        this.port = tcp;
+        this.pool = pool;
+        this.depth = depth;
+    }
+
+    /**
+     * Send the requests and read their responses.
+     * @param requests The requests
+     * @return The responses, in the same order
+     * @throws Exception If fails
+     */
+    public List<Input> send(final Iterable<Input> requests) throws Exception {
+        final List<byte[]> raw = new ArrayList<>(0);
+        final List<Boolean> bodiless = new ArrayList<>(0);
+        for (final Input request : requests) {
+            final ParsedHead head = new ParsedHead(request.stream());
+            final String method = head.line().split(" ")[0];
+            if (!HtPipeline.IDEMPOTENT.contains(method)) {
+                throw new IllegalArgumentException(
+                    String.format("%s request can't be pipelined", method)
+                );
+            }
+            raw.add(HtPipeline.request(head));
+            bodiless.add("HEAD".equals(method));
+        }
+        final List<Input> responses = new ArrayList<>(raw.size());
+        boolean fresh = false;
+        while (responses.size() < raw.size()) {
+            final int before = responses.size();
+            final IOException error = this.exchange(
+                raw, bodiless, responses, fresh
+            );
+            if (responses.size() == before && fresh) {
+                throw new IOException(
+                    String.format(
+                        "%s:%d gave no response in a new connection",
+                        this.address, this.port
+                    ),
+                    error
+                );
+            }
+            fresh = responses.size() == before;
+        }
+        return Collections.unmodifiableList(responses);
+    }
+
+    /**
+     * Send the requests that have no responses yet over one connection.
+     * @param raw All requests
+     * @param bodiless Responses to these requests have no body
+     * @param responses Responses so far, new ones are added here
+     * @param fresh Make a new connection instead of leasing one
+     * @return The error that broke the connection or NULL
+     * @throws Exception If fails
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private IOException exchange(final List<byte[]> raw,
+        final List<Boolean> bodiless, final List<Input> responses,
+        final boolean fresh) throws Exception {
+        final Socket socket;
+        if (fresh) {
+            socket = this.pool.fresh(this.address, this.port);
+        } else {
+            socket = this.pool.lease(this.address, this.port);
+        }
+        IOException error = null;
+        boolean open = true;
+        try {
+            final OutputStream out = new BufferedOutputStream(
+                socket.getOutputStream()
+            );
+            final InputStream in = new BufferedInputStream(
+                socket.getInputStream()
+            );
+            int sent = responses.size();
+            while (open && responses.size() < raw.size()) {
+                while (sent < raw.size()
+                    && sent - responses.size() < this.depth) {
+                    out.write(raw.get(sent));
+                    sent += 1;
+                }
+                out.flush();
+                final byte[] head = HtPipeline.head(in);
+                final ParsedHead parsed = new ParsedHead(
+                    new ByteArrayInputStream(head)
+                );
+                // @checkstyle MagicNumber (1 line)
+                if (parsed.status() < 200) {
+                    continue;
+                }
+                InputStream body = HtFramedResponse.body(parsed, in);
+                if (bodiless.get(responses.size())) {
+                    body = new ByteArrayInputStream(new byte[0]);
+                }
+                open = body != in && !HtPipeline.closes(parsed);
+                responses.add(new InputOf(HtPipeline.message(head, body)));
+            }
+        } catch (final IOException ex) {
+            error = ex;
+            open = false;
+        } finally {
+            if (open) {
+                this.pool.release(this.address, this.port, socket);
+            } else {
+                socket.close();
+            }
+        }
+        return error;
+    }
+
+    /**
+     * The request, with the empty line after the head and the body.
+     * @param head The parsed request
+     * @return The bytes
+     * @throws IOException If fails
+     */
+    private static byte[] request(final ParsedHead head) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtPipeline.copy(head.head(), out);
+        out.write(new byte[] {'\r', '\n', '\r', '\n'});
+        HtPipeline.copy(head.body(), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Read the head of the response, with the empty line.
+     * @param in The stream, buffered
+     * @return The head
+     * @throws IOException If fails or the stream ends
+     */
+    private static byte[] head(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int lines = 0;
+        while (lines < 2) {
+            final int read = in.read();
+            if (read < 0) {
+                throw new IOException(
+                    "The connection was closed before the head of response"
+                );
+            }
+            out.write(read);
+            if (read == '\n') {
+                lines += 1;
+            } else if (read != '\r') {
+                lines = 0;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The whole message, read into memory.
+     * @param head The head, with the empty line
+     * @param body The body, framed
+     * @return The message
+     * @throws IOException If fails
+     */
+    private static byte[] message(final byte[] head, final InputStream body)
+        throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(head);
+        HtPipeline.copy(body, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Does the server close the connection after the response?
+     * @param head The head of the response
+     * @return TRUE if so
+     * @throws IOException If fails
+     */
+    private static boolean closes(final ParsedHead head) throws IOException {
+        final String connection = head.headers().getOrDefault(
+            "connection", Collections.emptyList()
+        ).toString().toLowerCase(Locale.ENGLISH);
+        return connection.contains("close")
+            || head.line().startsWith("HTTP/1.0")
+            && !connection.contains("keep-alive");
+    }
+
+    /**
+     * Copy the stream to its end.
+     * @param in The stream
+     * @param out Where to copy
+     * @throws IOException If fails
+     */
+    private static void copy(final InputStream in, final OutputStream out)
+        throws IOException {
+        final byte[] buf = new byte[8192];
+        while (true) {
+            final int len = in.read(buf);
+            if (len < 0) {
+                break;
+            }
+            out.write(buf, 0, len);
+        }
+    }
+
+    /**
+     * TCP port of the URI.
+     * @param uri The URI
+     * @return The port
+     */
+    private static int port(final URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = Http2Exchange.port(uri.getScheme());
+        }
+        return port;
+    }
+}
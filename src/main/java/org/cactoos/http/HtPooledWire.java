@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.http.io.LeasedInputStream;
+import org.cactoos.http.io.SocketPool;
+import org.cactoos.io.InputOf;
+import org.cactoos.scalar.Constant;
+import org.cactoos.scalar.Ternary;
+
+/**
+ * Wire that reuses persistent connections.
+ *
+ * <p>Sockets are leased from a {@link SocketPool} and given back to it
+ * once the response, framed by {@link HtFramedResponse}, is read until
+ * its end and closed. If the response is
+ * closed before its end, the socket is closed too, since there is
+ * something left unread on it. Share the same pool between wires in order
+ * to share idle connections between them.</p>
+ *
+ * <p>The method of the request is peeked from its first line, so that
+ * the response to a HEAD request is known to have no body.</p>
+ *
+ * <p>The class is thread-safe if the pool is.</p>
+ *
+ * @since 0.1
+ */
+public final class HtPooledWire implements Wire {
+
+    /**
+     * How many first bytes of the request may hold its method.
+     */
+    private static final int METHOD = 16;
+
+    /**
+     * Address.
+     */
+    private final String address;
+
+    /**
+     * TCP port.
+     */
+    private final Scalar<Integer> port;
+
+    /**
+     * Pool of sockets.
+     */
+    private final SocketPool pool;
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     */
+    public HtPooledWire(final URI uri) {
+        this(uri, new SocketPool());
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     * @param pool Pool of sockets
+     */
+    public HtPooledWire(final URI uri, final SocketPool pool) {
+        this(
+            uri.getHost(),
+            new Ternary<>(
+                () -> uri.getPort() == -1,
+                () -> uri.toURL().getDefaultPort(),
+                uri::getPort
+            ),
+            pool
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param pool Pool of sockets
+     */
+    public HtPooledWire(final String addr, final int tcp,
+        final SocketPool pool) {
+        this(addr, new Constant<>(tcp), pool);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port source
+     * @param pool Pool of sockets
+     */
+    HtPooledWire(final String addr, final Scalar<Integer> tcp,
+        final SocketPool pool) {
+        this.address = addr;
+        this.port = tcp;
+        this.pool = pool;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public Input send(final Input input) throws Exception {
+        final int tcp = this.port.value();
+        final Socket socket = this.pool.lease(this.address, tcp);
+        final InputStream response;
+        try {
+            response = HtPooledWire.framed(socket, input);
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            socket.close();
+            throw ex;
+        }
+        return new InputOf(
+            new LeasedInputStream(
+                response,
+                eof -> {
+                    if (eof) {
+                        this.pool.release(this.address, tcp, socket);
+                    } else {
+                        socket.close();
+                    }
+                }
+            )
+        );
+    }
+
+    /**
+     * Send the request and frame the response.
+     * @param socket The socket
+     * @param input The request
+     * @return The response
+     * @throws Exception If fails
+     */
+    private static InputStream framed(final Socket socket, final Input input)
+        throws Exception {
+        final Wire wire = new HtWire(() -> socket);
+        final InputStream response;
+        if (input instanceof Upload) {
+            response = new HtFramedResponse(wire.send(input)).stream();
+        } else {
+            final PushbackInputStream request = new PushbackInputStream(
+                input.stream(), HtPooledWire.METHOD
+            );
+            final String method = HtPooledWire.method(request);
+            response = new HtFramedResponse(
+                wire.send(new InputOf(request)), method
+            ).stream();
+        }
+        return response;
+    }
+
+    /**
+     * The method of the request, which is pushed back.
+     * @param request The request
+     * @return The method
+     * @throws IOException If fails
+     */
+    private static String method(final PushbackInputStream request)
+        throws IOException {
+        final byte[] buf = new byte[HtPooledWire.METHOD];
+        int len = 0;
+        while (len < buf.length && (len == 0 || buf[len - 1] != ' ')) {
+            final int data = request.read();
+            if (data < 0) {
+                break;
+            }
+            buf[len] = (byte) data;
+            len += 1;
+        }
+        request.unread(buf, 0, len);
+        return new String(buf, 0, len, StandardCharsets.US_ASCII).trim();
+    }
+}
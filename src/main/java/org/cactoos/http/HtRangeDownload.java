@@ -0,0 +1,311 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.http.io.ArrayPool;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.http.io.VirtualExecutor;
+import org.cactoos.io.InputOf;
+import org.cactoos.io.Joined;
+
+/**
+ * Body of a resource, downloaded to a file in ranges, at the same time.
+ *
+ * <p>The first byte is asked first, RFC 7233. If the server answers with
+ * <code>206 Partial Content</code> and the full length of the resource,
+ * the resource is split into segments, which are asked with
+ * <code>Range</code> headers at the same time, each one by its own
+ * {@link Wire#send(Input)}, and written to the file at their offsets.
+ * Every segment is asked with <code>If-Range</code> of the validator of
+ * the first answer, if there is one, and if any of them is not a
+ * <code>206</code>, the resource is changed and the download fails.</p>
+ *
+ * <p>If the server doesn't serve ranges and answers with
+ * <code>200</code>, the body of that answer is saved, as
+ * {@link HtDownload} does. Segments are not smaller than 64 KB.</p>
+ *
+ * <p>Segments come from streams on the heap and are copied to the file
+ * through blocks taken from {@link ArrayPool#SHARED}, so it's a
+ * convenience sink, not a copy-avoiding one.</p>
+ *
+ * <p>If the server doesn't answer the first byte with either of them, the
+ * request is sent once more as it is, so its head must end with the empty
+ * line. Requests with ranges are ended by {@link Ranged} anyway.</p>
+ *
+ * <p>The result is the number of bytes saved.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class HtRangeDownload implements Scalar<Long> {
+
+    /**
+     * The smallest segment.
+     */
+    private static final long SMALLEST = 1L << 16;
+
+    /**
+     * Status of <code>206 Partial Content</code>.
+     */
+    private static final int PARTIAL = 206;
+
+    /**
+     * Size of a block to copy.
+     */
+    private static final int BLOCK = 1 << 16;
+
+    /**
+     * The wire.
+     */
+    private final Wire wire;
+
+    /**
+     * The request, without ranges.
+     */
+    private final Input request;
+
+    /**
+     * The file.
+     */
+    private final Path path;
+
+    /**
+     * Maximum number of segments.
+     */
+    private final int segments;
+
+    /**
+     * Executor of segments.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor, with four segments.
+     * @param uri The resource
+     * @param file The file
+     */
+    public HtRangeDownload(final URI uri, final Path file) {
+        this(
+            new HtWire(uri),
+            new Joined(new Get(uri), new InputOf("\r\n\r\n")),
+            file,
+            4
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param wire The wire
+     * @param request The request, without ranges
+     * @param file The file
+     * @param segments Maximum number of segments
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtRangeDownload(final Wire wire, final Input request,
+        final Path file, final int segments) {
+        this(wire, request, file, segments, new VirtualExecutor());
+    }
+
+    /**
+     * Ctor.
+     * @param wire The wire
+     * @param request The request, without ranges
+     * @param file The file
+     * @param segments Maximum number of segments
+     * @param exec Executor of segments
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtRangeDownload(final Wire wire, final Input request,
+        final Path file, final int segments, final Executor exec) {
+        this.wire = wire;
+        this.request = request;
+        this.path = file;
+        this.segments = segments;
+        this.executor = exec;
+    }
+
+    @Override
+    public Long value() throws Exception {
+        final ParsedHead probe = new ParsedHead(
+            this.wire.send(new Ranged(this.request, 0L, 0L, "")).stream()
+        );
+        final long total = HtRangeDownload.total(probe);
+        final long saved;
+        if (total > 0L) {
+            probe.body().close();
+            saved = this.segmented(total, Ranged.validator(probe));
+        } else if (probe.status() == HttpURLConnection.HTTP_OK) {
+            saved = new HtDownload(probe::message, this.path).value();
+        } else {
+            probe.body().close();
+            saved = new HtDownload(
+                this.wire.send(this.request), this.path
+            ).value();
+        }
+        return saved;
+    }
+
+    /**
+     * Download the segments at the same time.
+     * @param total The length of the resource
+     * @param validator The validator, empty if none
+     * @return The length
+     * @throws Exception If fails
+     */
+    private long segmented(final long total, final String validator)
+        throws Exception {
+        final int count = (int) Math.max(
+            1L, Math.min(this.segments, total / HtRangeDownload.SMALLEST)
+        );
+        try (FileChannel file = FileChannel.open(
+            this.path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            file.write(ByteBuffer.allocate(1), total - 1L);
+            final List<FutureTask<Long>> tasks = new ArrayList<>(count);
+            for (int idx = 0; idx < count; ++idx) {
+                final long start = total * idx / count;
+                final long end = total * (idx + 1) / count - 1L;
+                final FutureTask<Long> task = new FutureTask<>(
+                    () -> this.segment(file, start, end, validator)
+                );
+                tasks.add(task);
+                this.executor.execute(task);
+            }
+            try {
+                for (final FutureTask<Long> task : tasks) {
+                    task.get();
+                }
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof Exception) {
+                    throw (Exception) ex.getCause();
+                }
+                throw new IOException(ex.getCause());
+            } finally {
+                for (final FutureTask<Long> task : tasks) {
+                    task.cancel(true);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Download one segment to its place in the file.
+     * @param file The file
+     * @param start The first byte
+     * @param end The last byte, inclusive
+     * @param validator The validator, empty if none
+     * @return The length of the segment
+     * @throws Exception If fails
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private long segment(final FileChannel file, final long start,
+        final long end, final String validator) throws Exception {
+        final ParsedHead head = new ParsedHead(
+            this.wire.send(
+                new Ranged(this.request, start, end, validator)
+            ).stream()
+        );
+        try (InputStream body = HtFramedResponse.body(head, head.body())) {
+            final List<String> range = head.headers().get("content-range");
+            if (head.status() != HtRangeDownload.PARTIAL || range == null
+                || !range.get(0).startsWith(
+                    String.format("bytes %d-%d/", start, end)
+                )) {
+                throw new IOException(
+                    String.format(
+                        "Bytes %d-%d are not served, status %d, %s",
+                        start, end, head.status(), "the resource may be changed"
+                    )
+                );
+            }
+            final byte[] block = ArrayPool.SHARED.acquire(
+                HtRangeDownload.BLOCK
+            );
+            try {
+                long pos = start;
+                while (pos <= end) {
+                    final int done = body.read(
+                        block, 0,
+                        (int) Math.min(block.length, end + 1L - pos)
+                    );
+                    if (done < 0) {
+                        throw new EOFException(
+                            String.format(
+                                "Bytes %d-%d end at %d", start, end, pos
+                            )
+                        );
+                    }
+                    final ByteBuffer buf = ByteBuffer.wrap(block, 0, done);
+                    while (buf.hasRemaining()) {
+                        pos += file.write(buf, pos);
+                    }
+                }
+            } finally {
+                ArrayPool.SHARED.release(block);
+            }
+        }
+        return end + 1L - start;
+    }
+
+    /**
+     * The full length of the resource, from the answer to the first byte.
+     * @param probe The answer
+     * @return The length, or zero if ranges are not served
+     * @throws IOException If fails
+     */
+    private static long total(final ParsedHead probe) throws IOException {
+        final List<String> range = probe.headers().get("content-range");
+        long total = 0L;
+        if (probe.status() == HtRangeDownload.PARTIAL && range != null) {
+            final String value = range.get(0);
+            final int slash = value.lastIndexOf('/');
+            if (slash > 0 && slash < value.length() - 1
+                && value.charAt(slash + 1) != '*') {
+                total = Long.parseLong(value.substring(slash + 1).trim());
+            }
+        }
+        return total;
+    }
+}
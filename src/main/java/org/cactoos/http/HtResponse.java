@@ -33,11 +33,11 @@ import org.cactoos.text.UncheckedText;
 /**
  * Response.
  *
+ * <p>Use {@link HtFramedResponse} in order to end the response where
+ * the HTTP message ends, according to its <code>Content-Length</code> or
+ * <code>Transfer-Encoding</code>.</p>
+ *
  * @since 0.1
- * @todo #64:30min We need decorators for HtResponse that will automatically
- *  transform the inputstream based on criteria like the Content-Length header,
- *  the Transfer-Encoding header (when service returns the payload in chunks),
- *  etc.
  */
 public final class HtResponse extends InputEnvelope {
 
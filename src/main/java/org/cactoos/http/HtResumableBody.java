@@ -0,0 +1,250 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.List;
+import org.cactoos.Input;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Body of a response, which continues from the last byte received, if
+ * the connection breaks.
+ *
+ * <p>The request is sent once as it is, so its head must end with the
+ * empty line, and its response is delimited like in
+ * {@link HtFramedResponse}. If reading of the body fails, the request is
+ * sent again with <code>Range: bytes=N-</code>, where <code>N</code> is
+ * the number of bytes read so far, and with <code>If-Range</code> of the
+ * validator of the first response, and the body goes on from the
+ * <code>206</code> response, so the reader doesn't see the break. If the
+ * resource is changed, the server sends it all with <code>200</code>,
+ * and the reading fails.</p>
+ *
+ * <p>Only <code>200</code> responses with an <code>ETag</code> or
+ * <code>Last-Modified</code> are continued. A break is seen only if the
+ * body is chunked or has <code>Content-Length</code>, otherwise the end
+ * of the connection is the end of the body.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ */
+public final class HtResumableBody implements Input {
+
+    /**
+     * The wire.
+     */
+    private final Wire wire;
+
+    /**
+     * The request, without ranges.
+     */
+    private final Input request;
+
+    /**
+     * How many times to continue.
+     */
+    private final int attempts;
+
+    /**
+     * Ctor, which continues up to three times.
+     * @param wire The wire
+     * @param request The request, without ranges
+     */
+    public HtResumableBody(final Wire wire, final Input request) {
+        this(wire, request, 3);
+    }
+
+    /**
+     * Ctor.
+     * @param wire The wire
+     * @param request The request, without ranges
+     * @param attempts How many times to continue
+     */
+    public HtResumableBody(final Wire wire, final Input request,
+        final int attempts) {
+        this.wire = wire;
+        this.request = request;
+        this.attempts = attempts;
+    }
+
+    @Override
+    public InputStream stream() throws Exception {
+        final ParsedHead head = new ParsedHead(
+            this.wire.send(this.request).stream()
+        );
+        int left = 0;
+        if (head.status() == HttpURLConnection.HTTP_OK) {
+            left = this.attempts;
+        }
+        return new HtResumableBody.Body(
+            HtFramedResponse.body(head, head.body()),
+            Ranged.validator(head),
+            left
+        );
+    }
+
+    /**
+     * The body, which continues after breaks.
+     *
+     * @since 0.1
+     */
+    private final class Body extends InputStream {
+
+        /**
+         * The validator.
+         */
+        private final String validator;
+
+        /**
+         * The current part of the body, NULL if it's broken.
+         */
+        private InputStream part;
+
+        /**
+         * Bytes read so far.
+         */
+        private long done;
+
+        /**
+         * How many times to continue yet.
+         */
+        private int left;
+
+        /**
+         * Ctor.
+         * @param first The first part of the body
+         * @param valid The validator, empty if none
+         * @param attempts How many times to continue
+         */
+        Body(final InputStream first, final String valid, final int attempts) {
+            super();
+            this.part = first;
+            this.validator = valid;
+            this.left = attempts;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] one = new byte[1];
+            int data = this.read(one, 0, 1);
+            if (data > 0) {
+                data = one[0] & 0xff;
+            }
+            return data;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len)
+            throws IOException {
+            int got = 0;
+            boolean read = false;
+            while (!read) {
+                try {
+                    if (this.part == null) {
+                        this.part = this.rest();
+                    }
+                    got = this.part.read(bytes, off, len);
+                    read = true;
+                } catch (final IOException ex) {
+                    if (this.left <= 0 || this.validator.isEmpty()) {
+                        throw ex;
+                    }
+                    this.left -= 1;
+                    this.drop();
+                }
+            }
+            if (got > 0) {
+                this.done += got;
+            }
+            return got;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.part != null) {
+                this.part.close();
+            }
+        }
+
+        /**
+         * The rest of the body, from the byte after the last one read.
+         * @return The rest
+         * @throws IOException If fails
+         */
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        private InputStream rest() throws IOException {
+            final ParsedHead head;
+            try {
+                head = new ParsedHead(
+                    HtResumableBody.this.wire.send(
+                        new Ranged(
+                            HtResumableBody.this.request,
+                            this.done, this.validator
+                        )
+                    ).stream()
+                );
+            } catch (final IOException ex) {
+                throw ex;
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Exception ex) {
+                throw new IOException(ex);
+            }
+            final List<String> range = head.headers().get("content-range");
+            if (head.status() != HttpURLConnection.HTTP_PARTIAL
+                || range == null
+                || !range.get(0).startsWith(
+                    String.format("bytes %d-", this.done)
+                )) {
+                this.left = 0;
+                head.body().close();
+                throw new IOException(
+                    String.format(
+                        "Can't continue from byte %d, status %d, %s",
+                        this.done, head.status(), "the resource may be changed"
+                    )
+                );
+            }
+            return HtFramedResponse.body(head, head.body());
+        }
+
+        /**
+         * Close the broken part, quietly.
+         */
+        @SuppressWarnings("PMD.EmptyCatchBlock")
+        private void drop() {
+            if (this.part != null) {
+                try {
+                    this.part.close();
+                } catch (final IOException ex) {
+                    // it's broken already
+                }
+                this.part = null;
+            }
+        }
+    }
+}
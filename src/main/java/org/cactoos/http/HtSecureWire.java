@@ -23,18 +23,36 @@
  */
 package org.cactoos.http;
 
+import java.io.IOException;
 import java.net.Socket;
 import java.net.URI;
-import javax.net.ssl.SSLSocketFactory;
+import java.util.concurrent.atomic.AtomicReference;
 import org.cactoos.BiFunc;
 import org.cactoos.Input;
-import org.cactoos.scalar.Constant;
+import org.cactoos.http.io.Connect;
+import org.cactoos.http.io.Protocols;
+import org.cactoos.http.io.Timeouts;
+import org.cactoos.http.io.TlsSessions;
 
 /**
  * Wire that supports https.
  *
+ * <p>TLS sessions are resumed through the client session cache of
+ * {@link TlsSessions}, by default {@link TlsSessions#SHARED}, which uses
+ * the JVM's default {@code SSLContext} and is shared by all wires.</p>
+ *
+ * <p>The handshake offers <code>h2</code> and <code>http/1.1</code> by
+ * ALPN. If the server picks <code>h2</code>, the exchange goes over
+ * HTTP/2, through a connection which is shared by all later exchanges
+ * of this wire, otherwise it goes over HTTP/1.1, as before. The choice is
+ * remembered in {@link Protocols}, so the next exchange knows where to go
+ * before any handshake. Reuse the wire to reuse its HTTP/2 connection.
+ * Sockets of a custom supplier are routed by what they negotiated, which
+ * is HTTP/1.1 if they don't use ALPN.</p>
+ *
  * @since 0.1
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class HtSecureWire implements Wire {
     /**
      * Address.
@@ -51,6 +69,26 @@ public final class HtSecureWire implements Wire {
      */
     private final BiFunc<String, Integer, Socket> socket;
 
+    /**
+     * Timeouts.
+     */
+    private final Timeouts timeouts;
+
+    /**
+     * Protocols chosen by origins.
+     */
+    private final Protocols protocols;
+
+    /**
+     * The socket that negotiated h2, for the HTTP/2 wire to take.
+     */
+    private final AtomicReference<Socket> handoff;
+
+    /**
+     * HTTP/2 wire.
+     */
+    private final Wire http;
+
     /**
      * Ctor.
      * @param uri The address of the server
@@ -74,10 +112,80 @@ public final class HtSecureWire implements Wire {
      * @param tcp The TCP port
      */
     public HtSecureWire(final String addr, final int tcp) {
+        this(addr, tcp, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     * @param timeouts Timeouts, including the one of TLS handshake
+     */
+    public HtSecureWire(final URI uri, final Timeouts timeouts) {
+        this(uri.getHost(), uri.getPort(), timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param timeouts Timeouts, including the one of TLS handshake
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final Timeouts timeouts) {
+        this(addr, tcp, TlsSessions.SHARED, timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     * @param sessions TLS sessions to resume
+     */
+    public HtSecureWire(final URI uri, final TlsSessions sessions) {
+        this(uri.getHost(), uri.getPort(), sessions, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sessions TLS sessions to resume
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final TlsSessions sessions) {
+        this(addr, tcp, sessions, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sessions TLS sessions to resume
+     * @param timeouts Timeouts, including the one of TLS handshake
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final TlsSessions sessions, final Timeouts timeouts) {
+        this(addr, tcp, sessions, new Protocols(), timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sessions TLS sessions to resume
+     * @param protocols Protocols chosen by origins
+     * @param timeouts Timeouts, including the one of TLS handshake
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final TlsSessions sessions, final Protocols protocols,
+        final Timeouts timeouts) {
         this(
             addr,
             tcp,
-            (host, prt) -> SSLSocketFactory.getDefault().createSocket(host, prt)
+            HtSecureWire.secured(sessions, new Connect(timeouts), timeouts),
+            protocols,
+            timeouts
         );
     }
 
@@ -89,14 +197,117 @@ public final class HtSecureWire implements Wire {
      */
     public HtSecureWire(final String addr,
         final int tcp, final BiFunc<String, Integer, Socket> sck) {
+        this(addr, tcp, sck, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sck Ssl socket
+     * @param timeouts Timeouts of writing and reading
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final BiFunc<String, Integer, Socket> sck, final Timeouts timeouts) {
+        this(addr, tcp, sck, new Protocols(), timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sck Ssl socket
+     * @param protocols Protocols chosen by origins
+     * @param timeouts Timeouts of writing and reading
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public HtSecureWire(final String addr, final int tcp,
+        final BiFunc<String, Integer, Socket> sck, final Protocols protocols,
+        final Timeouts timeouts) {
         this.address = addr;
         this.port = tcp;
         this.socket = sck;
+        this.timeouts = timeouts;
+        this.protocols = protocols;
+        this.handoff = new AtomicReference<>();
+        this.http = new HtHttp2Wire("https", addr, tcp, this::negotiated);
     }
 
     @Override
     public Input send(final Input input) throws Exception {
-        return new HtWire(this.address, new Constant<>(this.port), this.socket)
-            .send(input);
+        final Input response;
+        if (Protocols.H2.equals(
+            this.protocols.chosen(this.address, this.port)
+        )) {
+            response = this.http.send(input);
+        } else {
+            final Socket sck = this.socket.apply(this.address, this.port);
+            final String chosen = this.protocols.remember(
+                this.address, this.port, sck
+            );
+            if (Protocols.H2.equals(chosen)) {
+                HtSecureWire.close(this.handoff.getAndSet(sck));
+                try {
+                    response = this.http.send(input);
+                } finally {
+                    HtSecureWire.close(this.handoff.getAndSet(null));
+                }
+            } else {
+                response = new HtWire(() -> sck, this.timeouts).send(input);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Socket for a new HTTP/2 connection, the one that was just
+     * negotiated, or a new one.
+     * @param host The host
+     * @param prt The port
+     * @return The socket, which speaks h2
+     * @throws Exception If fails or the server doesn't choose h2
+     */
+    private Socket negotiated(final String host, final int prt)
+        throws Exception {
+        Socket sck = this.handoff.getAndSet(null);
+        if (sck == null) {
+            sck = this.socket.apply(host, prt);
+            if (!Protocols.H2.equals(this.protocols.remember(host, prt, sck))) {
+                sck.close();
+                throw new IOException(
+                    String.format("%s:%d doesn't choose h2 anymore", host, prt)
+                );
+            }
+        }
+        return sck;
+    }
+
+    /**
+     * Supplier of sockets, connected by one {@link Connect} and then
+     * secured.
+     * @param sessions TLS sessions to resume
+     * @param connect Connector of plain sockets
+     * @param timeouts Timeouts, including the one of TLS handshake
+     * @return The supplier
+     */
+    private static BiFunc<String, Integer, Socket> secured(
+        final TlsSessions sessions, final Connect connect,
+        final Timeouts timeouts) {
+        return (host, prt) -> sessions.secured(
+            connect.apply(host, prt), host, prt, timeouts.handshake(),
+            Protocols.H2, Protocols.HTTP
+        );
+    }
+
+    /**
+     * Close the socket, if there is one.
+     * @param sck The socket or NULL
+     * @throws IOException If fails
+     */
+    private static void close(final Socket sck) throws IOException {
+        if (sck != null) {
+            sck.close();
+        }
     }
 }
@@ -24,10 +24,9 @@
 
 package org.cactoos.http;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import org.cactoos.Input;
+import org.cactoos.http.io.ParsedHead;
 import org.cactoos.scalar.NumberEnvelope;
 
 /**
@@ -47,12 +46,27 @@ public final class HtStatus extends NumberEnvelope {
      * @param head Response head part
      */
     public HtStatus(final Input head) {
-        super(() -> Double.parseDouble(
-            // @checkstyle MagicNumber (3 line)
-            new BufferedReader(
-                new InputStreamReader(head.stream(), StandardCharsets.UTF_8)
-            ).readLine().split(" ", 3)[1]
-        ));
+        super(() -> {
+            try (InputStream stream = head.stream()) {
+                return (double) new ParsedHead(stream).status();
+            }
+        });
+    }
+
+    /**
+     * Ctor.
+     * @param rsp Parsed response
+     */
+    public HtStatus(final HtParsedResponse rsp) {
+        super(() -> (double) rsp.status());
+    }
+
+    /**
+     * Ctor.
+     * @param head Parsed response head
+     */
+    public HtStatus(final ParsedHead head) {
+        super(() -> (double) head.status());
     }
 
 }
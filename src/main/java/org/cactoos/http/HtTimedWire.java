@@ -21,19 +21,43 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 package org.cactoos.http;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.cactoos.Input;
-import org.cactoos.func.Timed;
+import org.cactoos.http.io.AbortScope;
+import org.cactoos.http.io.WheelTimer;
+import org.cactoos.io.InputOf;
 
 /**
  * {@link Wire} that will terminate the connection if it's taking too long.
  *
+ * <p>The exchange runs in the caller's thread. When time is out, a
+ * shared {@link WheelTimer} closes the sockets the exchange has opened
+ * so far, which makes the blocked connecting, writing or reading fail
+ * at once; {@link #send(Input)} throws {@link TimeoutException} then.
+ * Only sockets of {@link HtWire} and wires built on it are closed.</p>
+ *
+ * <p>The time covers reading the response too: it runs until the
+ * response is read to its end or closed. If time is out while the
+ * response is read, it's closed and the reading fails with
+ * {@link SocketTimeoutException}.</p>
+ *
  * @since 0.1
  */
 public final class HtTimedWire implements Wire {
 
+    /**
+     * The timer, shared by all timed wires.
+     */
+    static final WheelTimer TIMER = new WheelTimer();
+
     /**
      * Original wire.
      */
@@ -55,10 +79,170 @@ public final class HtTimedWire implements Wire {
     }
 
     @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public Input send(final Input input) throws Exception {
-        return new Timed<>(
-            this.origin::send,
+        final AbortScope scope = new AbortScope();
+        final AtomicBoolean expired = new AtomicBoolean();
+        final AtomicReference<Closeable> reading = new AtomicReference<>();
+        final WheelTimer.Timeout timeout = HtTimedWire.TIMER.schedule(
+            () -> {
+                expired.set(true);
+                if (!scope.abort()) {
+                    HtTimedWire.close(reading.get());
+                }
+            },
             this.milliseconds
-        ).apply(input);
+        );
+        final InputStream response;
+        try {
+            response = scope.value(() -> this.origin.send(input).stream());
+            reading.set(response);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            timeout.cancel();
+            if (expired.get()) {
+                final TimeoutException timed = this.timedOut();
+                timed.initCause(ex);
+                throw timed;
+            }
+            throw ex;
+        }
+        if (expired.get()) {
+            HtTimedWire.close(response);
+            throw this.timedOut();
+        }
+        return new InputOf(
+            new HtTimedWire.Timed(response, timeout, expired, this.milliseconds)
+        );
+    }
+
+    /**
+     * The failure of the exchange, which is out of time.
+     * @return The exception
+     */
+    private TimeoutException timedOut() {
+        return new TimeoutException(
+            String.format("No response in %d msec", this.milliseconds)
+        );
+    }
+
+    /**
+     * Close the resource quietly, if there is one.
+     * @param resource The resource or NULL
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private static void close(final Closeable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (final IOException ex) {
+                // the response is useless anyway
+            }
+        }
+    }
+
+    /**
+     * The response, read within the time left.
+     *
+     * @since 0.1
+     */
+    private static final class Timed extends InputStream {
+
+        /**
+         * The response.
+         */
+        private final InputStream origin;
+
+        /**
+         * The timeout, cancelled at the end of the response.
+         */
+        private final WheelTimer.Timeout timeout;
+
+        /**
+         * Is time out?
+         */
+        private final AtomicBoolean expired;
+
+        /**
+         * Milliseconds.
+         */
+        private final long milliseconds;
+
+        /**
+         * Ctor.
+         * @param origin The response
+         * @param timeout The timeout
+         * @param expired Is time out
+         * @param msec Milliseconds of the timeout
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Timed(final InputStream origin, final WheelTimer.Timeout timeout,
+            final AtomicBoolean expired, final long msec) {
+            super();
+            this.origin = origin;
+            this.timeout = timeout;
+            this.expired = expired;
+            this.milliseconds = msec;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return this.seen(this.origin.read());
+            } catch (final IOException ex) {
+                throw this.failure(ex);
+            }
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len)
+            throws IOException {
+            try {
+                return this.seen(this.origin.read(bytes, off, len));
+            } catch (final IOException ex) {
+                throw this.failure(ex);
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return this.origin.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.timeout.cancel();
+            this.origin.close();
+        }
+
+        /**
+         * Cancel the timeout at the end of the response.
+         * @param read The result of the read
+         * @return The same result
+         */
+        private int seen(final int read) {
+            if (read < 0) {
+                this.timeout.cancel();
+            }
+            return read;
+        }
+
+        /**
+         * The failure of reading, which is a timeout, if time is out.
+         * @param ex The failure
+         * @return The exception to throw
+         */
+        private IOException failure(final IOException ex) {
+            IOException failure = ex;
+            if (this.expired.get()) {
+                failure = new SocketTimeoutException(
+                    String.format(
+                        "No response in %d msec", this.milliseconds
+                    )
+                );
+                failure.initCause(ex);
+            }
+            return failure;
+        }
     }
 }
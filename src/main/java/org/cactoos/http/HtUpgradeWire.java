@@ -23,43 +23,201 @@
  */
 package org.cactoos.http;
 
+import java.net.Socket;
+import java.net.URI;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.BiFunc;
 import org.cactoos.Input;
+import org.cactoos.http.h2.H2Connection;
+import org.cactoos.http.h2.H2Stream;
+import org.cactoos.http.io.Connect;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.http.io.Protocols;
+import org.cactoos.http.io.Timeouts;
+import org.cactoos.http.io.UpgradeHandshake;
+import org.cactoos.io.InputOf;
 
 /**
- * Wire that is capable of upgrading itself upon an 101 status code.
+ * Wire that upgrades cleartext HTTP/1.1 connections to HTTP/2, h2c.
+ *
+ * <p>The first request goes in HTTP/1.1 with <code>Upgrade: h2c</code>
+ * and our settings in <code>HTTP2-Settings</code>, RFC 7540, Section 3.2.
+ * If the server answers with <code>101 Switching Protocols</code>, the
+ * socket becomes an HTTP/2 connection, the response to the request comes
+ * in its stream 1 and all the next exchanges are multiplexed over it, as
+ * in {@link HtHttp2Wire}. Upgrades are made one at a time, others wait
+ * for the connection. If the server ignores the upgrade, its response is
+ * returned as is and the origin is remembered in {@link Protocols} as
+ * HTTP/1.1 one, so the next exchanges go through {@link HtWire} without
+ * trying again.</p>
+ *
+ * <p>The upgrade handshake itself is {@link UpgradeHandshake}, which
+ * is used by other protocols, like WebSocket, as well.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
  * @since 0.1
- * @todo #23:30 min As discovered in #53, the upgrade is not a job of the
- *  wire because it need reading the contents of the response (in this case,
- *  status code). So, this feature would be under the responsibility of a
- *  response-like object. It must be implemented someway like this:
- *  new HtUpgradedResponse(
- *  new IterableOf&lt;&gt;(
- *  new MapEntry&lt;Func&lt;String, Boolean&gt;, Func&lt;URI, Wire&gt;&gt;(
- *  upgrade -&gt; upgrade.contains("TLS"),
- *  HtSecureWire::new
- *  )
- *  )
- *  )
- *  The test HtUpgradeWireTest#testHtUpgrade must be removed after the
- *  implementation of this class.
  */
 public final class HtUpgradeWire implements Wire {
 
     /**
-     * Origin wire.
+     * Host.
+     */
+    private final String host;
+
+    /**
+     * TCP port.
+     */
+    private final int port;
+
+    /**
+     * Supplier of sockets.
+     */
+    private final BiFunc<String, Integer, Socket> sockets;
+
+    /**
+     * Protocols chosen by origins.
+     */
+    private final Protocols protocols;
+
+    /**
+     * Timeouts of HTTP/1.1 exchanges.
+     */
+    private final Timeouts timeouts;
+
+    /**
+     * The current HTTP/2 connection, it is the lock of upgrades too.
+     */
+    private final AtomicReference<H2Connection> conn;
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
      */
-    private final Wire origin;
+    public HtUpgradeWire(final URI uri) {
+        this(uri.getHost(), HtUpgradeWire.port(uri));
+    }
 
     /**
      * Ctor.
-     * @param origin Origin wire.
+     * @param addr The address of the server
+     * @param tcp The TCP port
      */
-    public HtUpgradeWire(final Wire origin) {
-        this.origin = origin;
+    public HtUpgradeWire(final String addr, final int tcp) {
+        this(addr, tcp, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param timeouts Timeouts
+     */
+    public HtUpgradeWire(final String addr, final int tcp,
+        final Timeouts timeouts) {
+        this(addr, tcp, new Connect(timeouts), new Protocols(), timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param sockets Supplier of sockets
+     * @param protocols Protocols chosen by origins
+     * @param timeouts Timeouts of HTTP/1.1 exchanges
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public HtUpgradeWire(final String addr, final int tcp,
+        final BiFunc<String, Integer, Socket> sockets,
+        final Protocols protocols, final Timeouts timeouts) {
+        this.host = addr;
+        this.port = tcp;
+        this.sockets = sockets;
+        this.protocols = protocols;
+        this.timeouts = timeouts;
+        this.conn = new AtomicReference<>();
     }
 
     @Override
     public Input send(final Input input) throws Exception {
-        return this.origin.send(input);
+        Input response = null;
+        if (Protocols.HTTP.equals(
+            this.protocols.chosen(this.host, this.port)
+        )) {
+            response = new HtWire(
+                () -> this.sockets.apply(this.host, this.port), this.timeouts
+            ).send(input);
+        } else {
+            final H2Connection current;
+            synchronized (this.conn) {
+                current = this.conn.get();
+                if (current == null || !current.usable()) {
+                    response = this.upgrade(input);
+                }
+            }
+            if (response == null) {
+                response = new Http2Exchange("http", this.host, this.port)
+                    .send(current, input);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Send the request with the upgrade to h2c.
+     * @param input The request
+     * @return The response, over HTTP/2 or HTTP/1.1
+     * @throws Exception If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Input upgrade(final Input input) throws Exception {
+        final Socket socket = this.sockets.apply(this.host, this.port);
+        final Map<String, String> extra = new LinkedHashMap<>(2);
+        extra.put("Connection", "Upgrade, HTTP2-Settings");
+        extra.put(
+            "HTTP2-Settings",
+            Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(H2Connection.settings())
+        );
+        final UpgradeHandshake handshake = new UpgradeHandshake(
+            socket, Protocols.H2C, extra
+        );
+        final Input response;
+        try {
+            final ParsedHead head = handshake.exchange(input.stream());
+            if (handshake.switched(head)) {
+                final H2Connection upgraded = new H2Connection(
+                    socket, head.body()
+                );
+                final H2Stream first = upgraded.upgraded();
+                this.conn.set(upgraded);
+                response = Http2Exchange.response(first);
+                this.protocols.remember(this.host, this.port, Protocols.H2C);
+            } else {
+                this.protocols.remember(this.host, this.port, Protocols.HTTP);
+                response = new InputOf(head.message());
+            }
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            socket.close();
+            throw ex;
+        }
+        return response;
+    }
+
+    /**
+     * TCP port of the URI.
+     * @param uri The URI
+     * @return The port
+     */
+    private static int port(final URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = Http2Exchange.port(uri.getScheme());
+        }
+        return port;
     }
 }
@@ -24,13 +24,28 @@
 
 package org.cactoos.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import org.cactoos.BiFunc;
 import org.cactoos.Input;
+import org.cactoos.Proc;
 import org.cactoos.Scalar;
+import org.cactoos.http.io.AbortScope;
+import org.cactoos.http.io.ArrayPool;
+import org.cactoos.http.io.Connect;
+import org.cactoos.http.io.PacedInputStream;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.http.io.Timeouts;
+import org.cactoos.http.io.WheelTimer;
 import org.cactoos.io.InputOf;
 import org.cactoos.scalar.Constant;
 import org.cactoos.scalar.Ternary;
@@ -38,26 +53,71 @@ import org.cactoos.scalar.Ternary;
 /**
  * Wire.
  *
+ * <p>Phases of the exchange are limited by {@link Timeouts}: the socket
+ * is connected within the connect timeout, the request is written within
+ * the write timeout, and the response is read with the first byte and
+ * idle timeouts set on the socket. There are no timeouts by default.</p>
+ *
+ * <p>A request with <code>Expect: 100-continue</code> header is sent in
+ * two steps: the head goes first, and the body is sent only after the
+ * server answers with <code>100 Continue</code>, or doesn't answer
+ * within {@link Timeouts#expect()}. If the server answers with a final
+ * status right away, like <code>417</code> or <code>413</code>, the
+ * body is not sent at all and the output of the socket is shut down,
+ * so the connection can't be used again. The header is looked for in
+ * the first {@value #PEEK} bytes of the request only, and requests without
+ * it are streamed to the socket byte by byte as they are, nothing is
+ * buffered or added to them. Nothing is looked for, if the expect timeout
+ * is zero, which is the default.</p>
+ *
+ * <p>The file of an {@link Upload} is sent by
+ * {@link java.nio.channels.FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)} right to the channel of the
+ * socket, if the socket has one, see {@link Connect}. Otherwise, it's
+ * copied like any other request.</p>
+ *
  * @since 0.1
  */
+@SuppressWarnings("PMD.ExcessiveImports")
 public final class HtWire implements Wire {
 
+    /**
+     * Status of <code>100 Continue</code>.
+     */
+    private static final int CONTINUE = 100;
+
+    /**
+     * The empty line, which ends the head.
+     */
+    private static final byte[] EMPTY =
+        "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
     /**
      * Buffer length.
      */
     private static final int LENGTH = 16384;
 
+    /**
+     * How many first bytes of the request are looked at for the head.
+     */
+    private static final int PEEK = 8192;
+
     /**
      * Supplier of sockets.
      */
     private final Scalar<Socket> supplier;
 
+    /**
+     * Timeouts.
+     */
+    private final Timeouts timeouts;
+
     /**
      * Ctor.
      * @param uri The address of the server
      */
     public HtWire(final URI uri) {
-        this(uri, Socket::new);
+        this(uri, new Connect());
     }
 
     /**
@@ -66,7 +126,7 @@ public final class HtWire implements Wire {
      */
     public HtWire(final String addr) {
         // @checkstyle MagicNumber (1 line)
-        this(addr, new Constant<>(80), Socket::new);
+        this(addr, new Constant<>(80), new Connect());
     }
 
     /**
@@ -75,7 +135,26 @@ public final class HtWire implements Wire {
      * @param tcp The TCP port
      */
     public HtWire(final String addr, final int tcp) {
-        this(addr, new Constant<>(tcp), Socket::new);
+        this(addr, new Constant<>(tcp), new Connect());
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     * @param timeouts Timeouts
+     */
+    public HtWire(final URI uri, final Timeouts timeouts) {
+        this(uri, new Connect(timeouts), timeouts);
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port
+     * @param timeouts Timeouts
+     */
+    public HtWire(final String addr, final int tcp, final Timeouts timeouts) {
+        this(addr, new Constant<>(tcp), new Connect(timeouts), timeouts);
     }
 
     /**
@@ -83,7 +162,20 @@ public final class HtWire implements Wire {
      * @param uri The address of the server
      * @param spplier Socket supplier
      */
-    HtWire(final URI uri, final BiFunc<String, Integer, Socket> spplier) {
+    public HtWire(final URI uri,
+        final BiFunc<String, Integer, Socket> spplier) {
+        this(uri, spplier, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address of the server
+     * @param spplier Socket supplier
+     * @param timeouts Timeouts
+     */
+    public HtWire(final URI uri,
+        final BiFunc<String, Integer, Socket> spplier,
+        final Timeouts timeouts) {
         this(
             uri.getHost(),
             new Ternary<>(
@@ -91,7 +183,8 @@ public final class HtWire implements Wire {
                 () -> uri.toURL().getDefaultPort(),
                 uri::getPort
             ),
-            spplier
+            spplier,
+            timeouts
         );
     }
 
@@ -103,7 +196,21 @@ public final class HtWire implements Wire {
      */
     HtWire(final String addr, final Scalar<Integer> tcp,
         final BiFunc<String, Integer, Socket> spplier) {
-        this(() -> spplier.apply(addr, tcp.value()));
+        this(addr, tcp, spplier, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param addr The address of the server
+     * @param tcp The TCP port source
+     * @param spplier Supplier of sockets
+     * @param timeouts Timeouts
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    HtWire(final String addr, final Scalar<Integer> tcp,
+        final BiFunc<String, Integer, Socket> spplier,
+        final Timeouts timeouts) {
+        this(() -> spplier.apply(addr, tcp.value()), timeouts);
     }
 
     /**
@@ -111,23 +218,294 @@ public final class HtWire implements Wire {
      * @param spplier Supplier of sockets
      */
     HtWire(final Scalar<Socket> spplier) {
+        this(spplier, new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param spplier Supplier of sockets
+     * @param timeouts Timeouts
+     */
+    HtWire(final Scalar<Socket> spplier, final Timeouts timeouts) {
         this.supplier = spplier;
+        this.timeouts = timeouts;
     }
 
     @Override
     public Input send(final Input input) throws Exception {
         final Socket socket = this.supplier.value();
-        final InputStream source = input.stream();
-        final InputStream ins = socket.getInputStream();
-        final OutputStream ous = socket.getOutputStream();
-        final byte[] buf = new byte[HtWire.LENGTH];
-        while (true) {
-            final int len = source.read(buf);
-            if (len < 0) {
+        AbortScope.enlist(socket);
+        final InputStream response;
+        if (input instanceof Upload && socket.getChannel() != null) {
+            final Upload upload = (Upload) input;
+            response = this.sent(
+                new ParsedHead(upload.head()),
+                skt -> upload.transfer(skt.getChannel()),
+                socket
+            );
+        } else if (this.timeouts.expect() > 0L) {
+            final PushbackInputStream request = new PushbackInputStream(
+                input.stream(), HtWire.PEEK
+            );
+            if (HtWire.expects(request)) {
+                final ParsedHead head = new ParsedHead(request);
+                response = this.continued(
+                    head,
+                    skt -> HtWire.copy(head.body(), skt.getOutputStream()),
+                    socket
+                );
+            } else {
+                response = this.streamed(request, socket);
+            }
+        } else {
+            response = this.streamed(input.stream(), socket);
+        }
+        return new InputOf(response);
+    }
+
+    /**
+     * Send the request as it is.
+     * @param request The request
+     * @param socket The socket
+     * @return The response
+     * @throws Exception If fails
+     */
+    private InputStream streamed(final InputStream request,
+        final Socket socket) throws Exception {
+        this.write(
+            skt -> HtWire.copy(request, skt.getOutputStream()),
+            socket
+        );
+        return this.response(socket);
+    }
+
+    /**
+     * Send the head and the body.
+     * @param head The request
+     * @param body Sender of the body
+     * @param socket The socket
+     * @return The response
+     * @throws Exception If fails
+     */
+    private InputStream sent(final ParsedHead head, final Proc<Socket> body,
+        final Socket socket) throws Exception {
+        final InputStream response;
+        if (this.timeouts.expect() > 0L && HtWire.expects(head)) {
+            response = this.continued(head, body, socket);
+        } else {
+            this.write(
+                skt -> {
+                    HtWire.copy(HtWire.head(head), skt.getOutputStream());
+                    body.exec(skt);
+                },
+                socket
+            );
+            response = this.response(socket);
+        }
+        return response;
+    }
+
+    /**
+     * Send the head, wait for <code>100 Continue</code> and send the body.
+     * @param head The request
+     * @param body Sender of the body
+     * @param socket The socket
+     * @return The response
+     * @throws Exception If fails
+     */
+    private InputStream continued(final ParsedHead head,
+        final Proc<Socket> body, final Socket socket) throws Exception {
+        this.write(
+            skt -> HtWire.copy(HtWire.head(head), skt.getOutputStream()),
+            socket
+        );
+        final PushbackInputStream ins = new PushbackInputStream(
+            this.response(socket), 1
+        );
+        final int before = socket.getSoTimeout();
+        socket.setSoTimeout((int) this.timeouts.expect());
+        boolean answered;
+        try {
+            final int first = ins.read();
+            if (first >= 0) {
+                ins.unread(first);
+            }
+            answered = true;
+        } catch (final SocketTimeoutException ex) {
+            answered = false;
+        }
+        if (!answered || !this.paced()) {
+            socket.setSoTimeout(before);
+        }
+        final InputStream response;
+        if (answered) {
+            final ParsedHead rsp = new ParsedHead(ins);
+            if (rsp.status() == HtWire.CONTINUE) {
+                this.write(body, socket);
+                response = rsp.body();
+            } else {
+                socket.shutdownOutput();
+                response = rsp.message();
+            }
+        } else {
+            this.write(body, socket);
+            final ParsedHead rsp = new ParsedHead(ins);
+            if (rsp.status() == HtWire.CONTINUE) {
+                response = rsp.body();
+            } else {
+                response = rsp.message();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * The stream of the response, with the first byte and idle timeouts.
+     * @param socket The socket
+     * @return The stream
+     * @throws IOException If fails
+     */
+    private InputStream response(final Socket socket) throws IOException {
+        final InputStream ins;
+        if (this.paced()) {
+            socket.setSoTimeout((int) this.timeouts.first());
+            ins = new PacedInputStream(socket, this.timeouts.idle());
+        } else {
+            ins = socket.getInputStream();
+        }
+        return ins;
+    }
+
+    /**
+     * Is the response read with timeouts?
+     * @return TRUE if so
+     */
+    private boolean paced() {
+        return this.timeouts.first() > 0L || this.timeouts.idle() > 0L;
+    }
+
+    /**
+     * Does the request expect <code>100 Continue</code>?
+     * @param head The request
+     * @return TRUE if it does
+     * @throws IOException If fails
+     */
+    private static boolean expects(final ParsedHead head) throws IOException {
+        boolean expects = false;
+        for (final String value : head.headers().getOrDefault(
+            "expect", Collections.emptyList()
+        )) {
+            expects |= "100-continue".equalsIgnoreCase(value);
+        }
+        return expects;
+    }
+
+    /**
+     * Does the request expect <code>100 Continue</code>?
+     *
+     * <p>Only the first bytes of the request are read, up to the empty
+     * line, and they are pushed back, so the request stays as it was.
+     * It doesn't expect anything, if there is no empty line in them.</p>
+     *
+     * @param request The request
+     * @return TRUE if it does
+     * @throws IOException If fails
+     */
+    private static boolean expects(final PushbackInputStream request)
+        throws IOException {
+        final byte[] buf = new byte[HtWire.PEEK];
+        int len = 0;
+        int end = -1;
+        while (len < buf.length && end < 0) {
+            final int read = request.read(buf, len, buf.length - len);
+            if (read < 0) {
                 break;
             }
-            ous.write(buf, 0, len);
+            len += read;
+            end = new String(buf, 0, len, StandardCharsets.US_ASCII)
+                .indexOf("\r\n\r\n");
+        }
+        request.unread(buf, 0, len);
+        return end >= 0 && HtWire.expects(
+            new ParsedHead(new ByteArrayInputStream(buf, 0, end + 4))
+        );
+    }
+
+    /**
+     * Write to the socket, within the write timeout.
+     * @param writing What to write
+     * @param socket The socket
+     * @throws Exception If fails
+     */
+    private void write(final Proc<Socket> writing, final Socket socket)
+        throws Exception {
+        final long timeout = this.timeouts.write();
+        if (timeout > 0L) {
+            final AbortScope scope = new AbortScope();
+            final WheelTimer.Timeout timer = HtTimedWire.TIMER.schedule(
+                scope::abort, timeout
+            );
+            try {
+                scope.value(
+                    () -> {
+                        AbortScope.enlist(socket);
+                        writing.exec(socket);
+                        return socket;
+                    }
+                );
+            } catch (final IOException ex) {
+                if (scope.aborted()) {
+                    throw new SocketTimeoutException(
+                        String.format("Write timed out in %d msec", timeout)
+                    );
+                }
+                throw ex;
+            } finally {
+                timer.cancel();
+            }
+        } else {
+            writing.exec(socket);
+        }
+    }
+
+    /**
+     * The head of the request, with the empty line, unless it's empty.
+     * @param head The request
+     * @return The head
+     * @throws IOException If fails
+     */
+    private static InputStream head(final ParsedHead head)
+        throws IOException {
+        final InputStream ins;
+        if (head.line().isEmpty()) {
+            ins = head.head();
+        } else {
+            ins = new SequenceInputStream(
+                head.head(), new ByteArrayInputStream(HtWire.EMPTY)
+            );
+        }
+        return ins;
+    }
+
+    /**
+     * Copy the request to the socket.
+     * @param source The request
+     * @param ous The stream of the socket
+     * @throws IOException If fails
+     */
+    private static void copy(final InputStream source, final OutputStream ous)
+        throws IOException {
+        final byte[] buf = ArrayPool.SHARED.acquire(HtWire.LENGTH);
+        try {
+            while (true) {
+                final int len = source.read(buf);
+                if (len < 0) {
+                    break;
+                }
+                ous.write(buf, 0, len);
+            }
+        } finally {
+            ArrayPool.SHARED.release(buf);
         }
-        return new InputOf(ins);
     }
 }
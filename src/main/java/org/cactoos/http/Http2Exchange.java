@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.cactoos.Input;
+import org.cactoos.http.h2.H2Connection;
+import org.cactoos.http.h2.H2Stream;
+import org.cactoos.http.io.ChunkedInputStream;
+import org.cactoos.http.io.LimitedInputStream;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.io.InputOf;
+
+/**
+ * Exchange of an HTTP/1.1 request over an HTTP/2 connection.
+ *
+ * <p>The start line and the Host header of the request become
+ * pseudo-headers, connection-specific headers are dropped and the body, if
+ * there is Content-Length or chunked Transfer-Encoding, goes in DATA
+ * frames. The response comes back in HTTP/1.1 form, with
+ * <code>HTTP/2</code> in the status line and the body that just ends.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.1
+ */
+final class Http2Exchange {
+
+    /**
+     * Headers that are not allowed in HTTP/2, RFC 7540, Section 8.1.2.2.
+     */
+    private static final Set<String> DROPPED = new HashSet<>(
+        Arrays.asList(
+            "connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "upgrade", "host", "http2-settings"
+        )
+    );
+
+    /**
+     * Scheme of requests.
+     */
+    private final String scheme;
+
+    /**
+     * Host.
+     */
+    private final String host;
+
+    /**
+     * TCP port.
+     */
+    private final int port;
+
+    /**
+     * Ctor.
+     * @param scheme Scheme of requests
+     * @param addr The host, for requests without Host header
+     * @param tcp The TCP port
+     */
+    Http2Exchange(final String scheme, final String addr, final int tcp) {
+        this.scheme = scheme;
+        this.host = addr;
+        this.port = tcp;
+    }
+
+    /**
+     * Send the request in a new stream.
+     * @param conn The connection
+     * @param input The request
+     * @return The response
+     * @throws Exception If fails
+     */
+    Input send(final H2Connection conn, final Input input) throws Exception {
+        final ParsedHead head = new ParsedHead(input.stream());
+        final InputStream body = Http2Exchange.body(head);
+        final H2Stream stream = conn.open(this.fields(head), body == null);
+        if (body != null) {
+            stream.send(body);
+        }
+        return Http2Exchange.response(stream);
+    }
+
+    /**
+     * The response of the stream.
+     * @param stream The stream
+     * @return The response, in HTTP/1.1 form
+     * @throws IOException If fails
+     */
+    static Input response(final H2Stream stream) throws IOException {
+        return new InputOf(
+            new SequenceInputStream(
+                Http2Exchange.head(stream.headers()), stream.body()
+            )
+        );
+    }
+
+    /**
+     * Header fields of the request.
+     * @param head Head of the request
+     * @return Fields, with pseudo-headers
+     * @throws IOException If fails
+     */
+    private List<Map.Entry<String, String>> fields(final ParsedHead head)
+        throws IOException {
+        final String[] line = head.line().split(" ");
+        if (line.length < 2) {
+            throw new IOException(
+                String.format("Wrong request line \"%s\"", head.line())
+            );
+        }
+        final Map<String, List<String>> headers = head.headers();
+        String path = line[1];
+        String authority = "";
+        if (headers.containsKey("host")) {
+            authority = headers.get("host").get(0);
+        }
+        final int sep = path.indexOf("://");
+        if (sep > 0 && path.charAt(0) != '/') {
+            final int slash = path.indexOf('/', sep + 3);
+            if (slash < 0) {
+                authority = path.substring(sep + 3);
+                path = "/";
+            } else {
+                authority = path.substring(sep + 3, slash);
+                path = path.substring(slash);
+            }
+        }
+        if (authority.isEmpty()) {
+            authority = this.host;
+            if (this.port != Http2Exchange.port(this.scheme)) {
+                authority = String.format("%s:%d", this.host, this.port);
+            }
+        }
+        final List<Map.Entry<String, String>> fields = new LinkedList<>();
+        fields.add(Http2Exchange.field(":method", line[0]));
+        fields.add(Http2Exchange.field(":scheme", this.scheme));
+        fields.add(Http2Exchange.field(":authority", authority));
+        fields.add(Http2Exchange.field(":path", path));
+        final Set<String> dropped = new HashSet<>(Http2Exchange.DROPPED);
+        for (final String value : headers.getOrDefault(
+            "connection", new LinkedList<>()
+        )) {
+            for (final String name : value.split(",")) {
+                dropped.add(name.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        for (final Map.Entry<String, List<String>> header
+            : headers.entrySet()) {
+            if (dropped.contains(header.getKey())) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                if (!"te".equals(header.getKey()) || "trailers".equals(value)) {
+                    fields.add(Http2Exchange.field(header.getKey(), value));
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Body of the request.
+     * @param head Head of the request
+     * @return The body or NULL if there is none
+     * @throws IOException If fails
+     */
+    private static InputStream body(final ParsedHead head) throws IOException {
+        final Map<String, List<String>> headers = head.headers();
+        InputStream body = null;
+        if (headers.containsKey("transfer-encoding")
+            && headers.get("transfer-encoding").toString()
+                .contains("chunked")) {
+            body = new ChunkedInputStream(head.body());
+        } else if (headers.containsKey("content-length")) {
+            final long len = Long.parseLong(
+                headers.get("content-length").get(0)
+            );
+            if (len > 0L) {
+                body = new LimitedInputStream(head.body(), len);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Head of the response, in HTTP/1.1 form.
+     * @param fields Response header fields
+     * @return The head, with the empty line
+     */
+    private static InputStream head(
+        final List<Map.Entry<String, String>> fields) {
+        final StringBuilder text = new StringBuilder(128);
+        String status = "";
+        for (final Map.Entry<String, String> field : fields) {
+            if (":status".equals(field.getKey())) {
+                status = field.getValue();
+            } else if (field.getKey().charAt(0) != ':') {
+                text.append(field.getKey()).append(": ")
+                    .append(field.getValue()).append("\r\n");
+            }
+        }
+        return new ByteArrayInputStream(
+            String.format("HTTP/2 %s\r\n%s\r\n", status, text)
+                .getBytes(StandardCharsets.ISO_8859_1)
+        );
+    }
+
+    /**
+     * Header field.
+     * @param name Name
+     * @param value Value
+     * @return The field
+     */
+    private static Map.Entry<String, String> field(final String name,
+        final String value) {
+        return new AbstractMap.SimpleImmutableEntry<>(name, value);
+    }
+
+    /**
+     * Default TCP port of the scheme.
+     * @param scheme The scheme
+     * @return The port
+     */
+    static int port(final String scheme) {
+        final int port;
+        if ("https".equals(scheme)) {
+            // @checkstyle MagicNumber (1 line)
+            port = 443;
+        } else {
+            // @checkstyle MagicNumber (1 line)
+            port = 80;
+        }
+        return port;
+    }
+}
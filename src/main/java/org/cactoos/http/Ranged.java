@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.cactoos.Input;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * A request for a range of bytes of the resource.
+ *
+ * <p>The <code>Range</code> header is added to the head of the request,
+ * RFC 7233, and <code>If-Range</code> too, if there is a validator, an
+ * <code>ETag</code> or a <code>Last-Modified</code> date of the
+ * resource, so the server sends the whole resource instead of the range
+ * if the resource is changed. The request must not have these headers
+ * already.</p>
+ *
+ * @since 0.1
+ */
+public final class Ranged implements Input {
+
+    /**
+     * The request.
+     */
+    private final Input origin;
+
+    /**
+     * The first byte.
+     */
+    private final long first;
+
+    /**
+     * The last byte, inclusive, or negative for the end of the resource.
+     */
+    private final long last;
+
+    /**
+     * The validator, empty if none.
+     */
+    private final String validator;
+
+    /**
+     * Ctor, for the bytes from the first one to the end.
+     * @param request The request
+     * @param start The first byte
+     * @param valid The validator, empty if none
+     */
+    public Ranged(final Input request, final long start, final String valid) {
+        this(request, start, -1L, valid);
+    }
+
+    /**
+     * Ctor.
+     * @param request The request
+     * @param start The first byte
+     * @param end The last byte, inclusive, or negative for the end
+     * @param valid The validator, empty if none
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Ranged(final Input request, final long start, final long end,
+        final String valid) {
+        this.origin = request;
+        this.first = start;
+        this.last = end;
+        this.validator = valid;
+    }
+
+    @Override
+    public InputStream stream() throws Exception {
+        final ParsedHead head = new ParsedHead(this.origin.stream());
+        final StringBuilder extra = new StringBuilder(64)
+            .append("\r\nRange: bytes=").append(this.first).append('-');
+        if (this.last >= 0L) {
+            extra.append(this.last);
+        }
+        if (!this.validator.isEmpty()) {
+            extra.append("\r\nIf-Range: ").append(this.validator);
+        }
+        extra.append("\r\n\r\n");
+        return new SequenceInputStream(
+            new SequenceInputStream(
+                head.head(),
+                new ByteArrayInputStream(
+                    extra.toString().getBytes(StandardCharsets.US_ASCII)
+                )
+            ),
+            head.body()
+        );
+    }
+
+    /**
+     * The validator of the resource in the response, a strong
+     * <code>ETag</code>, or <code>Last-Modified</code>, or empty.
+     * @param response The head of the response
+     * @return The validator
+     * @throws IOException If fails
+     */
+    static String validator(final ParsedHead response) throws IOException {
+        final Map<String, List<String>> headers = response.headers();
+        String valid = "";
+        if (headers.containsKey("etag")
+            && !headers.get("etag").get(0).startsWith("W/")) {
+            valid = headers.get("etag").get(0);
+        } else if (headers.containsKey("last-modified")) {
+            valid = headers.get("last-modified").get(0);
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.cactoos.Input;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.FormattedText;
+import org.cactoos.text.Joined;
+import org.cactoos.text.TextOf;
+
+/**
+ * An {@link Input} to send a file as the body of a request.
+ *
+ * <p>The head is given without the empty line, like the one of
+ * {@link Get}, and <code>Content-Length</code> of the file is added to
+ * it. As an {@link Input} the request is the head followed by the
+ * content of the file, so any wire can send it. {@link HtWire} sends the
+ * file with {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+ * instead, so the kernel copies it right to the socket, but only if the
+ * socket has a channel. Sockets made by the default
+ * {@link org.cactoos.http.io.Connect} are plain ones and have no channel,
+ * so the file is copied through the stream of the socket then. Give
+ * {@link HtWire} a supplier of sockets with channels, for example
+ * <code>new Connect(timeouts, () -&gt; SocketChannel.open().socket())</code>,
+ * in order to send the file right from the kernel. Mind that such a socket
+ * is closed, if the thread blocked on it is interrupted.</p>
+ *
+ * @since 0.1
+ */
+public final class Upload implements Input {
+
+    /**
+     * The head, without the empty line.
+     */
+    private final Input first;
+
+    /**
+     * The file.
+     */
+    private final Path path;
+
+    /**
+     * Ctor, to PUT the file.
+     * @param url Url to PUT to
+     * @param file The file
+     */
+    public Upload(final URI url, final Path file) {
+        this("PUT", url, file);
+    }
+
+    /**
+     * Ctor.
+     * @param method The method
+     * @param url The url
+     * @param file The file
+     */
+    public Upload(final String method, final URI url, final Path file) {
+        this(
+            new InputOf(
+                new Joined(
+                    new TextOf("\r\n"),
+                    new FormattedText(
+                        "%s %s HTTP/1.1",
+                        method,
+                        url.getPath()
+                    ),
+                    new FormattedText(
+                        "Host: %s",
+                        url.getHost()
+                    )
+                )
+            ),
+            file
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param head The head, without the empty line
+     * @param file The file
+     */
+    public Upload(final Input head, final Path file) {
+        this.first = head;
+        this.path = file;
+    }
+
+    @Override
+    public InputStream stream() throws Exception {
+        return new SequenceInputStream(
+            this.head(), Files.newInputStream(this.path)
+        );
+    }
+
+    /**
+     * The head, with <code>Content-Length</code> and the empty line.
+     * @return The head
+     * @throws Exception If fails
+     */
+    public InputStream head() throws Exception {
+        return new SequenceInputStream(
+            this.first.stream(),
+            new ByteArrayInputStream(
+                String.format(
+                    "\r\nContent-Length: %d\r\n\r\n", Files.size(this.path)
+                ).getBytes(StandardCharsets.US_ASCII)
+            )
+        );
+    }
+
+    /**
+     * Send the content of the file to the channel.
+     * @param target The channel
+     * @throws IOException If fails
+     */
+    public void transfer(final WritableByteChannel target)
+        throws IOException {
+        try (FileChannel file = FileChannel.open(
+            this.path, StandardOpenOption.READ
+        )) {
+            final long size = file.size();
+            long pos = 0L;
+            while (pos < size) {
+                final long sent = file.transferTo(pos, size - pos, target);
+                if (sent == 0L) {
+                    throw new EOFException(
+                        String.format(
+                            "The file ends at %d of %d bytes", pos, size
+                        )
+                    );
+                }
+                pos += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dynamic table of HPACK, RFC 7541, Section 2.3.2.
+ *
+ * <p>Entries are kept in a ring of arrays, so adding, evicting and
+ * taking an entry by its index don't allocate. Each entry gets a
+ * sequence number when it's added, its index is the distance from the
+ * newest one. A searchable table also maps names and fields to the
+ * sequence numbers of their newest entries, for the encoder.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ */
+final class DynamicTable {
+
+    /**
+     * Overhead of an entry, in octets.
+     */
+    private static final int OVERHEAD = 32;
+
+    /**
+     * Sequence numbers of the newest entries, by name, or NULL.
+     */
+    private final Map<String, Long> names;
+
+    /**
+     * Sequence numbers of the newest entries, by name and value, or NULL.
+     */
+    private final Map<String, Map<String, Long>> fields;
+
+    /**
+     * Names of entries, in the ring.
+     */
+    private String[] keys;
+
+    /**
+     * Values of entries, in the ring.
+     */
+    private String[] values;
+
+    /**
+     * Sequence number of the newest entry.
+     */
+    private long newest;
+
+    /**
+     * Number of entries.
+     */
+    private int count;
+
+    /**
+     * Size of the table, in octets.
+     */
+    private int octets;
+
+    /**
+     * Maximum size, in octets.
+     */
+    private int max;
+
+    /**
+     * Ctor.
+     * @param max Maximum size, in octets
+     * @param searchable Make it searchable by names and values
+     */
+    DynamicTable(final int max, final boolean searchable) {
+        this.max = max;
+        this.keys = new String[16];
+        this.values = new String[16];
+        if (searchable) {
+            this.names = new HashMap<>(0);
+            this.fields = new HashMap<>(0);
+        } else {
+            this.names = null;
+            this.fields = null;
+        }
+    }
+
+    /**
+     * Number of entries.
+     * @return The number
+     */
+    int length() {
+        return this.count;
+    }
+
+    /**
+     * Maximum size.
+     * @return Size in octets
+     */
+    int capacity() {
+        return this.max;
+    }
+
+    /**
+     * Change the maximum size, evicting entries that don't fit.
+     * @param size Size in octets
+     */
+    void capacity(final int size) {
+        this.max = size;
+        this.evict(0);
+    }
+
+    /**
+     * Name of the entry.
+     * @param index Index, from 1 for the newest entry
+     * @return The name
+     */
+    String name(final int index) {
+        return this.keys[this.slot(this.newest - index + 1)];
+    }
+
+    /**
+     * Value of the entry.
+     * @param index Index, from 1 for the newest entry
+     * @return The value
+     */
+    String value(final int index) {
+        return this.values[this.slot(this.newest - index + 1)];
+    }
+
+    /**
+     * Index of the newest entry with the name, in a searchable table.
+     * @param name The name
+     * @return Index, from 1 for the newest entry, or zero if there is none
+     */
+    int index(final String name) {
+        return this.index(this.names.get(name));
+    }
+
+    /**
+     * Index of the newest entry with the name and the value, in a
+     * searchable table.
+     * @param name The name
+     * @param value The value
+     * @return Index, from 1 for the newest entry, or zero if there is none
+     */
+    int index(final String name, final String value) {
+        final Map<String, Long> map = this.fields.get(name);
+        final int index;
+        if (map == null) {
+            index = 0;
+        } else {
+            index = this.index(map.get(value));
+        }
+        return index;
+    }
+
+    /**
+     * Size of an entry.
+     * @param name Name
+     * @param value Value
+     * @return Size in octets, RFC 7541, Section 4.1
+     */
+    static int size(final String name, final String value) {
+        return name.length() + value.length() + DynamicTable.OVERHEAD;
+    }
+
+    /**
+     * Add an entry, evicting the oldest ones that don't fit.
+     * @param name Name
+     * @param value Value
+     */
+    void add(final String name, final String value) {
+        final int size = DynamicTable.size(name, value);
+        this.evict(size);
+        if (size <= this.max) {
+            if (this.count == this.keys.length) {
+                this.grow();
+            }
+            this.newest += 1;
+            this.keys[this.slot(this.newest)] = name;
+            this.values[this.slot(this.newest)] = value;
+            this.count += 1;
+            this.octets += size;
+            if (this.names != null) {
+                this.names.put(name, this.newest);
+                this.fields.computeIfAbsent(name, key -> new HashMap<>(1))
+                    .put(value, this.newest);
+            }
+        }
+    }
+
+    /**
+     * Evict the oldest entries, until there is room.
+     * @param room Room to make, in octets
+     */
+    private void evict(final int room) {
+        while (this.count > 0 && this.octets + room > this.max) {
+            final long seq = this.newest - this.count + 1;
+            final int slot = this.slot(seq);
+            final String name = this.keys[slot];
+            final String value = this.values[slot];
+            if (this.names != null) {
+                this.names.remove(name, seq);
+                final Map<String, Long> map = this.fields.get(name);
+                map.remove(value, seq);
+                if (map.isEmpty()) {
+                    this.fields.remove(name);
+                }
+            }
+            this.keys[slot] = null;
+            this.values[slot] = null;
+            this.count -= 1;
+            this.octets -= DynamicTable.size(name, value);
+        }
+    }
+
+    /**
+     * Index of the entry.
+     * @param seq Sequence number of the entry or NULL
+     * @return Index, from 1 for the newest entry, or zero
+     */
+    private int index(final Long seq) {
+        final int index;
+        if (seq == null) {
+            index = 0;
+        } else {
+            index = (int) (this.newest - seq + 1);
+        }
+        return index;
+    }
+
+    /**
+     * Double the ring.
+     */
+    private void grow() {
+        final String[] names = new String[this.keys.length * 2];
+        final String[] vals = new String[this.keys.length * 2];
+        for (long seq = this.newest - this.count + 1; seq <= this.newest;
+            ++seq) {
+            names[(int) ((seq - 1) % names.length)] = this.keys[this.slot(seq)];
+            vals[(int) ((seq - 1) % vals.length)] = this.values[this.slot(seq)];
+        }
+        this.keys = names;
+        this.values = vals;
+    }
+
+    /**
+     * Slot of the entry in the ring.
+     * @param seq Sequence number of the entry
+     * @return The slot
+     */
+    private int slot(final long seq) {
+        return (int) ((seq - 1) % this.keys.length);
+    }
+}
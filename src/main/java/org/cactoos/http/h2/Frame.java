@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Frame of HTTP/2, RFC 7540, Section 4.
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class Frame {
+
+    /**
+     * DATA frame type.
+     */
+    public static final int DATA = 0x0;
+
+    /**
+     * HEADERS frame type.
+     */
+    public static final int HEADERS = 0x1;
+
+    /**
+     * PRIORITY frame type.
+     */
+    public static final int PRIORITY = 0x2;
+
+    /**
+     * RST_STREAM frame type.
+     */
+    public static final int RST_STREAM = 0x3;
+
+    /**
+     * SETTINGS frame type.
+     */
+    public static final int SETTINGS = 0x4;
+
+    /**
+     * PUSH_PROMISE frame type.
+     */
+    public static final int PUSH_PROMISE = 0x5;
+
+    /**
+     * PING frame type.
+     */
+    public static final int PING = 0x6;
+
+    /**
+     * GOAWAY frame type.
+     */
+    public static final int GOAWAY = 0x7;
+
+    /**
+     * WINDOW_UPDATE frame type.
+     */
+    public static final int WINDOW_UPDATE = 0x8;
+
+    /**
+     * CONTINUATION frame type.
+     */
+    public static final int CONTINUATION = 0x9;
+
+    /**
+     * END_STREAM flag, same as ACK.
+     */
+    public static final int END_STREAM = 0x1;
+
+    /**
+     * ACK flag of SETTINGS and PING.
+     */
+    public static final int ACK = 0x1;
+
+    /**
+     * END_HEADERS flag.
+     */
+    public static final int END_HEADERS = 0x4;
+
+    /**
+     * PADDED flag.
+     */
+    public static final int PADDED = 0x8;
+
+    /**
+     * PRIORITY flag.
+     */
+    public static final int PRIORITIZED = 0x20;
+
+    /**
+     * Type.
+     */
+    private final int kind;
+
+    /**
+     * Flags.
+     */
+    private final int bits;
+
+    /**
+     * Stream identifier.
+     */
+    private final int sid;
+
+    /**
+     * Payload.
+     */
+    private final byte[] body;
+
+    /**
+     * Ctor.
+     * @param type Type
+     * @param flags Flags
+     * @param stream Stream identifier
+     * @param payload Payload
+     */
+    public Frame(final int type, final int flags, final int stream,
+        final byte[] payload) {
+        this.kind = type;
+        this.bits = flags;
+        this.sid = stream;
+        this.body = payload;
+    }
+
+    /**
+     * Type.
+     * @return The type
+     */
+    public int type() {
+        return this.kind;
+    }
+
+    /**
+     * Is the flag set?
+     * @param flag The flag
+     * @return TRUE if set
+     */
+    public boolean has(final int flag) {
+        return (this.bits & flag) != 0;
+    }
+
+    /**
+     * Stream identifier.
+     * @return The identifier, zero for the connection
+     */
+    public int stream() {
+        return this.sid;
+    }
+
+    /**
+     * Payload, as is.
+     * @return The payload
+     */
+    public byte[] payload() {
+        return this.body;
+    }
+
+    /**
+     * Payload without padding and priority fields, for DATA, HEADERS
+     * and PUSH_PROMISE frames.
+     * @return The payload
+     * @throws IOException If the padding is broken
+     */
+    public byte[] content() throws IOException {
+        int start = 0;
+        int end = this.body.length;
+        if (this.has(Frame.PADDED)
+            && (this.kind == Frame.DATA || this.kind == Frame.HEADERS
+            || this.kind == Frame.PUSH_PROMISE)) {
+            if (end == 0) {
+                throw new IOException("No padding length in a padded frame");
+            }
+            end -= this.body[0] & 0xff;
+            start = 1;
+        }
+        if (this.has(Frame.PRIORITIZED) && this.kind == Frame.HEADERS) {
+            start += 5;
+        }
+        if (start > end) {
+            throw new IOException("Padding is longer than the frame");
+        }
+        final byte[] content = new byte[end - start];
+        System.arraycopy(this.body, start, content, 0, content.length);
+        return content;
+    }
+
+    /**
+     * Write it.
+     * @param out Where to write
+     * @throws IOException If fails
+     */
+    public void write(final OutputStream out) throws IOException {
+        final int len = this.body.length;
+        out.write(
+            new byte[] {
+                (byte) (len >>> 16), (byte) (len >>> 8), (byte) len,
+                (byte) this.kind, (byte) this.bits,
+                (byte) (this.sid >>> 24 & 0x7f), (byte) (this.sid >>> 16),
+                (byte) (this.sid >>> 8), (byte) this.sid,
+            }
+        );
+        out.write(this.body);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Frames of HTTP/2, read from a stream.
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class Frames {
+
+    /**
+     * Default maximum frame size.
+     */
+    private static final int MAX = 16_384;
+
+    /**
+     * The stream.
+     */
+    private final DataInputStream input;
+
+    /**
+     * Maximum payload size.
+     */
+    private final int max;
+
+    /**
+     * Ctor.
+     * @param input The stream
+     */
+    public Frames(final InputStream input) {
+        this(input, Frames.MAX);
+    }
+
+    /**
+     * Ctor.
+     * @param input The stream
+     * @param max Maximum payload size
+     */
+    public Frames(final InputStream input, final int max) {
+        this.input = new DataInputStream(input);
+        this.max = max;
+    }
+
+    /**
+     * Read the next frame.
+     * @return The frame
+     * @throws IOException If fails, {@link java.io.EOFException} at the end
+     */
+    public Frame next() throws IOException {
+        final byte[] head = new byte[9];
+        this.input.readFully(head);
+        final int len = (head[0] & 0xff) << 16 | (head[1] & 0xff) << 8
+            | head[2] & 0xff;
+        if (len > this.max) {
+            throw new IOException(
+                String.format(
+                    "Frame of %d bytes is bigger than %d", len, this.max
+                )
+            );
+        }
+        final byte[] payload = new byte[len];
+        this.input.readFully(payload);
+        return new Frame(
+            head[3] & 0xff,
+            head[4] & 0xff,
+            (head[5] & 0x7f) << 24 | (head[6] & 0xff) << 16
+                | (head[7] & 0xff) << 8 | head[8] & 0xff,
+            payload
+        );
+    }
+}
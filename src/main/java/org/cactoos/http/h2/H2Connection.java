@@ -0,0 +1,783 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.cactoos.http.io.VirtualExecutor;
+
+/**
+ * Connection of HTTP/2, RFC 7540, many streams over one socket.
+ *
+ * <p>{@link #start()} sends the connection preface with our settings:
+ * no server push and a window of {@link #WINDOW} bytes per stream, and
+ * starts a reader, which takes frames from the socket and dispatches
+ * them to streams. The reader answers SETTINGS and PING, applies
+ * WINDOW_UPDATE, RST_STREAM and GOAWAY, joins CONTINUATION frames,
+ * refuses pushed streams and gives back the connection window as soon as
+ * DATA arrives, since every stream can't queue more than its own window.
+ * Streams are opened by {@link #open(List, boolean)}, no more of them
+ * at once than the peer allows.</p>
+ *
+ * <p>Frames are written under one lock, the header block of a stream is
+ * encoded and written under the same lock, so stream identifiers and the
+ * state of HPACK stay in order.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (1000 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (1000 lines)
+ */
+@SuppressWarnings(
+    {
+        "PMD.TooManyMethods",
+        "PMD.TooManyFields",
+        "PMD.GodClass",
+        "PMD.AvoidSynchronizedAtMethodLevel"
+    }
+)
+public final class H2Connection implements Closeable {
+
+    /**
+     * Receive window of a stream, we announce it.
+     */
+    static final int WINDOW = 1 << 20;
+
+    /**
+     * Receive window of the connection.
+     */
+    private static final int TOTAL = 1 << 24;
+
+    /**
+     * Default window, RFC 7540, Section 6.9.2.
+     */
+    private static final int INITIAL = 65_535;
+
+    /**
+     * Connection preface.
+     */
+    private static final byte[] PREFACE =
+        "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The socket.
+     */
+    private final Socket socket;
+
+    /**
+     * Where frames come from.
+     */
+    private final InputStream input;
+
+    /**
+     * Where frames are written, it is the lock of writing too.
+     */
+    private final OutputStream output;
+
+    /**
+     * The lock of the state below.
+     */
+    private final Object lock;
+
+    /**
+     * Open streams.
+     */
+    private final Map<Integer, H2Stream> streams;
+
+    /**
+     * Encoder of header blocks, guarded by the output.
+     */
+    private final HpackEncoder encoder;
+
+    /**
+     * Where the reader runs.
+     */
+    private final Executor exec;
+
+    /**
+     * Next stream identifier, changed under the output.
+     */
+    private volatile int next;
+
+    /**
+     * Send window of the connection, guarded by the lock.
+     */
+    private long room;
+
+    /**
+     * Initial send window of a stream, guarded by the lock.
+     */
+    private long initial;
+
+    /**
+     * Maximum frame size the peer takes.
+     */
+    private volatile int size;
+
+    /**
+     * Maximum number of streams the peer takes, guarded by the lock,
+     * 100 until its SETTINGS arrive, as RFC 7540, Section 6.5.2 advises.
+     */
+    private long limit;
+
+    /**
+     * Number of open streams, guarded by the lock.
+     */
+    private long active;
+
+    /**
+     * The last stream the peer processes after GOAWAY.
+     */
+    private volatile int last;
+
+    /**
+     * The failure of the connection, if any.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Ctor.
+     * @param socket Connected socket, it's closed with the connection
+     * @throws IOException If the socket is closed
+     */
+    public H2Connection(final Socket socket) throws IOException {
+        this(socket, new VirtualExecutor());
+    }
+
+    /**
+     * Ctor.
+     * @param socket Connected socket, it's closed with the connection
+     * @param exec Where the reader runs
+     * @throws IOException If the socket is closed
+     */
+    public H2Connection(final Socket socket, final Executor exec)
+        throws IOException {
+        this(socket, socket.getInputStream(), exec);
+    }
+
+    /**
+     * Ctor.
+     * @param socket Connected socket, it's closed with the connection
+     * @param input Where frames come from, it may hold bytes that were
+     *  read from the socket after an upgrade
+     * @throws IOException If the socket is closed
+     */
+    public H2Connection(final Socket socket, final InputStream input)
+        throws IOException {
+        this(socket, input, new VirtualExecutor());
+    }
+
+    /**
+     * Ctor.
+     * @param socket Connected socket, it's closed with the connection
+     * @param input Where frames come from, it may hold bytes that were
+     *  read from the socket after an upgrade
+     * @param exec Where the reader runs
+     * @throws IOException If the socket is closed
+     */
+    public H2Connection(final Socket socket, final InputStream input,
+        final Executor exec) throws IOException {
+        this.socket = socket;
+        this.input = input;
+        this.output = new BufferedOutputStream(
+            socket.getOutputStream(), 16_384 + 9
+        );
+        this.exec = exec;
+        this.lock = new Object();
+        this.streams = new ConcurrentHashMap<>(0);
+        this.encoder = new HpackEncoder();
+        this.next = 1;
+        this.room = H2Connection.INITIAL;
+        this.initial = H2Connection.INITIAL;
+        this.size = 16_384;
+        this.limit = 100L;
+        this.last = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Send the preface and start reading frames.
+     * @return This connection
+     * @throws IOException If fails
+     */
+    public H2Connection start() throws IOException {
+        synchronized (this.output) {
+            this.output.write(H2Connection.PREFACE);
+            new Frame(
+                Frame.SETTINGS, 0, 0, H2Connection.settings()
+            ).write(this.output);
+            new Frame(
+                Frame.WINDOW_UPDATE, 0, 0,
+                H2Connection.increment(
+                    H2Connection.TOTAL - H2Connection.INITIAL
+                )
+            ).write(this.output);
+            this.output.flush();
+        }
+        this.exec.execute(this::read);
+        return this;
+    }
+
+    /**
+     * Start the connection that was upgraded from HTTP/1.1, RFC 7540,
+     * Section 3.2, instead of {@link #start()}.
+     *
+     * <p>The request of the upgrade is stream 1, it's ended on our side
+     * already, the response to it comes in this stream.</p>
+     *
+     * @return Stream 1
+     * @throws IOException If fails
+     */
+    public H2Stream upgraded() throws IOException {
+        final H2Stream stream;
+        synchronized (this.output) {
+            synchronized (this.lock) {
+                stream = new H2Stream(this, 1, this.initial);
+                ++this.active;
+            }
+            this.next = 3;
+            this.streams.put(stream.id(), stream);
+        }
+        stream.end();
+        this.start();
+        return stream;
+    }
+
+    /**
+     * Payload of our SETTINGS frame, which is also the value of
+     * HTTP2-Settings header of an upgrade request.
+     * @return The payload
+     */
+    public static byte[] settings() {
+        return ByteBuffer.allocate(12)
+            .putShort((short) 0x2).putInt(0)
+            .putShort((short) 0x4).putInt(H2Connection.WINDOW)
+            .array();
+    }
+
+    /**
+     * May new streams be opened?
+     * @return TRUE if so
+     */
+    public boolean usable() {
+        return this.failure == null && this.last == Integer.MAX_VALUE
+            && this.next > 0 && !this.socket.isClosed();
+    }
+
+    /**
+     * Open a stream by sending its header block.
+     * @param fields Header fields, with pseudo-headers first
+     * @param end There is no body, end our side right away
+     * @return The stream
+     * @throws IOException If fails
+     */
+    public H2Stream open(final List<Map.Entry<String, String>> fields,
+        final boolean end) throws IOException {
+        synchronized (this.lock) {
+            while (this.failure == null && this.active >= this.limit) {
+                H2Connection.await(this.lock);
+            }
+            this.check();
+            ++this.active;
+        }
+        final H2Stream stream;
+        synchronized (this.output) {
+            if (this.failure != null || this.next < 0
+                || this.last != Integer.MAX_VALUE) {
+                synchronized (this.lock) {
+                    --this.active;
+                    this.lock.notifyAll();
+                }
+                throw new IOException("No more streams in this connection");
+            }
+            synchronized (this.lock) {
+                stream = new H2Stream(this, this.next, this.initial);
+            }
+            this.next += 2;
+            this.streams.put(stream.id(), stream);
+            final byte[] block = this.encoder.encode(fields);
+            int flags = 0;
+            if (end) {
+                flags = Frame.END_STREAM;
+            }
+            int type = Frame.HEADERS;
+            int pos = 0;
+            do {
+                final int len = Math.min(this.size, block.length - pos);
+                final byte[] part = new byte[len];
+                System.arraycopy(block, pos, part, 0, len);
+                pos += len;
+                if (pos == block.length) {
+                    flags |= Frame.END_HEADERS;
+                }
+                new Frame(type, flags, stream.id(), part).write(this.output);
+                type = Frame.CONTINUATION;
+                flags = 0;
+            } while (pos < block.length);
+            this.output.flush();
+        }
+        if (end) {
+            stream.end();
+        }
+        return stream;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (this.output) {
+                if (this.failure == null) {
+                    new Frame(
+                        Frame.GOAWAY, 0, 0, new byte[8]
+                    ).write(this.output);
+                    this.output.flush();
+                }
+            }
+        } finally {
+            this.fail(new IOException("Connection is closed"));
+        }
+    }
+
+    /**
+     * Maximum frame size the peer takes.
+     * @return Size in bytes
+     */
+    int frame() {
+        return this.size;
+    }
+
+    /**
+     * Send DATA of a stream, waiting for the window.
+     * @param stream The stream
+     * @param buf The data
+     * @param len How many bytes to send
+     * @param end End our side of the stream after them
+     * @throws IOException If fails
+     */
+    void data(final H2Stream stream, final byte[] buf, final int len,
+        final boolean end) throws IOException {
+        int pos = 0;
+        do {
+            final int chunk;
+            synchronized (this.lock) {
+                while (len > pos && this.failure == null
+                    && stream.failure() == null
+                    && (this.room <= 0 || stream.window() <= 0)) {
+                    H2Connection.await(this.lock);
+                }
+                this.check();
+                if (stream.failure() != null) {
+                    throw new IOException(stream.failure());
+                }
+                chunk = (int) Math.min(
+                    Math.min(len - pos, this.size),
+                    Math.min(this.room, stream.window())
+                );
+                this.room -= chunk;
+                stream.window(-chunk);
+            }
+            pos += chunk;
+            int flags = 0;
+            if (end && pos == len) {
+                flags = Frame.END_STREAM;
+            }
+            final byte[] part = new byte[chunk];
+            System.arraycopy(buf, pos - chunk, part, 0, chunk);
+            this.send(new Frame(Frame.DATA, flags, stream.id(), part));
+        } while (pos < len);
+        if (end) {
+            stream.end();
+        }
+    }
+
+    /**
+     * Give back window of a stream.
+     * @param sid Stream identifier
+     * @param bytes How many bytes
+     * @throws IOException If fails
+     */
+    void update(final int sid, final int bytes) throws IOException {
+        this.send(
+            new Frame(
+                Frame.WINDOW_UPDATE, 0, sid, H2Connection.increment(bytes)
+            )
+        );
+    }
+
+    /**
+     * Reset a stream, we don't need it anymore.
+     * @param stream The stream
+     * @throws IOException If fails
+     */
+    void cancel(final H2Stream stream) throws IOException {
+        if (this.streams.containsKey(stream.id())) {
+            this.forget(stream);
+            if (this.failure == null) {
+                this.send(H2Connection.reset(stream.id(), 0x8));
+            }
+        }
+    }
+
+    /**
+     * Forget a stream, both its sides are ended.
+     * @param stream The stream
+     */
+    void forget(final H2Stream stream) {
+        synchronized (this.lock) {
+            if (this.streams.remove(stream.id()) != null) {
+                --this.active;
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Read frames, until the connection fails or ends.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void read() {
+        try {
+            final Frames frames = new Frames(this.input);
+            final HpackDecoder decoder = new HpackDecoder();
+            long received = 0;
+            while (true) {
+                final Frame frame = frames.next();
+                if (frame.type() == Frame.DATA) {
+                    received += frame.payload().length;
+                    if (received >= H2Connection.TOTAL / 2) {
+                        this.update(0, (int) received);
+                        received = 0;
+                    }
+                }
+                this.dispatch(frame, frames, decoder);
+            }
+        } catch (final EOFException ex) {
+            this.fail(new IOException("Connection is closed by peer", ex));
+        } catch (final IOException ex) {
+            this.fail(ex);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException ex) {
+            this.fail(new IOException(ex));
+        }
+    }
+
+    /**
+     * Handle a frame.
+     * @param frame The frame
+     * @param frames The rest of frames, for CONTINUATION
+     * @param decoder Decoder of header blocks
+     * @throws IOException If fails
+     * @checkstyle CyclomaticComplexityCheck (100 lines)
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private void dispatch(final Frame frame, final Frames frames,
+        final HpackDecoder decoder) throws IOException {
+        final H2Stream stream = this.streams.get(frame.stream());
+        switch (frame.type()) {
+            case Frame.DATA:
+                if (stream != null) {
+                    stream.data(frame.content(), frame.has(Frame.END_STREAM));
+                }
+                break;
+            case Frame.HEADERS:
+                final List<Map.Entry<String, String>> fields = decoder.decode(
+                    H2Connection.block(frame, frame.content(), frames)
+                );
+                if (stream != null) {
+                    stream.headers(fields, frame.has(Frame.END_STREAM));
+                }
+                break;
+            case Frame.PUSH_PROMISE:
+                final byte[] promise = frame.content();
+                decoder.decode(
+                    H2Connection.block(
+                        frame, H2Connection.tail(promise, 4), frames
+                    )
+                );
+                this.send(
+                    H2Connection.reset(
+                        ByteBuffer.wrap(promise).getInt() & Integer.MAX_VALUE,
+                        0x7
+                    )
+                );
+                break;
+            case Frame.RST_STREAM:
+                if (stream != null) {
+                    this.forget(stream);
+                    stream.fail(
+                        new IOException(
+                            String.format(
+                                "Stream %d is reset by peer, error %d",
+                                frame.stream(),
+                                ByteBuffer.wrap(frame.payload()).getInt()
+                            )
+                        )
+                    );
+                }
+                break;
+            case Frame.SETTINGS:
+                if (!frame.has(Frame.ACK)) {
+                    this.settings(frame.payload());
+                    this.send(
+                        new Frame(Frame.SETTINGS, Frame.ACK, 0, new byte[0])
+                    );
+                }
+                break;
+            case Frame.PING:
+                if (!frame.has(Frame.ACK)) {
+                    this.send(
+                        new Frame(Frame.PING, Frame.ACK, 0, frame.payload())
+                    );
+                }
+                break;
+            case Frame.GOAWAY:
+                this.away(ByteBuffer.wrap(frame.payload()));
+                break;
+            case Frame.WINDOW_UPDATE:
+                this.grow(
+                    stream, frame.stream(),
+                    ByteBuffer.wrap(frame.payload()).getInt()
+                        & Integer.MAX_VALUE
+                );
+                break;
+            case Frame.CONTINUATION:
+                throw new IOException("CONTINUATION without HEADERS");
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Apply settings of the peer.
+     * @param payload Payload of SETTINGS frame
+     */
+    private void settings(final byte[] payload) {
+        final ByteBuffer buf = ByteBuffer.wrap(payload);
+        synchronized (this.output) {
+            synchronized (this.lock) {
+                while (buf.remaining() >= 6) {
+                    final int key = buf.getShort() & 0xffff;
+                    final long value = buf.getInt() & 0xffffffffL;
+                    if (key == 0x1) {
+                        this.encoder.capacity((int) Math.min(value, 1 << 16));
+                    } else if (key == 0x3) {
+                        this.limit = value;
+                    } else if (key == 0x4) {
+                        for (final H2Stream stream : this.streams.values()) {
+                            stream.window(value - this.initial);
+                        }
+                        this.initial = value;
+                    } else if (key == 0x5) {
+                        this.size = (int) value;
+                    }
+                }
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Apply GOAWAY of the peer.
+     * @param payload Payload of GOAWAY frame
+     */
+    private void away(final ByteBuffer payload) {
+        final int stop = payload.getInt() & Integer.MAX_VALUE;
+        final int code = payload.getInt();
+        this.last = stop;
+        for (final H2Stream stream : new ArrayList<>(this.streams.values())) {
+            if (stream.id() > stop) {
+                this.forget(stream);
+                stream.fail(
+                    new IOException(
+                        String.format(
+                            "Stream %d is refused by GOAWAY, error %d",
+                            stream.id(), code
+                        )
+                    )
+                );
+            }
+        }
+        synchronized (this.lock) {
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Apply WINDOW_UPDATE of the peer.
+     * @param stream The stream or NULL
+     * @param sid Stream identifier
+     * @param bytes Window increment
+     */
+    private void grow(final H2Stream stream, final int sid, final int bytes) {
+        synchronized (this.lock) {
+            if (sid == 0) {
+                this.room += bytes;
+            } else if (stream != null) {
+                stream.window(bytes);
+            }
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Fail the connection and all its streams.
+     * @param error The failure
+     */
+    private void fail(final IOException error) {
+        synchronized (this.lock) {
+            if (this.failure == null) {
+                this.failure = error;
+            }
+            this.lock.notifyAll();
+        }
+        for (final H2Stream stream : new ArrayList<>(this.streams.values())) {
+            this.forget(stream);
+            stream.fail(error);
+        }
+        try {
+            this.socket.close();
+        } catch (final IOException ex) {
+            error.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Throw if the connection failed.
+     * @throws IOException If it failed
+     */
+    private void check() throws IOException {
+        if (this.failure != null) {
+            throw new IOException(this.failure);
+        }
+    }
+
+    /**
+     * Write a frame.
+     * @param frame The frame
+     * @throws IOException If fails
+     */
+    private void send(final Frame frame) throws IOException {
+        synchronized (this.output) {
+            this.check();
+            frame.write(this.output);
+            this.output.flush();
+        }
+    }
+
+    /**
+     * Header block, with CONTINUATION frames that follow.
+     * @param frame The first frame
+     * @param first Its header block fragment
+     * @param frames The rest of frames
+     * @return The block
+     * @throws IOException If fails
+     */
+    private static byte[] block(final Frame frame, final byte[] first,
+        final Frames frames) throws IOException {
+        final byte[] block;
+        if (frame.has(Frame.END_HEADERS)) {
+            block = first;
+        } else {
+            final ByteArrayOutputStream all = new ByteArrayOutputStream();
+            all.write(first);
+            Frame more;
+            do {
+                more = frames.next();
+                if (more.type() != Frame.CONTINUATION
+                    || more.stream() != frame.stream()) {
+                    throw new IOException("CONTINUATION is expected");
+                }
+                all.write(more.payload());
+            } while (!more.has(Frame.END_HEADERS));
+            block = all.toByteArray();
+        }
+        return block;
+    }
+
+    /**
+     * Bytes without the head.
+     * @param bytes The bytes
+     * @param skip How many to skip
+     * @return The rest
+     * @throws IOException If there are not enough bytes
+     */
+    private static byte[] tail(final byte[] bytes, final int skip)
+        throws IOException {
+        if (bytes.length < skip) {
+            throw new IOException("Frame is too short");
+        }
+        final byte[] rest = new byte[bytes.length - skip];
+        System.arraycopy(bytes, skip, rest, 0, rest.length);
+        return rest;
+    }
+
+    /**
+     * RST_STREAM frame.
+     * @param sid Stream identifier
+     * @param code Error code
+     * @return The frame
+     */
+    private static Frame reset(final int sid, final int code) {
+        return new Frame(
+            Frame.RST_STREAM, 0, sid,
+            ByteBuffer.allocate(4).putInt(code).array()
+        );
+    }
+
+    /**
+     * Payload of WINDOW_UPDATE.
+     * @param bytes Window increment
+     * @return The payload
+     */
+    private static byte[] increment(final int bytes) {
+        return ByteBuffer.allocate(4).putInt(bytes).array();
+    }
+
+    /**
+     * Wait on the lock.
+     * @param lock The lock
+     * @throws IOException If interrupted
+     */
+    private static void await(final Object lock) throws IOException {
+        try {
+            lock.wait();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting", ex);
+        }
+    }
+}
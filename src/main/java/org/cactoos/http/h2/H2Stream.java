@@ -0,0 +1,380 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Stream of an HTTP/2 connection, one request and its response.
+ *
+ * <p>The request body is sent by {@link #send(InputStream)}, it blocks
+ * while the peer has no room for it. The response body is queued by the
+ * reader of the connection and every byte the consumer takes out of
+ * {@link #body()} is given back to the peer as window, so the queue never
+ * holds more than the window we announced. Closing the body before its
+ * end resets the stream.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class H2Stream {
+
+    /**
+     * Marker of the end of the response body.
+     */
+    private static final byte[] END = new byte[0];
+
+    /**
+     * The connection.
+     */
+    private final H2Connection conn;
+
+    /**
+     * Stream identifier.
+     */
+    private final int sid;
+
+    /**
+     * Response headers.
+     */
+    private final CompletableFuture<List<Map.Entry<String, String>>> head;
+
+    /**
+     * Chunks of the response body.
+     */
+    private final BlockingQueue<byte[]> chunks;
+
+    /**
+     * Send window, guarded by the lock of the connection.
+     */
+    private long room;
+
+    /**
+     * The failure of the stream, if any.
+     */
+    private volatile IOException failure;
+
+    /**
+     * The peer has ended its side of the stream.
+     */
+    private volatile boolean remote;
+
+    /**
+     * We have ended our side of the stream.
+     */
+    private volatile boolean local;
+
+    /**
+     * Ctor.
+     * @param conn The connection
+     * @param sid Stream identifier
+     * @param window Initial send window
+     */
+    H2Stream(final H2Connection conn, final int sid, final long window) {
+        this.conn = conn;
+        this.sid = sid;
+        this.room = window;
+        this.head = new CompletableFuture<>();
+        this.chunks = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Stream identifier.
+     * @return The identifier
+     */
+    public int id() {
+        return this.sid;
+    }
+
+    /**
+     * Send the request body and end our side of the stream.
+     * @param body The body
+     * @throws IOException If fails
+     */
+    public void send(final InputStream body) throws IOException {
+        final byte[] buf = new byte[this.conn.frame()];
+        try {
+            while (true) {
+                final int len = body.read(buf);
+                if (len < 0) {
+                    break;
+                }
+                this.conn.data(this, buf, len, false);
+            }
+        } finally {
+            body.close();
+        }
+        this.conn.data(this, buf, 0, true);
+    }
+
+    /**
+     * Response headers, with pseudo-headers, it blocks until they arrive.
+     * @return Header fields
+     * @throws IOException If fails
+     */
+    public List<Map.Entry<String, String>> headers() throws IOException {
+        try {
+            return this.head.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting headers", ex);
+        } catch (final ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Response body.
+     * @return The body, to read only once
+     */
+    public InputStream body() {
+        return new Body();
+    }
+
+    /**
+     * Send window.
+     * @return Bytes the peer is ready to take
+     */
+    long window() {
+        return this.room;
+    }
+
+    /**
+     * Change send window.
+     * @param delta Bytes to add, may be negative
+     */
+    void window(final long delta) {
+        this.room += delta;
+    }
+
+    /**
+     * Is it ended on our side?
+     * @return TRUE if so
+     */
+    boolean ended() {
+        return this.local;
+    }
+
+    /**
+     * Mark it ended on our side.
+     */
+    void end() {
+        this.local = true;
+        if (this.remote) {
+            this.conn.forget(this);
+        }
+    }
+
+    /**
+     * Header block from the peer arrived.
+     * @param fields Header fields
+     * @param last The peer has ended the stream
+     * @throws IOException If headers are broken
+     */
+    void headers(final List<Map.Entry<String, String>> fields,
+        final boolean last) throws IOException {
+        if (!this.head.isDone()) {
+            final String status = H2Stream.status(fields);
+            if (status.length() != 3) {
+                throw new IOException(
+                    String.format("Wrong status \"%s\"", status)
+                );
+            }
+            if (status.charAt(0) != '1' || last) {
+                this.head.complete(fields);
+            }
+        }
+        if (last) {
+            this.data(H2Stream.END, true);
+        }
+    }
+
+    /**
+     * Chunk of the body from the peer arrived.
+     * @param chunk The chunk
+     * @param last The peer has ended the stream
+     */
+    void data(final byte[] chunk, final boolean last) {
+        if (chunk.length > 0) {
+            this.chunks.add(chunk);
+        }
+        if (last) {
+            this.remote = true;
+            this.head.completeExceptionally(
+                new IOException("Stream ended without headers")
+            );
+            this.chunks.add(H2Stream.END);
+            if (this.local) {
+                this.conn.forget(this);
+            }
+        }
+    }
+
+    /**
+     * The stream failed.
+     * @param error The failure
+     */
+    void fail(final IOException error) {
+        if (this.failure == null) {
+            this.failure = error;
+        }
+        this.remote = true;
+        this.local = true;
+        this.head.completeExceptionally(error);
+        this.chunks.add(H2Stream.END);
+    }
+
+    /**
+     * The failure, if any.
+     * @return The failure or NULL
+     */
+    IOException failure() {
+        return this.failure;
+    }
+
+    /**
+     * Value of :status pseudo-header.
+     * @param fields Header fields
+     * @return The value
+     * @throws IOException If there is no status
+     */
+    private static String status(final List<Map.Entry<String, String>> fields)
+        throws IOException {
+        for (final Map.Entry<String, String> field : fields) {
+            if (":status".equals(field.getKey())) {
+                return field.getValue();
+            }
+        }
+        throw new IOException("No :status in response headers");
+    }
+
+    /**
+     * Response body.
+     *
+     * @since 0.1
+     */
+    private final class Body extends InputStream {
+
+        /**
+         * The current chunk.
+         */
+        private byte[] chunk = new byte[0];
+
+        /**
+         * Position in the chunk.
+         */
+        private int pos;
+
+        /**
+         * Bytes taken, but not given back as window yet.
+         */
+        private int taken;
+
+        /**
+         * The end is reached.
+         */
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] one = new byte[1];
+            final int len = this.read(one, 0, 1);
+            final int result;
+            if (len < 0) {
+                result = -1;
+            } else {
+                result = one[0] & 0xff;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.fill()) {
+                return -1;
+            }
+            final int size = Math.min(len, this.chunk.length - this.pos);
+            System.arraycopy(this.chunk, this.pos, buf, off, size);
+            this.pos += size;
+            this.taken += size;
+            if (this.taken >= H2Connection.WINDOW / 2
+                && !H2Stream.this.remote) {
+                H2Stream.this.conn.update(H2Stream.this.sid, this.taken);
+                this.taken = 0;
+            }
+            return size;
+        }
+
+        @Override
+        public int available() {
+            return this.chunk.length - this.pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!this.done) {
+                this.done = true;
+                if (!H2Stream.this.remote) {
+                    H2Stream.this.conn.cancel(H2Stream.this);
+                }
+            }
+        }
+
+        /**
+         * Make sure there is something to read in the current chunk.
+         * @return FALSE at the end of the body
+         * @throws IOException If the stream failed
+         */
+        private boolean fill() throws IOException {
+            while (!this.done && this.pos == this.chunk.length) {
+                try {
+                    this.chunk = H2Stream.this.chunks.take();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while reading", ex);
+                }
+                this.pos = 0;
+                if (this.chunk == H2Stream.END) {
+                    this.done = true;
+                }
+            }
+            if (H2Stream.this.failure != null) {
+                throw new IOException(H2Stream.this.failure);
+            }
+            return !this.done;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder of HPACK header blocks, RFC 7541.
+ *
+ * <p>Names and values are decoded as ISO-8859-1, so that every octet
+ * survives the trip back to bytes. Names are interned, Huffman strings
+ * are decoded into one buffer that is reused from block to block.</p>
+ *
+ * <p>The decoder keeps the dynamic table of the connection, blocks
+ * must be decoded in the order they arrived. There is no thread-safety
+ * guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HpackDecoder {
+
+    /**
+     * No block.
+     */
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Dynamic table.
+     */
+    private final DynamicTable table;
+
+    /**
+     * Interned names.
+     */
+    private final Names names;
+
+    /**
+     * The limit of the table size we announced.
+     */
+    private final int limit;
+
+    /**
+     * Buffer for Huffman strings.
+     */
+    private byte[] scratch;
+
+    /**
+     * The block being decoded.
+     */
+    private byte[] block;
+
+    /**
+     * Position in the block.
+     */
+    private int pos;
+
+    /**
+     * Ctor.
+     */
+    public HpackDecoder() {
+        this(4096);
+    }
+
+    /**
+     * Ctor.
+     * @param limit SETTINGS_HEADER_TABLE_SIZE we announced
+     */
+    public HpackDecoder(final int limit) {
+        this.table = new DynamicTable(limit, false);
+        this.names = new Names();
+        this.limit = limit;
+        this.scratch = new byte[256];
+        this.block = HpackDecoder.EMPTY;
+    }
+
+    /**
+     * Decode a header block.
+     * @param bytes The block
+     * @return Header fields, in order
+     * @throws IOException If the block is broken
+     */
+    public List<Map.Entry<String, String>> decode(final byte[] bytes)
+        throws IOException {
+        this.block = bytes;
+        this.pos = 0;
+        final List<Map.Entry<String, String>> fields = new ArrayList<>(16);
+        while (this.pos < bytes.length) {
+            final int octet = bytes[this.pos] & 0xff;
+            if ((octet & 0x80) != 0) {
+                final int index = this.integer(7);
+                fields.add(
+                    new AbstractMap.SimpleImmutableEntry<>(
+                        this.name(index), this.value(index)
+                    )
+                );
+            } else if ((octet & 0xc0) == 0x40) {
+                final Map.Entry<String, String> field = this.literal(6);
+                this.table.add(field.getKey(), field.getValue());
+                fields.add(field);
+            } else if ((octet & 0xe0) == 0x20) {
+                if (!fields.isEmpty()) {
+                    throw new IOException(
+                        "Table size update after a header field"
+                    );
+                }
+                final int update = this.integer(5);
+                if (update > this.limit) {
+                    throw new IOException(
+                        String.format(
+                            "Table size %d is over the limit %d",
+                            update, this.limit
+                        )
+                    );
+                }
+                this.table.capacity(update);
+            } else {
+                fields.add(this.literal(4));
+            }
+        }
+        this.block = HpackDecoder.EMPTY;
+        return fields;
+    }
+
+    /**
+     * Read a literal field.
+     * @param prefix Prefix of the name index
+     * @return The field
+     * @throws IOException If fails
+     */
+    private Map.Entry<String, String> literal(final int prefix)
+        throws IOException {
+        final int index = this.integer(prefix);
+        final String name;
+        if (index == 0) {
+            name = this.string(true);
+        } else {
+            name = this.name(index);
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(name, this.string(false));
+    }
+
+    /**
+     * Name of the entry in the static or the dynamic table.
+     * @param index Index, from 1
+     * @return The name
+     * @throws IOException If there is no such entry
+     */
+    private String name(final int index) throws IOException {
+        final String name;
+        if (index > StaticTable.size()) {
+            name = this.table.name(this.dynamic(index));
+        } else {
+            name = StaticTable.name(this.known(index));
+        }
+        return name;
+    }
+
+    /**
+     * Value of the entry in the static or the dynamic table.
+     * @param index Index, from 1
+     * @return The value
+     * @throws IOException If there is no such entry
+     */
+    private String value(final int index) throws IOException {
+        final String value;
+        if (index > StaticTable.size()) {
+            value = this.table.value(this.dynamic(index));
+        } else {
+            value = StaticTable.value(this.known(index));
+        }
+        return value;
+    }
+
+    /**
+     * Check the index of the static table.
+     * @param index Index
+     * @return The same index
+     * @throws IOException If it's zero
+     */
+    private int known(final int index) throws IOException {
+        if (index == 0) {
+            throw new IOException("There is no table entry #0");
+        }
+        return index;
+    }
+
+    /**
+     * Index in the dynamic table.
+     * @param index Index in both tables
+     * @return Index in the dynamic table
+     * @throws IOException If there is no such entry
+     */
+    private int dynamic(final int index) throws IOException {
+        final int dynamic = index - StaticTable.size();
+        if (dynamic > this.table.length()) {
+            throw new IOException(
+                String.format("There is no table entry #%d", index)
+            );
+        }
+        return dynamic;
+    }
+
+    /**
+     * Read an integer, RFC 7541, Section 5.1.
+     * @param prefix Prefix size in bits
+     * @return The integer
+     * @throws IOException If fails
+     */
+    private int integer(final int prefix) throws IOException {
+        final int mask = (1 << prefix) - 1;
+        long value = this.octet() & mask;
+        if (value == mask) {
+            int shift = 0;
+            int octet;
+            do {
+                octet = this.octet();
+                value += (long) (octet & 0x7f) << shift;
+                shift += 7;
+                if (value > Integer.MAX_VALUE) {
+                    throw new IOException("Integer is too big");
+                }
+            } while ((octet & 0x80) != 0);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Read a string, RFC 7541, Section 5.2.
+     * @param name It's a name, to intern
+     * @return The string
+     * @throws IOException If fails
+     */
+    private String string(final boolean name) throws IOException {
+        if (this.pos >= this.block.length) {
+            throw new IOException("Header block is truncated");
+        }
+        final boolean huffman = (this.block[this.pos] & 0x80) != 0;
+        final int len = this.integer(7);
+        if (len > this.block.length - this.pos) {
+            throw new IOException("String is longer than the block");
+        }
+        byte[] src = this.block;
+        int off = this.pos;
+        int size = len;
+        if (huffman) {
+            if (this.scratch.length < Huffman.limit(len)) {
+                this.scratch = new byte[Huffman.limit(len)];
+            }
+            size = Huffman.decode(this.block, this.pos, len, this.scratch);
+            src = this.scratch;
+            off = 0;
+        }
+        this.pos += len;
+        final String str;
+        if (name) {
+            str = this.names.of(src, off, size);
+        } else {
+            str = new String(src, off, size, StandardCharsets.ISO_8859_1);
+        }
+        return str;
+    }
+
+    /**
+     * Read the next octet.
+     * @return The octet
+     * @throws IOException If there is none
+     */
+    private int octet() throws IOException {
+        if (this.pos >= this.block.length) {
+            throw new IOException("Header block is truncated");
+        }
+        final int octet = this.block[this.pos] & 0xff;
+        this.pos += 1;
+        return octet;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encoder of HPACK header blocks, RFC 7541.
+ *
+ * <p>A field that is in the static or the dynamic table already is sent
+ * as its index, so repeated headers, like authorization or tracing ones,
+ * cost a byte or two after the first block. Other fields are added to the
+ * dynamic table, except <code>:path</code> and
+ * <code>content-length</code>, which change from request to request, and
+ * the fields bigger than the table. Fields with names given as
+ * sensitive are never indexed, by us or by intermediaries. Strings are
+ * Huffman coded when it makes them shorter.</p>
+ *
+ * <p>Names are lower-cased, as HTTP/2 requires, and strings are sent in
+ * UTF-8. Blocks are built in one buffer, which is reused.</p>
+ *
+ * <p>The encoder keeps the dynamic table of the connection, blocks
+ * must be sent in the order they are encoded. There is no thread-safety
+ * guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HpackEncoder {
+
+    /**
+     * Default size of the dynamic table, RFC 7540, Section 6.5.2.
+     */
+    private static final int SIZE = 4096;
+
+    /**
+     * Names of fields that are not worth indexing.
+     */
+    private static final Set<String> VOLATILE = new HashSet<>(
+        Arrays.asList(":path", "content-length")
+    );
+
+    /**
+     * Dynamic table.
+     */
+    private final DynamicTable table;
+
+    /**
+     * Names of fields that are never indexed.
+     */
+    private final Set<String> sensitive;
+
+    /**
+     * The buffer.
+     */
+    private byte[] buf;
+
+    /**
+     * Position in the buffer.
+     */
+    private int pos;
+
+    /**
+     * The smallest table size since the last block, or -1.
+     */
+    private int low;
+
+    /**
+     * Ctor.
+     */
+    public HpackEncoder() {
+        this(Collections.emptySet());
+    }
+
+    /**
+     * Ctor.
+     * @param sensitive Names of fields that are never indexed, lower-cased
+     */
+    public HpackEncoder(final Set<String> sensitive) {
+        this.table = new DynamicTable(HpackEncoder.SIZE, true);
+        this.sensitive = sensitive;
+        this.buf = new byte[256];
+        this.low = -1;
+    }
+
+    /**
+     * Apply SETTINGS_HEADER_TABLE_SIZE of the peer, the table doesn't
+     * grow over the default size anyway.
+     * @param size Size in octets
+     */
+    public void capacity(final int size) {
+        final int max = Math.min(size, HpackEncoder.SIZE);
+        if (max != this.table.capacity()) {
+            if (this.low < 0 || max < this.low) {
+                this.low = max;
+            }
+            this.table.capacity(max);
+        }
+    }
+
+    /**
+     * Encode header fields.
+     * @param fields The fields
+     * @return The header block
+     */
+    public byte[] encode(final List<Map.Entry<String, String>> fields) {
+        this.pos = 0;
+        if (this.low >= 0) {
+            this.integer(0x20, 5, this.low);
+            if (this.low != this.table.capacity()) {
+                this.integer(0x20, 5, this.table.capacity());
+            }
+            this.low = -1;
+        }
+        for (final Map.Entry<String, String> field : fields) {
+            this.field(
+                HpackEncoder.octets(
+                    field.getKey().toLowerCase(Locale.ENGLISH)
+                ),
+                HpackEncoder.octets(field.getValue())
+            );
+        }
+        return Arrays.copyOf(this.buf, this.pos);
+    }
+
+    /**
+     * Encode one field.
+     * @param name Name, as octets
+     * @param value Value, as octets
+     */
+    private void field(final String name, final String value) {
+        final boolean secret = this.sensitive.contains(name);
+        int full = 0;
+        if (!secret) {
+            full = StaticTable.index(name, value);
+            if (full == 0) {
+                full = HpackEncoder.dynamic(this.table.index(name, value));
+            }
+        }
+        if (full == 0) {
+            int index = StaticTable.index(name);
+            if (index == 0) {
+                index = HpackEncoder.dynamic(this.table.index(name));
+            }
+            if (secret) {
+                this.integer(0x10, 4, index);
+            } else if (HpackEncoder.VOLATILE.contains(name)
+                || DynamicTable.size(name, value) > this.table.capacity()) {
+                this.integer(0, 4, index);
+            } else {
+                this.integer(0x40, 6, index);
+                this.table.add(name, value);
+            }
+            if (index == 0) {
+                this.string(name);
+            }
+            this.string(value);
+        } else {
+            this.integer(0x80, 7, full);
+        }
+    }
+
+    /**
+     * Write an integer, RFC 7541, Section 5.1.
+     * @param head High bits of the first octet
+     * @param prefix Prefix size in bits
+     * @param value The integer
+     */
+    private void integer(final int head, final int prefix, final int value) {
+        this.room(6);
+        final int mask = (1 << prefix) - 1;
+        if (value < mask) {
+            this.buf[this.pos] = (byte) (head | value);
+            this.pos += 1;
+        } else {
+            this.buf[this.pos] = (byte) (head | mask);
+            this.pos += 1;
+            int rest = value - mask;
+            while (rest >= 0x80) {
+                this.buf[this.pos] = (byte) (rest & 0x7f | 0x80);
+                this.pos += 1;
+                rest >>>= 7;
+            }
+            this.buf[this.pos] = (byte) rest;
+            this.pos += 1;
+        }
+    }
+
+    /**
+     * Write a string literal, RFC 7541, Section 5.2.
+     * @param str Octets, as chars
+     */
+    private void string(final String str) {
+        final int huffman = Huffman.length(str);
+        if (huffman < str.length()) {
+            this.integer(0x80, 7, huffman);
+            this.room(huffman);
+            this.pos = Huffman.encode(str, this.buf, this.pos);
+        } else {
+            this.integer(0, 7, str.length());
+            this.room(str.length());
+            for (int idx = 0; idx < str.length(); ++idx) {
+                this.buf[this.pos] = (byte) str.charAt(idx);
+                this.pos += 1;
+            }
+        }
+    }
+
+    /**
+     * Make room in the buffer.
+     * @param len How many bytes to fit
+     */
+    private void room(final int len) {
+        if (this.buf.length - this.pos < len) {
+            this.buf = Arrays.copyOf(
+                this.buf, Math.max(this.buf.length * 2, this.pos + len)
+            );
+        }
+    }
+
+    /**
+     * Index in both tables.
+     * @param index Index in the dynamic table or zero
+     * @return Index in both tables or zero
+     */
+    private static int dynamic(final int index) {
+        final int result;
+        if (index == 0) {
+            result = 0;
+        } else {
+            result = index + StaticTable.size();
+        }
+        return result;
+    }
+
+    /**
+     * The string as octets of UTF-8, one char per octet.
+     * @param str The string
+     * @return Octets, as chars
+     */
+    private static String octets(final String str) {
+        String octets = str;
+        for (int idx = 0; idx < str.length(); ++idx) {
+            if (str.charAt(idx) > 0x7f) {
+                octets = new String(
+                    str.getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.ISO_8859_1
+                );
+                break;
+            }
+        }
+        return octets;
+    }
+}
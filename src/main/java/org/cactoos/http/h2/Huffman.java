@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Huffman code of HPACK, RFC 7541, Appendix B.
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class Huffman {
+
+    /**
+     * Codes of symbols, aligned to the right.
+     */
+    private static final int[] CODES = {
+        0x1ff8, 0x7fffd8, 0xfffffe2, 0xfffffe3, 0xfffffe4, 0xfffffe5,
+        0xfffffe6, 0xfffffe7, 0xfffffe8, 0xffffea, 0x3ffffffc, 0xfffffe9,
+        0xfffffea, 0x3ffffffd, 0xfffffeb, 0xfffffec, 0xfffffed, 0xfffffee,
+        0xfffffef, 0xffffff0, 0xffffff1, 0xffffff2, 0x3ffffffe, 0xffffff3,
+        0xffffff4, 0xffffff5, 0xffffff6, 0xffffff7, 0xffffff8, 0xffffff9,
+        0xffffffa, 0xffffffb, 0x14, 0x3f8, 0x3f9, 0xffa,
+        0x1ff9, 0x15, 0xf8, 0x7fa, 0x3fa, 0x3fb,
+        0xf9, 0x7fb, 0xfa, 0x16, 0x17, 0x18,
+        0x0, 0x1, 0x2, 0x19, 0x1a, 0x1b,
+        0x1c, 0x1d, 0x1e, 0x1f, 0x5c, 0xfb,
+        0x7ffc, 0x20, 0xffb, 0x3fc, 0x1ffa, 0x21,
+        0x5d, 0x5e, 0x5f, 0x60, 0x61, 0x62,
+        0x63, 0x64, 0x65, 0x66, 0x67, 0x68,
+        0x69, 0x6a, 0x6b, 0x6c, 0x6d, 0x6e,
+        0x6f, 0x70, 0x71, 0x72, 0xfc, 0x73,
+        0xfd, 0x1ffb, 0x7fff0, 0x1ffc, 0x3ffc, 0x22,
+        0x7ffd, 0x3, 0x23, 0x4, 0x24, 0x5,
+        0x25, 0x26, 0x27, 0x6, 0x74, 0x75,
+        0x28, 0x29, 0x2a, 0x7, 0x2b, 0x76,
+        0x2c, 0x8, 0x9, 0x2d, 0x77, 0x78,
+        0x79, 0x7a, 0x7b, 0x7ffe, 0x7fc, 0x3ffd,
+        0x1ffd, 0xffffffc, 0xfffe6, 0x3fffd2, 0xfffe7, 0xfffe8,
+        0x3fffd3, 0x3fffd4, 0x3fffd5, 0x7fffd9, 0x3fffd6, 0x7fffda,
+        0x7fffdb, 0x7fffdc, 0x7fffdd, 0x7fffde, 0xffffeb, 0x7fffdf,
+        0xffffec, 0xffffed, 0x3fffd7, 0x7fffe0, 0xffffee, 0x7fffe1,
+        0x7fffe2, 0x7fffe3, 0x7fffe4, 0x1fffdc, 0x3fffd8, 0x7fffe5,
+        0x3fffd9, 0x7fffe6, 0x7fffe7, 0xffffef, 0x3fffda, 0x1fffdd,
+        0xfffe9, 0x3fffdb, 0x3fffdc, 0x7fffe8, 0x7fffe9, 0x1fffde,
+        0x7fffea, 0x3fffdd, 0x3fffde, 0xfffff0, 0x1fffdf, 0x3fffdf,
+        0x7fffeb, 0x7fffec, 0x1fffe0, 0x1fffe1, 0x3fffe0, 0x1fffe2,
+        0x7fffed, 0x3fffe1, 0x7fffee, 0x7fffef, 0xfffea, 0x3fffe2,
+        0x3fffe3, 0x3fffe4, 0x7ffff0, 0x3fffe5, 0x3fffe6, 0x7ffff1,
+        0x3ffffe0, 0x3ffffe1, 0xfffeb, 0x7fff1, 0x3fffe7, 0x7ffff2,
+        0x3fffe8, 0x1ffffec, 0x3ffffe2, 0x3ffffe3, 0x3ffffe4, 0x7ffffde,
+        0x7ffffdf, 0x3ffffe5, 0xfffff1, 0x1ffffed, 0x7fff2, 0x1fffe3,
+        0x3ffffe6, 0x7ffffe0, 0x7ffffe1, 0x3ffffe7, 0x7ffffe2, 0xfffff2,
+        0x1fffe4, 0x1fffe5, 0x3ffffe8, 0x3ffffe9, 0xffffffd, 0x7ffffe3,
+        0x7ffffe4, 0x7ffffe5, 0xfffec, 0xfffff3, 0xfffed, 0x1fffe6,
+        0x3fffe9, 0x1fffe7, 0x1fffe8, 0x7ffff3, 0x3fffea, 0x3fffeb,
+        0x1ffffee, 0x1ffffef, 0xfffff4, 0xfffff5, 0x3ffffea, 0x7ffff4,
+        0x3ffffeb, 0x7ffffe6, 0x3ffffec, 0x3ffffed, 0x7ffffe7, 0x7ffffe8,
+        0x7ffffe9, 0x7ffffea, 0x7ffffeb, 0xffffffe, 0x7ffffec, 0x7ffffed,
+        0x7ffffee, 0x7ffffef, 0x7fffff0, 0x3ffffee
+    };
+
+    /**
+     * Lengths of codes of symbols, in bits.
+     */
+    private static final byte[] LENGTHS = {
+        13, 23, 28, 28, 28, 28, 28, 28, 28, 24, 30, 28, 28, 30, 28, 28,
+        28, 28, 28, 28, 28, 28, 30, 28, 28, 28, 28, 28, 28, 28, 28, 28,
+        6, 10, 10, 12, 13, 6, 8, 11, 10, 10, 8, 11, 8, 6, 6, 6,
+        5, 5, 5, 6, 6, 6, 6, 6, 6, 6, 7, 8, 15, 6, 12, 10,
+        13, 6, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7,
+        7, 7, 7, 7, 7, 7, 7, 7, 8, 7, 8, 13, 19, 13, 14, 6,
+        15, 5, 6, 5, 6, 5, 6, 6, 6, 5, 7, 7, 6, 6, 6, 5,
+        6, 7, 6, 5, 5, 6, 7, 7, 7, 7, 7, 15, 11, 14, 13, 28,
+        20, 22, 20, 20, 22, 22, 22, 23, 22, 23, 23, 23, 23, 23, 24, 23,
+        24, 24, 22, 23, 24, 23, 23, 23, 23, 21, 22, 23, 22, 23, 23, 24,
+        22, 21, 20, 22, 22, 23, 23, 21, 23, 22, 22, 24, 21, 22, 23, 23,
+        21, 21, 22, 21, 23, 22, 23, 23, 20, 22, 22, 22, 23, 22, 22, 23,
+        26, 26, 20, 19, 22, 23, 22, 25, 26, 26, 26, 27, 27, 26, 24, 25,
+        19, 21, 26, 27, 27, 26, 27, 24, 21, 21, 26, 26, 28, 27, 27, 27,
+        20, 24, 20, 21, 22, 21, 21, 23, 22, 22, 25, 25, 24, 24, 26, 23,
+        26, 27, 26, 26, 27, 27, 27, 27, 27, 28, 27, 27, 27, 27, 27, 26
+    };
+
+    /**
+     * Decoding tree: children of node N are at 2*N and 2*N+1, leaves
+     * keep the symbol plus one, negated.
+     */
+    private static final int[] TREE = Huffman.tree();
+
+    /**
+     * Ctor.
+     */
+    private Huffman() {
+        // utility class
+    }
+
+    /**
+     * Decode.
+     * @param src Bytes
+     * @param off Offset
+     * @param len Length
+     * @return Decoded bytes
+     * @throws IOException If the code is broken
+     */
+    static byte[] decode(final byte[] src, final int off, final int len)
+        throws IOException {
+        final byte[] dst = new byte[Huffman.limit(len)];
+        return Arrays.copyOf(dst, Huffman.decode(src, off, len, dst));
+    }
+
+    /**
+     * Maximum length of decoded bytes, the shortest code is 5 bits.
+     * @param len Length of the code
+     * @return Maximum length of decoded bytes
+     */
+    static int limit(final int len) {
+        return len * 8 / 5 + 1;
+    }
+
+    /**
+     * Decode into a buffer.
+     * @param src Bytes
+     * @param off Offset
+     * @param len Length
+     * @param dst Where to decode, at least {@link #limit(int)} long
+     * @return How many bytes are decoded
+     * @throws IOException If the code is broken
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    static int decode(final byte[] src, final int off, final int len,
+        final byte[] dst) throws IOException {
+        int size = 0;
+        int node = 0;
+        int depth = 0;
+        boolean ones = true;
+        for (int idx = off; idx < off + len; ++idx) {
+            for (int bit = 7; bit >= 0; --bit) {
+                final int one = src[idx] >> bit & 1;
+                node = Huffman.TREE[node * 2 + one];
+                ++depth;
+                ones = ones && one == 1;
+                if (node < 0) {
+                    if (node == -257) {
+                        throw new IOException("EOS in a Huffman string");
+                    }
+                    dst[size] = (byte) (-node - 1);
+                    ++size;
+                    node = 0;
+                    depth = 0;
+                    ones = true;
+                } else if (node == 0) {
+                    throw new IOException("Broken Huffman code");
+                }
+            }
+        }
+        if (depth > 7 || !ones) {
+            throw new IOException("Broken Huffman padding");
+        }
+        return size;
+    }
+
+    /**
+     * Length of the code.
+     * @param str Octets, as chars
+     * @return Length in bytes
+     */
+    static int length(final String str) {
+        long bits = 0L;
+        for (int idx = 0; idx < str.length(); ++idx) {
+            bits += Huffman.LENGTHS[str.charAt(idx) & 0xff];
+        }
+        return (int) (bits + 7L >>> 3);
+    }
+
+    /**
+     * Encode into a buffer.
+     * @param str Octets, as chars
+     * @param dst Where to encode, with room for {@link #length(String)}
+     * @param off Offset in the buffer
+     * @return Offset after the code
+     */
+    static int encode(final String str, final byte[] dst, final int off) {
+        int pos = off;
+        long acc = 0L;
+        int bits = 0;
+        for (int idx = 0; idx < str.length(); ++idx) {
+            final int sym = str.charAt(idx) & 0xff;
+            acc = acc << Huffman.LENGTHS[sym] | Huffman.CODES[sym];
+            bits += Huffman.LENGTHS[sym];
+            while (bits >= 8) {
+                bits -= 8;
+                dst[pos] = (byte) (acc >>> bits);
+                ++pos;
+            }
+        }
+        if (bits > 0) {
+            dst[pos] = (byte) (acc << 8 - bits | 0xff >>> bits);
+            ++pos;
+        }
+        return pos;
+    }
+
+    /**
+     * Build the decoding tree.
+     * @return The tree
+     */
+    private static int[] tree() {
+        final int[] tree = new int[1024];
+        int nodes = 1;
+        for (int sym = 0; sym <= 256; ++sym) {
+            final int code;
+            final int length;
+            if (sym == 256) {
+                code = 0x3fffffff;
+                length = 30;
+            } else {
+                code = Huffman.CODES[sym];
+                length = Huffman.LENGTHS[sym];
+            }
+            int node = 0;
+            for (int bit = length - 1; bit > 0; --bit) {
+                final int slot = node * 2 + (code >>> bit & 1);
+                if (tree[slot] == 0) {
+                    tree[slot] = nodes;
+                    ++nodes;
+                }
+                node = tree[slot];
+            }
+            tree[node * 2 + (code & 1)] = -sym - 1;
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interned header names, found by their octets without allocation.
+ *
+ * <p>The same names come in every header block, so the decoder takes
+ * them from here instead of making a new string each time. The table
+ * is open-addressed and never holds more than {@link #MAX} names, the
+ * names of the static table are there from the start. Octets are taken
+ * as ISO-8859-1 chars, so the hash of them is the hash of the name.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class Names {
+
+    /**
+     * Number of slots, a power of two.
+     */
+    private static final int SLOTS = 512;
+
+    /**
+     * Maximum number of names.
+     */
+    private static final int MAX = Names.SLOTS * 3 / 4;
+
+    /**
+     * The slots.
+     */
+    private final String[] slots;
+
+    /**
+     * Number of names.
+     */
+    private int count;
+
+    /**
+     * Ctor.
+     */
+    Names() {
+        this.slots = new String[Names.SLOTS];
+        for (int idx = 1; idx <= StaticTable.size(); ++idx) {
+            final String name = StaticTable.name(idx);
+            int slot = Names.slot(name.hashCode());
+            while (this.slots[slot] != null && !this.slots[slot].equals(name)) {
+                slot = slot + 1 & Names.SLOTS - 1;
+            }
+            if (this.slots[slot] == null) {
+                this.slots[slot] = name;
+                this.count += 1;
+            }
+        }
+    }
+
+    /**
+     * The name of the octets.
+     * @param buf Octets
+     * @param off Offset
+     * @param len Length
+     * @return The name, interned if there is room
+     */
+    String of(final byte[] buf, final int off, final int len) {
+        int hash = 0;
+        for (int idx = off; idx < off + len; ++idx) {
+            hash = 31 * hash + (buf[idx] & 0xff);
+        }
+        int slot = Names.slot(hash);
+        String name = null;
+        while (this.slots[slot] != null) {
+            if (Names.same(this.slots[slot], buf, off, len)) {
+                name = this.slots[slot];
+                break;
+            }
+            slot = slot + 1 & Names.SLOTS - 1;
+        }
+        if (name == null) {
+            name = new String(buf, off, len, StandardCharsets.ISO_8859_1);
+            if (this.count < Names.MAX) {
+                this.slots[slot] = name;
+                this.count += 1;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * The first slot to probe.
+     * @param hash Hash of the name, as {@link String#hashCode()} gives
+     * @return The slot
+     */
+    private static int slot(final int hash) {
+        return (hash ^ hash >>> 16) & Names.SLOTS - 1;
+    }
+
+    /**
+     * Are the name and the octets the same?
+     * @param name The name
+     * @param buf Octets
+     * @param off Offset
+     * @param len Length
+     * @return TRUE if so
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static boolean same(final String name, final byte[] buf,
+        final int off, final int len) {
+        boolean same = name.length() == len;
+        for (int idx = 0; same && idx < len; ++idx) {
+            same = name.charAt(idx) == (buf[off + idx] & 0xff);
+        }
+        return same;
+    }
+}
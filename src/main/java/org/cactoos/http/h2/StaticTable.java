@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Static table of HPACK, RFC 7541, Appendix A.
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+final class StaticTable {
+
+    /**
+     * Entries, the first one has index 1.
+     */
+    private static final String[][] ENTRIES = {
+        {":authority", ""},
+        {":method", "GET"},
+        {":method", "POST"},
+        {":path", "/"},
+        {":path", "/index.html"},
+        {":scheme", "http"},
+        {":scheme", "https"},
+        {":status", "200"},
+        {":status", "204"},
+        {":status", "206"},
+        {":status", "304"},
+        {":status", "400"},
+        {":status", "404"},
+        {":status", "500"},
+        {"accept-charset", ""},
+        {"accept-encoding", "gzip, deflate"},
+        {"accept-language", ""},
+        {"accept-ranges", ""},
+        {"accept", ""},
+        {"access-control-allow-origin", ""},
+        {"age", ""},
+        {"allow", ""},
+        {"authorization", ""},
+        {"cache-control", ""},
+        {"content-disposition", ""},
+        {"content-encoding", ""},
+        {"content-language", ""},
+        {"content-length", ""},
+        {"content-location", ""},
+        {"content-range", ""},
+        {"content-type", ""},
+        {"cookie", ""},
+        {"date", ""},
+        {"etag", ""},
+        {"expect", ""},
+        {"expires", ""},
+        {"from", ""},
+        {"host", ""},
+        {"if-match", ""},
+        {"if-modified-since", ""},
+        {"if-none-match", ""},
+        {"if-range", ""},
+        {"if-unmodified-since", ""},
+        {"last-modified", ""},
+        {"link", ""},
+        {"location", ""},
+        {"max-forwards", ""},
+        {"proxy-authenticate", ""},
+        {"proxy-authorization", ""},
+        {"range", ""},
+        {"referer", ""},
+        {"refresh", ""},
+        {"retry-after", ""},
+        {"server", ""},
+        {"set-cookie", ""},
+        {"strict-transport-security", ""},
+        {"transfer-encoding", ""},
+        {"user-agent", ""},
+        {"vary", ""},
+        {"via", ""},
+        {"www-authenticate", ""}
+    };
+
+    /**
+     * Indexes of first entries, by names.
+     */
+    private static final Map<String, Integer> NAMES = StaticTable.names();
+
+    /**
+     * Indexes of entries, by names and values.
+     */
+    private static final Map<String, Map<String, Integer>> FIELDS =
+        StaticTable.fields();
+
+    /**
+     * Ctor.
+     */
+    private StaticTable() {
+        // utility class
+    }
+
+    /**
+     * Number of entries.
+     * @return The number
+     */
+    static int size() {
+        return StaticTable.ENTRIES.length;
+    }
+
+    /**
+     * Name of the entry.
+     * @param index Index, from 1
+     * @return The name
+     */
+    static String name(final int index) {
+        return StaticTable.ENTRIES[index - 1][0];
+    }
+
+    /**
+     * Value of the entry.
+     * @param index Index, from 1
+     * @return The value
+     */
+    static String value(final int index) {
+        return StaticTable.ENTRIES[index - 1][1];
+    }
+
+    /**
+     * Index of the first entry with the name.
+     * @param name The name
+     * @return Index, from 1, or zero if there is none
+     */
+    static int index(final String name) {
+        return StaticTable.NAMES.getOrDefault(name, 0);
+    }
+
+    /**
+     * Index of the entry with the name and the value.
+     * @param name The name
+     * @param value The value
+     * @return Index, from 1, or zero if there is none
+     */
+    static int index(final String name, final String value) {
+        final Map<String, Integer> map = StaticTable.FIELDS.get(name);
+        final int index;
+        if (map == null) {
+            index = 0;
+        } else {
+            index = map.getOrDefault(value, 0);
+        }
+        return index;
+    }
+
+    /**
+     * Indexes of first entries, by names.
+     * @return The map
+     */
+    private static Map<String, Integer> names() {
+        final Map<String, Integer> map = new HashMap<>(64);
+        for (int idx = StaticTable.ENTRIES.length; idx > 0; --idx) {
+            map.put(StaticTable.ENTRIES[idx - 1][0], idx);
+        }
+        return map;
+    }
+
+    /**
+     * Indexes of entries, by names and values.
+     * @return The map
+     */
+    private static Map<String, Map<String, Integer>> fields() {
+        final Map<String, Map<String, Integer>> map = new HashMap<>(64);
+        for (int idx = 0; idx < StaticTable.ENTRIES.length; ++idx) {
+            map.computeIfAbsent(
+                StaticTable.ENTRIES[idx][0], key -> new HashMap<>(1)
+            ).put(StaticTable.ENTRIES[idx][1], idx + 1);
+        }
+        return map;
+    }
+}
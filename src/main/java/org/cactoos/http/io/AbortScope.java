@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.Scalar;
+
+/**
+ * Resources of exchanges running in a thread, which may be aborted
+ * from another thread.
+ *
+ * <p>While {@link #value(Scalar)} runs, every resource the running code
+ * enlists with {@link #enlist(Closeable)} belongs to this scope and to
+ * all scopes around it. {@link #abort()} closes them all, which
+ * unblocks a thread stuck in connecting, writing or reading a socket.
+ * Resources enlisted after the abort are closed right away.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class AbortScope {
+
+    /**
+     * The scope of the current thread.
+     */
+    private static final ThreadLocal<AbortScope> CURRENT =
+        new ThreadLocal<>();
+
+    /**
+     * The scope is running.
+     */
+    private static final int RUNNING = 0;
+
+    /**
+     * The scope is aborted.
+     */
+    private static final int ABORTED = 1;
+
+    /**
+     * The scope is finished.
+     */
+    private static final int FINISHED = 2;
+
+    /**
+     * Resources enlisted.
+     */
+    private final Queue<Closeable> resources;
+
+    /**
+     * State of the scope.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * The scope around this one, while it runs.
+     */
+    private final AtomicReference<AbortScope> outer;
+
+    /**
+     * Ctor.
+     */
+    public AbortScope() {
+        this.resources = new ConcurrentLinkedQueue<>();
+        this.state = new AtomicInteger(AbortScope.RUNNING);
+        this.outer = new AtomicReference<>();
+    }
+
+    /**
+     * Enlist the resource in the scopes of the current thread, if any.
+     * @param resource The resource
+     * @throws IOException If the scope is aborted already
+     */
+    public static void enlist(final Closeable resource) throws IOException {
+        final AbortScope scope = AbortScope.CURRENT.get();
+        if (scope != null) {
+            scope.add(resource);
+        }
+    }
+
+    /**
+     * Run the code in this scope.
+     * @param code The code
+     * @param <T> Type of result
+     * @return The result
+     * @throws Exception If fails
+     */
+    public <T> T value(final Scalar<T> code) throws Exception {
+        this.outer.set(AbortScope.CURRENT.get());
+        AbortScope.CURRENT.set(this);
+        try {
+            return code.value();
+        } finally {
+            AbortScope.CURRENT.set(this.outer.getAndSet(null));
+            this.state.compareAndSet(AbortScope.RUNNING, AbortScope.FINISHED);
+            this.resources.clear();
+        }
+    }
+
+    /**
+     * Close all resources, unless the code has finished already.
+     * @return TRUE if aborted
+     */
+    public boolean abort() {
+        final boolean aborted = this.state.compareAndSet(
+            AbortScope.RUNNING, AbortScope.ABORTED
+        );
+        if (aborted) {
+            while (true) {
+                final Closeable resource = this.resources.poll();
+                if (resource == null) {
+                    break;
+                }
+                AbortScope.close(resource);
+            }
+        }
+        return aborted;
+    }
+
+    /**
+     * Has it been aborted?
+     * @return TRUE if aborted
+     */
+    public boolean aborted() {
+        return this.state.get() == AbortScope.ABORTED;
+    }
+
+    /**
+     * Add the resource to this scope.
+     * @param resource The resource
+     * @throws IOException If the scope is aborted already
+     */
+    private void add(final Closeable resource) throws IOException {
+        this.resources.add(resource);
+        if (this.aborted()) {
+            this.resources.remove(resource);
+            resource.close();
+            throw new IOException("The exchange is aborted");
+        }
+        final AbortScope around = this.outer.get();
+        if (around != null) {
+            around.add(resource);
+        }
+    }
+
+    /**
+     * Close the resource quietly.
+     * @param resource The resource
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private static void close(final Closeable resource) {
+        try {
+            resource.close();
+        } catch (final IOException ex) {
+            // the resource is useless anyway
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of byte arrays, in size classes.
+ *
+ * <p>Sizes of the classes are powers of two, from the smallest one up,
+ * and an array is taken from the smallest class that fits the capacity
+ * asked. Bigger arrays are just allocated and dropped. Every thread keeps
+ * one idle array per class for itself, so most of the time an array is
+ * taken and given back without any contention. The rest are shared,
+ * no more than the maximum of idle arrays per class. Direct buffers are
+ * pooled by {@link BufferPool}.</p>
+ *
+ * <p>The pool counts arrays that are taken and not given back yet, see
+ * {@link #leased()}, so tests may find the code that forgets to give
+ * them back.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class ArrayPool {
+
+    /**
+     * The pool shared by wires and parsers.
+     */
+    public static final ArrayPool SHARED = new ArrayPool();
+
+    /**
+     * Size of the smallest class.
+     */
+    private final int min;
+
+    /**
+     * Maximum number of shared idle arrays per class.
+     */
+    private final int max;
+
+    /**
+     * Shared idle arrays, per class.
+     */
+    private final List<Queue<byte[]>> idle;
+
+    /**
+     * Numbers of shared idle arrays, per class.
+     */
+    private final List<AtomicInteger> counts;
+
+    /**
+     * Idle arrays of the thread, one per class.
+     */
+    private final ThreadLocal<byte[][]> local;
+
+    /**
+     * Number of arrays taken and not given back.
+     */
+    private final AtomicLong leases;
+
+    /**
+     * Ctor, with classes of 4, 8 and 16 KB.
+     */
+    public ArrayPool() {
+        // @checkstyle MagicNumber (1 line)
+        this(4096, 3, 64);
+    }
+
+    /**
+     * Ctor.
+     * @param min Size of the smallest class, a power of two
+     * @param classes Number of classes
+     * @param max Maximum number of shared idle arrays per class
+     */
+    public ArrayPool(final int min, final int classes, final int max) {
+        this.min = min;
+        this.max = max;
+        this.idle = new ArrayList<>(classes);
+        this.counts = new ArrayList<>(classes);
+        for (int idx = 0; idx < classes; ++idx) {
+            this.idle.add(new ConcurrentLinkedQueue<>());
+            this.counts.add(new AtomicInteger());
+        }
+        this.local = ThreadLocal.withInitial(() -> new byte[classes][]);
+        this.leases = new AtomicLong();
+    }
+
+    /**
+     * Take an array, its content is not cleared.
+     * @param capacity Minimum length
+     * @return The array
+     */
+    public byte[] acquire(final int capacity) {
+        final int cls = this.index(capacity);
+        byte[] array = null;
+        if (cls < this.idle.size()) {
+            final byte[][] cache = this.local.get();
+            array = cache[cls];
+            cache[cls] = null;
+            if (array == null) {
+                array = this.idle.get(cls).poll();
+                if (array == null) {
+                    array = new byte[this.min << cls];
+                } else {
+                    this.counts.get(cls).decrementAndGet();
+                }
+            }
+        } else {
+            array = new byte[capacity];
+        }
+        this.leases.incrementAndGet();
+        return array;
+    }
+
+    /**
+     * Give the array back.
+     * @param array The array, taken from this pool and not used anymore
+     */
+    public void release(final byte[] array) {
+        this.leases.decrementAndGet();
+        final int cls = this.index(array.length);
+        if (cls < this.idle.size() && this.min << cls == array.length) {
+            final byte[][] cache = this.local.get();
+            if (cache[cls] == null) {
+                cache[cls] = array;
+            } else if (this.counts.get(cls).incrementAndGet() <= this.max) {
+                this.idle.get(cls).offer(array);
+            } else {
+                this.counts.get(cls).decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Number of arrays taken and not given back yet.
+     * @return The number
+     */
+    public long leased() {
+        return this.leases.get();
+    }
+
+    /**
+     * The smallest class that fits the capacity.
+     * @param capacity The capacity
+     * @return Index of the class, or the number of classes if none fits
+     */
+    private int index(final int capacity) {
+        int cls = 0;
+        while (cls < this.idle.size() && this.min << cls < capacity) {
+            cls += 1;
+        }
+        return cls;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers of the same size.
+ *
+ * <p>Direct buffers are expensive to allocate and are not collected
+ * soon, so they are given back to the pool and reused. The pool keeps
+ * no more than the maximum of idle buffers, the rest are dropped.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class BufferPool {
+
+    /**
+     * Size of buffers.
+     */
+    private final int size;
+
+    /**
+     * Maximum number of idle buffers.
+     */
+    private final int max;
+
+    /**
+     * Idle buffers.
+     */
+    private final Queue<ByteBuffer> idle;
+
+    /**
+     * Number of idle buffers.
+     */
+    private final AtomicInteger count;
+
+    /**
+     * Ctor.
+     */
+    public BufferPool() {
+        // @checkstyle MagicNumber (1 line)
+        this(17 * 1024, 64);
+    }
+
+    /**
+     * Ctor.
+     * @param size Size of buffers
+     * @param max Maximum number of idle buffers
+     */
+    public BufferPool(final int size, final int max) {
+        this.size = size;
+        this.max = max;
+        this.idle = new ConcurrentLinkedQueue<>();
+        this.count = new AtomicInteger();
+    }
+
+    /**
+     * Take a buffer, cleared.
+     * @param capacity Minimum capacity
+     * @return The buffer
+     */
+    public ByteBuffer acquire(final int capacity) {
+        ByteBuffer buffer = null;
+        if (capacity <= this.size) {
+            buffer = this.idle.poll();
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(Math.max(capacity, this.size));
+        } else {
+            this.count.decrementAndGet();
+        }
+        return buffer;
+    }
+
+    /**
+     * Give the buffer back.
+     * @param buffer The buffer, not used by anyone anymore
+     */
+    public void release(final ByteBuffer buffer) {
+        if (buffer.isDirect() && buffer.capacity() == this.size) {
+            if (this.count.incrementAndGet() <= this.max) {
+                buffer.clear();
+                this.idle.offer(buffer);
+            } else {
+                this.count.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.Input;
+
+/**
+ * One request/response exchange over a non-blocking channel.
+ *
+ * <p>It is registered in an {@link EventLoop}, which calls it every time
+ * the channel is ready: it finishes the connection, writes the request
+ * and reads the response into a small queue of chunks. The response is
+ * read from {@link #stream()} by any other thread. Bytes go through a
+ * {@link Transport}, which may encrypt them. When the queue is full,
+ * the channel stops being read until the reader takes some chunks, so a
+ * slow reader never makes the loop buffer the whole response.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class ChannelExchange implements ChannelHandler, Input {
+
+    /**
+     * Size of chunks to read.
+     */
+    private static final int CHUNK = 16384;
+
+    /**
+     * Maximum number of chunks not taken by the reader yet.
+     */
+    private static final int QUEUE = 16;
+
+    /**
+     * How long to wait for a chunk before checking the channel, in msec.
+     */
+    private static final long PATIENCE = 100L;
+
+    /**
+     * The channel.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The transport.
+     */
+    private final Transport transport;
+
+    /**
+     * The request.
+     */
+    private final ByteBuffer request;
+
+    /**
+     * The loop.
+     */
+    private final EventLoop loop;
+
+    /**
+     * Chunks of the response.
+     */
+    private final BlockingQueue<ByteBuffer> chunks;
+
+    /**
+     * The marker of the end of the response.
+     */
+    private final ByteBuffer end;
+
+    /**
+     * The channel is not read, since the queue is full.
+     */
+    private final AtomicBoolean paused;
+
+    /**
+     * The key of the channel in the loop.
+     */
+    private final AtomicReference<SelectionKey> key;
+
+    /**
+     * Failure, if any.
+     */
+    private final AtomicReference<IOException> failure;
+
+    /**
+     * The response.
+     */
+    private final InputStream response;
+
+    /**
+     * Completed when the first bytes of the response arrive.
+     */
+    private final CompletableFuture<Input> arrived;
+
+    /**
+     * Is the transport open, touched only by the loop.
+     */
+    private boolean opened;
+
+    /**
+     * Is the request sent, touched only by the loop.
+     */
+    private boolean sent;
+
+    /**
+     * Ctor.
+     * @param channel The channel, in non-blocking mode
+     * @param request The request to write
+     * @param loop The loop the channel is registered with
+     */
+    public ChannelExchange(final SocketChannel channel,
+        final ByteBuffer request, final EventLoop loop) {
+        this(channel, new PlainTransport(channel), request, loop);
+    }
+
+    /**
+     * Ctor.
+     * @param channel The channel, in non-blocking mode
+     * @param transport The transport over the channel
+     * @param request The request to write
+     * @param loop The loop the channel is registered with
+     */
+    public ChannelExchange(final SocketChannel channel,
+        final Transport transport, final ByteBuffer request,
+        final EventLoop loop) {
+        this.channel = channel;
+        this.transport = transport;
+        this.request = request;
+        this.loop = loop;
+        this.chunks = new LinkedBlockingQueue<>(ChannelExchange.QUEUE);
+        this.end = ByteBuffer.allocate(0);
+        this.paused = new AtomicBoolean();
+        this.key = new AtomicReference<>();
+        this.failure = new AtomicReference<>();
+        this.response = new ChannelExchange.Response();
+        this.arrived = new CompletableFuture<>();
+    }
+
+    @Override
+    public void exec(final SelectionKey sel) throws IOException {
+        this.key.set(sel);
+        try {
+            if (sel.isConnectable() && this.channel.finishConnect()) {
+                sel.interestOps(SelectionKey.OP_WRITE);
+            }
+            if (this.channel.isConnected() && !this.opened) {
+                this.opened = this.transport.open(sel);
+            }
+            if (this.opened && !this.sent) {
+                this.sent = this.transport.write(this.request);
+                if (this.sent) {
+                    sel.interestOps(SelectionKey.OP_READ);
+                } else {
+                    sel.interestOps(SelectionKey.OP_WRITE);
+                }
+            }
+            if (this.sent) {
+                this.read(sel);
+            }
+        } catch (final IOException ex) {
+            this.fail(sel, ex);
+        }
+    }
+
+    @Override
+    public void fail(final IOException cause) {
+        this.failure.compareAndSet(null, cause);
+        this.chunks.offer(this.end);
+        this.arrived.completeExceptionally(cause);
+    }
+
+    @Override
+    public InputStream stream() {
+        return this.response;
+    }
+
+    /**
+     * The response, as soon as its first bytes arrive.
+     *
+     * <p>The future fails if the exchange fails before that, including
+     * when the loop is closed.</p>
+     *
+     * @return The future of this exchange
+     */
+    public CompletableFuture<Input> response() {
+        return this.arrived;
+    }
+
+    /**
+     * Fail the exchange and close the transport.
+     * @param sel The key
+     * @param ex The failure
+     * @throws IOException If fails to close
+     */
+    private void fail(final SelectionKey sel, final IOException ex)
+        throws IOException {
+        this.fail(ex);
+        sel.cancel();
+        this.transport.close();
+    }
+
+    /**
+     * Read chunks from the transport, while there are any and the queue
+     * is not full.
+     *
+     * <p>The channel is paused before the chunk is published, so the
+     * reader, which takes it, always sees the pause and resumes
+     * reading.</p>
+     * @param sel The key
+     * @throws IOException If fails
+     */
+    private void read(final SelectionKey sel) throws IOException {
+        while (sel.isValid() && !this.paused.get()) {
+            final ByteBuffer chunk = ByteBuffer.allocate(
+                ChannelExchange.CHUNK
+            );
+            final int len = this.transport.read(chunk);
+            if (len < 0) {
+                this.chunks.add(this.end);
+                sel.cancel();
+                this.transport.close();
+                this.arrived.complete(this);
+            } else if (len > 0) {
+                chunk.flip();
+                if (this.chunks.remainingCapacity() <= 2) {
+                    sel.interestOps(0);
+                    this.paused.set(true);
+                }
+                this.chunks.add(chunk);
+                this.arrived.complete(this);
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * The response, read by the consumer.
+     *
+     * @since 0.1
+     */
+    private final class Response extends InputStream {
+
+        /**
+         * The current chunk.
+         */
+        private ByteBuffer current = ByteBuffer.allocate(0);
+
+        @Override
+        public int read() throws IOException {
+            final byte[] one = new byte[1];
+            int read = this.read(one, 0, 1);
+            if (read > 0) {
+                read = one[0] & 0xff;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len)
+            throws IOException {
+            if (!this.current.hasRemaining()
+                && this.current != ChannelExchange.this.end) {
+                this.current = this.next();
+            }
+            final int read;
+            if (this.current == ChannelExchange.this.end) {
+                final IOException ex = ChannelExchange.this.failure.get();
+                if (ex != null) {
+                    throw new IOException(ex);
+                }
+                read = -1;
+            } else {
+                read = Math.min(len, this.current.remaining());
+                this.current.get(bytes, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return this.current.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            final SelectionKey sel = ChannelExchange.this.key.get();
+            if (sel == null) {
+                ChannelExchange.this.channel.close();
+            } else {
+                try {
+                    ChannelExchange.this.loop.submit(
+                        sel,
+                        done -> {
+                            done.cancel();
+                            ChannelExchange.this.transport.close();
+                        }
+                    );
+                } catch (final IOException ex) {
+                    ChannelExchange.this.channel.close();
+                }
+            }
+        }
+
+        /**
+         * Wait for the next chunk.
+         * @return The chunk
+         * @throws IOException If fails
+         */
+        private ByteBuffer next() throws IOException {
+            ByteBuffer next = null;
+            try {
+                while (next == null) {
+                    next = ChannelExchange.this.chunks.poll(
+                        ChannelExchange.PATIENCE, TimeUnit.MILLISECONDS
+                    );
+                    if (next == null
+                        && !ChannelExchange.this.channel.isOpen()
+                        && ChannelExchange.this.chunks.isEmpty()) {
+                        ChannelExchange.this.failure.compareAndSet(
+                            null, new IOException("The channel is closed")
+                        );
+                        next = ChannelExchange.this.end;
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ex.getMessage());
+            }
+            if (ChannelExchange.this.paused.compareAndSet(true, false)) {
+                ChannelExchange.this.loop.submit(
+                    ChannelExchange.this.key.get(),
+                    sel -> {
+                        try {
+                            sel.interestOps(SelectionKey.OP_READ);
+                            ChannelExchange.this.read(sel);
+                        } catch (final IOException ex) {
+                            ChannelExchange.this.fail(sel, ex);
+                        }
+                    }
+                );
+            }
+            return next;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link InputStream} that decodes <code>Transfer-Encoding: chunked</code>.
+ *
+ * <p>EOF is reported right after the last chunk and its trailer, so
+ * nothing of the next message is read. Chunk extensions and trailer
+ * fields are skipped.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+public final class ChunkedInputStream extends InputStream {
+
+    /**
+     * Radix of chunk sizes.
+     */
+    private static final int HEX = 16;
+
+    /**
+     * The original input.
+     */
+    private final InputStream origin;
+
+    /**
+     * Bytes left in the current chunk.
+     */
+    private long left;
+
+    /**
+     * At least one chunk was started.
+     */
+    private boolean started;
+
+    /**
+     * The last chunk was read.
+     */
+    private boolean done;
+
+    /**
+     * Ctor.
+     *
+     * @param origin The origin input
+     */
+    public ChunkedInputStream(final InputStream origin) {
+        super();
+        this.origin = origin;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = -1;
+        if (this.next()) {
+            read = this.origin.read();
+            if (read < 0) {
+                throw new EOFException("Premature EOF inside a chunk");
+            }
+            this.left -= 1L;
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len)
+        throws IOException {
+        int read = 0;
+        if (len > 0) {
+            if (this.next()) {
+                read = this.origin.read(
+                    bytes, off, (int) Math.min((long) len, this.left)
+                );
+                if (read < 0) {
+                    throw new EOFException("Premature EOF inside a chunk");
+                }
+                this.left -= (long) read;
+            } else {
+                read = -1;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min((long) this.origin.available(), this.left);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.origin.close();
+    }
+
+    /**
+     * Move to the next chunk, if the current one is over.
+     * @return TRUE if there are bytes to read
+     * @throws IOException If fails
+     */
+    private boolean next() throws IOException {
+        if (this.left == 0L && !this.done) {
+            if (this.started) {
+                this.line();
+            }
+            this.started = true;
+            final String line = this.line();
+            final int ext = line.indexOf(';');
+            final String size;
+            if (ext < 0) {
+                size = line.trim();
+            } else {
+                size = line.substring(0, ext).trim();
+            }
+            try {
+                this.left = Long.parseLong(size, ChunkedInputStream.HEX);
+            } catch (final NumberFormatException ex) {
+                throw new IOException(
+                    String.format("Invalid chunk size: \"%s\"", line), ex
+                );
+            }
+            if (this.left == 0L) {
+                this.trailer();
+                this.done = true;
+            }
+        }
+        return !this.done;
+    }
+
+    /**
+     * Skip the trailer, up to the empty line.
+     * @throws IOException If fails
+     */
+    private void trailer() throws IOException {
+        String line = this.line();
+        while (!line.isEmpty()) {
+            line = this.line();
+        }
+    }
+
+    /**
+     * Read the line until LF, without CRLF.
+     * @return The line
+     * @throws IOException If fails
+     */
+    private String line() throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            final int read = this.origin.read();
+            if (read < 0) {
+                throw new EOFException("Premature EOF inside chunk framing");
+            }
+            if (read == '\n') {
+                break;
+            }
+            if (read != '\r') {
+                line.write(read);
+            }
+        }
+        return new String(line.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
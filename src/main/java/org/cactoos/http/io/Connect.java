@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.cactoos.BiFunc;
+import org.cactoos.Scalar;
+
+/**
+ * Socket connected to an address.
+ *
+ * <p>Unlike {@code Socket::new}, the socket is enlisted in the
+ * {@link AbortScope} of the current thread before it starts connecting,
+ * so a deadline may abort the connecting too.</p>
+ *
+ * <p>The connect timeout of {@link Timeouts} covers both the DNS lookup
+ * and the TCP connect. Since a lookup can't be interrupted, it runs in
+ * a thread of a {@link VirtualExecutor}, which is left behind if the
+ * lookup is too long.</p>
+ *
+ * <p>Sockets are plain ones by default. Sockets of channels, made by
+ * <code>() -&gt; SocketChannel.open().socket()</code>, let
+ * {@link org.cactoos.http.HtWire} send files right from the kernel.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class Connect implements BiFunc<String, Integer, Socket> {
+
+    /**
+     * Timeouts.
+     */
+    private final Timeouts timeouts;
+
+    /**
+     * Executor of lookups.
+     */
+    private final Executor lookups;
+
+    /**
+     * Maker of sockets, not connected yet.
+     */
+    private final Scalar<Socket> sockets;
+
+    /**
+     * Ctor.
+     */
+    public Connect() {
+        this(new Timeouts());
+    }
+
+    /**
+     * Ctor.
+     * @param timeouts Timeouts
+     */
+    public Connect(final Timeouts timeouts) {
+        this(timeouts, Socket::new);
+    }
+
+    /**
+     * Ctor.
+     * @param timeouts Timeouts
+     * @param sockets Maker of sockets, not connected yet
+     */
+    public Connect(final Timeouts timeouts, final Scalar<Socket> sockets) {
+        this.timeouts = timeouts;
+        this.lookups = new VirtualExecutor();
+        this.sockets = sockets;
+    }
+
+    @Override
+    public Socket apply(final String host, final Integer port)
+        throws IOException {
+        final long start = System.nanoTime();
+        final InetAddress address = this.resolved(host);
+        final long timeout = this.timeouts.connect();
+        final Socket socket = this.socket();
+        try {
+            AbortScope.enlist(socket);
+            if (timeout > 0L) {
+                socket.connect(
+                    new InetSocketAddress(address, port),
+                    (int) Math.max(
+                        1L,
+                        timeout - TimeUnit.NANOSECONDS.toMillis(
+                            System.nanoTime() - start
+                        )
+                    )
+                );
+            } else {
+                socket.connect(new InetSocketAddress(address, port));
+            }
+        } catch (final IOException ex) {
+            socket.close();
+            throw ex;
+        }
+        return socket;
+    }
+
+    /**
+     * Look the host up, within the connect timeout.
+     * @param host The host
+     * @return The address
+     * @throws IOException If fails
+     */
+    private InetAddress resolved(final String host) throws IOException {
+        final long timeout = this.timeouts.connect();
+        final InetAddress address;
+        if (timeout > 0L) {
+            final FutureTask<InetAddress> lookup = new FutureTask<>(
+                () -> InetAddress.getByName(host)
+            );
+            this.lookups.execute(lookup);
+            try {
+                address = lookup.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException ex) {
+                throw new SocketTimeoutException(
+                    String.format("Lookup of %s timed out", host)
+                );
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw new IOException(ex.getCause());
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        } else {
+            address = InetAddress.getByName(host);
+        }
+        return address;
+    }
+
+    /**
+     * Make a socket.
+     * @return The socket, not connected
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Socket socket() throws IOException {
+        try {
+            return this.sockets.value();
+        } catch (final IOException ex) {
+            throw ex;
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.Proc;
+
+/**
+ * Event loop of a few selector threads, driving many non-blocking
+ * channels.
+ *
+ * <p>Every channel is registered with a procedure, which is called on the
+ * loop thread of the channel every time the channel is ready for any of
+ * the operations it is interested in. Channels are spread over threads
+ * round-robin. Threads are started with the first registration, they are
+ * daemons and stop when the loop is closed, closing all their channels.
+ * Procedures must never block.</p>
+ *
+ * <p>If the procedure is a {@link ChannelHandler}, it's told when the
+ * loop closes its channel: when the loop is closed, when the channel
+ * can't be registered, or when the procedure throws.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class EventLoop implements Closeable {
+
+    /**
+     * Number of threads.
+     */
+    private final int threads;
+
+    /**
+     * Workers, one per thread.
+     */
+    private final List<EventLoop.Worker> workers;
+
+    /**
+     * Next worker to register a channel with.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Ctor.
+     */
+    public EventLoop() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param threads Number of selector threads
+     */
+    public EventLoop(final int threads) {
+        this.threads = threads;
+        this.workers = new ArrayList<>(threads);
+        this.next = new AtomicInteger();
+    }
+
+    /**
+     * Register a channel.
+     * @param channel The channel, in non-blocking mode
+     * @param ops Operations it is interested in
+     * @param handler The procedure to call when the channel is ready
+     * @throws IOException If fails
+     */
+    public void register(final SelectableChannel channel, final int ops,
+        final Proc<SelectionKey> handler) throws IOException {
+        final List<EventLoop.Worker> all = this.started();
+        all.get(Math.floorMod(this.next.getAndIncrement(), all.size()))
+            .execute(
+                selector -> {
+                    try {
+                        channel.register(selector, ops, handler);
+                    } catch (final IOException | ClosedSelectorException ex) {
+                        channel.close();
+                        EventLoop.failed(handler, ex);
+                    }
+                }
+            );
+    }
+
+    /**
+     * Run a procedure on the loop thread of the channel.
+     * @param key Key of a registered channel
+     * @param task The procedure
+     * @throws IOException If the channel doesn't belong to this loop
+     */
+    public void submit(final SelectionKey key, final Proc<SelectionKey> task)
+        throws IOException {
+        EventLoop.Worker owner = null;
+        for (final EventLoop.Worker worker : this.started()) {
+            if (worker.owns(key)) {
+                owner = worker;
+                break;
+            }
+        }
+        if (owner == null) {
+            throw new IOException("The key doesn't belong to this loop");
+        }
+        owner.execute(selector -> task.exec(key));
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.workers) {
+            for (final EventLoop.Worker worker : this.workers) {
+                worker.close();
+            }
+        }
+    }
+
+    /**
+     * Tell the handler, if it listens, that its channel is closed.
+     * @param handler The handler
+     * @param cause The cause
+     */
+    private static void failed(final Object handler, final Exception cause) {
+        if (handler instanceof ChannelHandler) {
+            final IOException failure;
+            if (cause instanceof IOException) {
+                failure = (IOException) cause;
+            } else {
+                failure = new IOException(cause);
+            }
+            ((ChannelHandler) handler).fail(failure);
+        }
+    }
+
+    /**
+     * Workers, started if they are not yet.
+     * @return Workers
+     * @throws IOException If fails
+     */
+    private List<EventLoop.Worker> started() throws IOException {
+        synchronized (this.workers) {
+            if (this.workers.isEmpty()) {
+                for (int idx = 0; idx < this.threads; ++idx) {
+                    final EventLoop.Worker worker = new EventLoop.Worker(
+                        Selector.open()
+                    );
+                    final Thread thread = new Thread(
+                        worker, String.format("cactoos-http-loop-%d", idx)
+                    );
+                    thread.setDaemon(true);
+                    thread.start();
+                    this.workers.add(worker);
+                }
+            }
+            return this.workers;
+        }
+    }
+
+    /**
+     * One selector thread.
+     *
+     * @since 0.1
+     */
+    private static final class Worker implements Runnable, Closeable {
+
+        /**
+         * The selector.
+         */
+        private final Selector selector;
+
+        /**
+         * Tasks to run on the thread.
+         */
+        private final Queue<Proc<Selector>> tasks;
+
+        /**
+         * The worker is closed.
+         */
+        private final AtomicBoolean closed;
+
+        /**
+         * Ctor.
+         * @param selector The selector
+         */
+        Worker(final Selector selector) {
+            this.selector = selector;
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.closed = new AtomicBoolean();
+        }
+
+        /**
+         * Run the task on the thread.
+         *
+         * <p>The worker may be closed right after the task is added and
+         * may not see it any more, so the task is taken back then, unless
+         * the worker has taken it already.</p>
+         *
+         * @param task The task, which must close its channel if it fails
+         * @throws IOException If closed
+         */
+        void execute(final Proc<Selector> task) throws IOException {
+            if (this.closed.get()) {
+                throw new IOException("The event loop is closed");
+            }
+            this.tasks.add(task);
+            if (this.closed.get() && this.tasks.remove(task)) {
+                throw new IOException("The event loop is closed");
+            }
+            this.selector.wakeup();
+        }
+
+        /**
+         * Is the key registered with this worker?
+         * @param key The key
+         * @return TRUE if it is
+         */
+        boolean owns(final SelectionKey key) {
+            return key.selector() == this.selector;
+        }
+
+        @Override
+        public void close() {
+            this.closed.set(true);
+            this.selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!this.closed.get()) {
+                    this.selector.select();
+                    this.tasks();
+                    this.ready();
+                }
+            } catch (final IOException | ClosedSelectorException ex) {
+                this.closed.set(true);
+            } finally {
+                this.shutdown();
+            }
+        }
+
+        /**
+         * Close all channels and the selector, telling their handlers,
+         * then run what is left, so that tasks waiting for the selector
+         * close their channels.
+         */
+        private void shutdown() {
+            try {
+                final IOException closed =
+                    new IOException("The event loop is closed");
+                for (final SelectionKey key : this.selector.keys()) {
+                    key.channel().close();
+                    EventLoop.failed(key.attachment(), closed);
+                }
+                this.selector.close();
+            } catch (final IOException | ClosedSelectorException ex) {
+                this.closed.set(true);
+            }
+            this.tasks();
+        }
+
+        /**
+         * Run pending tasks.
+         *
+         * <p>A failing task must not stop the loop, so its exception is
+         * swallowed here: tasks close their channels when they fail.</p>
+         */
+        @SuppressWarnings(
+            {"PMD.AvoidCatchingGenericException", "PMD.EmptyCatchBlock"}
+        )
+        private void tasks() {
+            Proc<Selector> task = this.tasks.poll();
+            while (task != null) {
+                try {
+                    task.exec(this.selector);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Exception ex) {
+                    // the task has closed its channel already
+                }
+                task = this.tasks.poll();
+            }
+        }
+
+        /**
+         * Call handlers of ready channels.
+         * @throws IOException If fails to close a channel
+         */
+        @SuppressWarnings({"unchecked", "PMD.AvoidCatchingGenericException"})
+        private void ready() throws IOException {
+            final Iterator<SelectionKey> keys =
+                this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                final SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    ((Proc<SelectionKey>) key.attachment()).exec(key);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Exception ex) {
+                    key.cancel();
+                    key.channel().close();
+                    EventLoop.failed(key.attachment(), ex);
+                }
+            }
+        }
+    }
+}
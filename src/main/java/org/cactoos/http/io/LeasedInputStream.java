@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.cactoos.Proc;
+
+/**
+ * {@link InputStream} that gives its source back once closed.
+ *
+ * <p>The release procedure receives {@code true} if the stream was read
+ * until EOF, and {@code false} otherwise. It's up to the procedure to
+ * decide what to do with the origin stream, it is never closed here.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+public final class LeasedInputStream extends InputStream {
+
+    /**
+     * The original input.
+     */
+    private final InputStream origin;
+
+    /**
+     * Release procedure.
+     */
+    private final Proc<Boolean> release;
+
+    /**
+     * EOF was reached.
+     */
+    private boolean eof;
+
+    /**
+     * Already released.
+     */
+    private boolean released;
+
+    /**
+     * Ctor.
+     *
+     * @param origin The origin input
+     * @param release The procedure to call on close
+     */
+    public LeasedInputStream(final InputStream origin,
+        final Proc<Boolean> release) {
+        super();
+        this.origin = origin;
+        this.release = release;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return this.seen(this.origin.read());
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len)
+        throws IOException {
+        return this.seen(this.origin.read(bytes, off, len));
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.origin.available();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void close() throws IOException {
+        if (!this.released) {
+            this.released = true;
+            try {
+                this.release.exec(this.eof);
+            } catch (final IOException ex) {
+                throw ex;
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Exception ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Remember EOF, if it is.
+     * @param read The result of the read
+     * @return The same result
+     */
+    private int seen(final int read) {
+        if (read < 0) {
+            this.eof = true;
+        }
+        return read;
+    }
+}
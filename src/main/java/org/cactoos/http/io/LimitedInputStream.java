@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link InputStream} that ends after a given number of bytes.
+ *
+ * <p>It is used for a message body delimited by its
+ * <code>Content-Length</code>: EOF is reported exactly at the end of the
+ * message, without waiting for the other side to close the connection.
+ * If the origin ends earlier, {@link EOFException} is thrown.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+public final class LimitedInputStream extends InputStream {
+
+    /**
+     * The original input.
+     */
+    private final InputStream origin;
+
+    /**
+     * Bytes left.
+     */
+    private long left;
+
+    /**
+     * Ctor.
+     *
+     * @param origin The origin input
+     * @param length The number of bytes to read
+     */
+    public LimitedInputStream(final InputStream origin, final long length) {
+        super();
+        this.origin = origin;
+        this.left = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = -1;
+        if (this.left > 0L) {
+            read = this.origin.read();
+            if (read < 0) {
+                throw this.premature();
+            }
+            this.left -= 1L;
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len)
+        throws IOException {
+        int read = -1;
+        if (this.left > 0L) {
+            read = this.origin.read(
+                bytes, off, (int) Math.min((long) len, this.left)
+            );
+            if (read < 0) {
+                throw this.premature();
+            }
+            this.left -= (long) read;
+        } else if (len == 0) {
+            read = 0;
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min((long) this.origin.available(), this.left);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.origin.close();
+    }
+
+    /**
+     * The exception for the origin ended too early.
+     * @return The exception
+     */
+    private EOFException premature() {
+        return new EOFException(
+            String.format("Premature EOF, %d byte(s) missing", this.left)
+        );
+    }
+}
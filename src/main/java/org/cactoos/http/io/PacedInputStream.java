@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+
+/**
+ * Stream of a socket, which switches the socket to the idle timeout once
+ * the first byte is read.
+ *
+ * <p>Till then the socket keeps the timeout it had, which is the first
+ * byte timeout.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ */
+public final class PacedInputStream extends FilterInputStream {
+
+    /**
+     * The socket.
+     */
+    private final Socket socket;
+
+    /**
+     * Idle timeout, in milliseconds.
+     */
+    private final long idle;
+
+    /**
+     * Is the first byte read?
+     */
+    private boolean started;
+
+    /**
+     * Ctor.
+     * @param socket The socket
+     * @param idle Idle timeout, in milliseconds, zero for none
+     * @throws IOException If fails
+     */
+    public PacedInputStream(final Socket socket, final long idle)
+        throws IOException {
+        super(socket.getInputStream());
+        this.socket = socket;
+        this.idle = idle;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int data = super.read();
+        this.start();
+        return data;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len)
+        throws IOException {
+        final int read = super.read(bytes, off, len);
+        this.start();
+        return read;
+    }
+
+    /**
+     * Switch to the idle timeout, once.
+     * @throws IOException If fails
+     */
+    private void start() throws IOException {
+        if (!this.started) {
+            this.started = true;
+            this.socket.setSoTimeout((int) this.idle);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Head of HTTP message, parsed in a single pass.
+ *
+ * <p>The stream is read in blocks, taken from {@link ArrayPool#SHARED},
+ * byte by byte through a small state machine, until the empty line that
+ * ends the head. The start line, the headers (with lowered names) and
+ * the raw bytes of the head are kept, everything read after the empty
+ * line is pushed back, so {@link #body()} starts exactly where the body
+ * starts. The stream is parsed on the first call of any method, only
+ * once, so the same object may be shared between all those who need
+ * the head.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 0.1
+ */
+@SuppressWarnings("PMD.TooManyFields")
+public final class ParsedHead {
+
+    /**
+     * Size of blocks to read.
+     */
+    private static final int BLOCK = 4096;
+
+    /**
+     * The message.
+     */
+    private final InputStream origin;
+
+    /**
+     * Headers, by lowered names.
+     */
+    private final Map<String, List<String>> map;
+
+    /**
+     * Raw bytes of the head, with the empty line.
+     */
+    private byte[] raw;
+
+    /**
+     * The head is parsed already.
+     */
+    private boolean parsed;
+
+    /**
+     * Number of raw bytes.
+     */
+    private int size;
+
+    /**
+     * End of the last non-empty line of the head.
+     */
+    private int end;
+
+    /**
+     * Start line.
+     */
+    private String first;
+
+    /**
+     * The name of the last header, for folded values.
+     */
+    private String last;
+
+    /**
+     * The rest of the message.
+     */
+    private InputStream rest;
+
+    /**
+     * Ctor.
+     * @param stream The HTTP message
+     */
+    public ParsedHead(final InputStream stream) {
+        this.origin = stream;
+        this.map = new HashMap<>(0);
+        this.raw = new byte[0];
+        this.rest = stream;
+        this.first = "";
+        this.last = "";
+    }
+
+    /**
+     * Start line, like <code>HTTP/1.1 200 OK</code>.
+     * @return The line
+     * @throws IOException If fails
+     */
+    public String line() throws IOException {
+        this.parse();
+        return this.first;
+    }
+
+    /**
+     * Status code of the response.
+     * @return The code
+     * @throws IOException If fails or there is no code in the start line
+     */
+    public int status() throws IOException {
+        final String line = this.line();
+        final int start = line.indexOf(' ') + 1;
+        int stop = line.indexOf(' ', start);
+        if (stop < 0) {
+            stop = line.length();
+        }
+        try {
+            return Integer.parseInt(line.substring(start, stop));
+        } catch (final NumberFormatException ex) {
+            throw new IOException(
+                String.format("No status code in \"%s\"", line), ex
+            );
+        }
+    }
+
+    /**
+     * Headers, with lowered names and trimmed values.
+     * @return Headers
+     * @throws IOException If fails
+     */
+    public Map<String, List<String>> headers() throws IOException {
+        this.parse();
+        return Collections.unmodifiableMap(this.map);
+    }
+
+    /**
+     * The head, up to the empty line, which is not included.
+     * @return The bytes of the head
+     * @throws IOException If fails
+     */
+    public InputStream head() throws IOException {
+        this.parse();
+        return new ByteArrayInputStream(this.raw, 0, this.end);
+    }
+
+    /**
+     * The body, the rest of the message after the empty line.
+     * @return The body
+     * @throws IOException If fails
+     */
+    public InputStream body() throws IOException {
+        this.parse();
+        return this.rest;
+    }
+
+    /**
+     * The whole message again, with its head and the body.
+     *
+     * <p>It shares the body stream with {@link #body()}, use either
+     * one or another.</p>
+     *
+     * @return The message
+     * @throws IOException If fails
+     */
+    public InputStream message() throws IOException {
+        return this.message(this.body());
+    }
+
+    /**
+     * The head again, with the empty line, followed by another body.
+     * @param body The body to follow the head, for example, decoded one
+     * @return The message
+     * @throws IOException If fails
+     */
+    public InputStream message(final InputStream body) throws IOException {
+        this.parse();
+        final PushbackInputStream message = new PushbackInputStream(
+            body, Math.max(this.size, 1)
+        );
+        message.unread(this.raw, 0, this.size);
+        return message;
+    }
+
+    /**
+     * Parse the head, if it's not parsed yet.
+     * @throws IOException If fails
+     */
+    private void parse() throws IOException {
+        if (!this.parsed) {
+            this.parsed = true;
+            this.raw = new byte[ParsedHead.BLOCK];
+            final byte[] block = ArrayPool.SHARED.acquire(ParsedHead.BLOCK);
+            try {
+                int start = 0;
+                int pos = 0;
+                int len = 0;
+                boolean done = false;
+                while (!done) {
+                    if (pos == len) {
+                        len = this.origin.read(block);
+                        pos = 0;
+                        if (len < 0) {
+                            this.line(start, this.size);
+                            break;
+                        }
+                    }
+                    final byte current = block[pos];
+                    pos += 1;
+                    this.append(current);
+                    if (current == '\n') {
+                        int stop = this.size - 1;
+                        if (stop > start && this.raw[stop - 1] == '\r') {
+                            stop -= 1;
+                        }
+                        done = stop == start;
+                        if (!done) {
+                            this.line(start, stop);
+                        }
+                        start = this.size;
+                    }
+                }
+                this.rest = this.origin;
+                if (len > pos) {
+                    final PushbackInputStream back = new PushbackInputStream(
+                        this.origin, len - pos
+                    );
+                    back.unread(block, pos, len - pos);
+                    this.rest = back;
+                }
+            } finally {
+                ArrayPool.SHARED.release(block);
+            }
+        }
+    }
+
+    /**
+     * Take one line of the head.
+     * @param start Start of the line in raw bytes
+     * @param stop End of the line, without CRLF
+     */
+    private void line(final int start, final int stop) {
+        if (stop > start) {
+            if (this.end == 0 && this.first.isEmpty()) {
+                this.first = this.text(start, stop);
+            } else if (this.raw[start] == ' ' || this.raw[start] == '\t') {
+                final List<String> values = this.map.get(this.last);
+                if (!this.last.isEmpty()) {
+                    final int idx = values.size() - 1;
+                    values.set(
+                        idx,
+                        String.join(
+                            " ", values.get(idx), this.text(start, stop)
+                        )
+                    );
+                }
+            } else {
+                this.header(start, stop);
+            }
+            this.end = stop;
+        }
+    }
+
+    /**
+     * Take one header line.
+     * @param start Start of the line in raw bytes
+     * @param stop End of the line, without CRLF
+     */
+    private void header(final int start, final int stop) {
+        int colon = start;
+        while (colon < stop && this.raw[colon] != ':') {
+            colon += 1;
+        }
+        if (colon < stop) {
+            final char[] name = new char[colon - start];
+            int len = 0;
+            for (int idx = start; idx < colon; ++idx) {
+                final int chr = this.raw[idx] & 0xff;
+                if (chr > ' ') {
+                    if (chr >= 'A' && chr <= 'Z') {
+                        name[len] = (char) (chr + ('a' - 'A'));
+                    } else {
+                        name[len] = (char) chr;
+                    }
+                    len += 1;
+                }
+            }
+            this.last = new String(name, 0, len);
+            this.map.computeIfAbsent(this.last, key -> new ArrayList<>(1))
+                .add(this.text(colon + 1, stop));
+        }
+    }
+
+    /**
+     * Trimmed text of the raw bytes.
+     * @param start Start in raw bytes
+     * @param stop End in raw bytes
+     * @return The text
+     */
+    private String text(final int start, final int stop) {
+        int left = start;
+        int right = stop;
+        while (left < right && (this.raw[left] & 0xff) <= ' ') {
+            left += 1;
+        }
+        while (right > left && (this.raw[right - 1] & 0xff) <= ' ') {
+            right -= 1;
+        }
+        return new String(
+            this.raw, left, right - left, StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Append a byte to the raw bytes.
+     * @param current The byte
+     */
+    private void append(final byte current) {
+        if (this.size == this.raw.length) {
+            this.raw = Arrays.copyOf(this.raw, this.size << 1);
+        }
+        this.raw[this.size] = current;
+        this.size += 1;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Transport of bytes as they are.
+ *
+ * @since 0.1
+ */
+public final class PlainTransport implements Transport {
+
+    /**
+     * The channel.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * Ctor.
+     * @param channel The channel
+     */
+    public PlainTransport(final SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public boolean open(final SelectionKey key) {
+        return true;
+    }
+
+    @Override
+    public boolean write(final ByteBuffer src) throws IOException {
+        this.channel.write(src);
+        return !src.hasRemaining();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return this.channel.read(dst);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.SSLSocket;
+
+/**
+ * Application protocols of origins, as they were negotiated by ALPN or
+ * by HTTP/1.1 Upgrade.
+ *
+ * <p>Once an origin has chosen <code>h2</code>, <code>h2c</code> or
+ * <code>http/1.1</code>,
+ * the next exchange with it goes straight to the matching engine, an
+ * open HTTP/2 connection may be used without a new handshake. Share one
+ * object between wires to share the choices.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class Protocols {
+
+    /**
+     * HTTP/2 over TLS.
+     */
+    public static final String H2 = "h2";
+
+    /**
+     * HTTP/2 over cleartext TCP, after Upgrade.
+     */
+    public static final String H2C = "h2c";
+
+    /**
+     * HTTP/1.1.
+     */
+    public static final String HTTP = "http/1.1";
+
+    /**
+     * Choices, by origins.
+     */
+    private final Map<String, String> choices;
+
+    /**
+     * Ctor.
+     */
+    public Protocols() {
+        this.choices = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * The protocol the origin has chosen.
+     * @param host The host
+     * @param port The port
+     * @return The protocol or empty string if it's not known yet
+     */
+    public String chosen(final String host, final int port) {
+        return this.choices.getOrDefault(Protocols.origin(host, port), "");
+    }
+
+    /**
+     * Remember the protocol negotiated over the socket.
+     * @param host The host
+     * @param port The port
+     * @param socket The socket, after the handshake
+     * @return The protocol, {@link #HTTP} if nothing was negotiated
+     */
+    public String remember(final String host, final int port,
+        final Socket socket) {
+        String protocol = null;
+        if (socket instanceof SSLSocket) {
+            protocol = ((SSLSocket) socket).getApplicationProtocol();
+        }
+        if (protocol == null || protocol.isEmpty()) {
+            protocol = Protocols.HTTP;
+        }
+        return this.remember(host, port, protocol);
+    }
+
+    /**
+     * Remember the protocol the origin has chosen.
+     * @param host The host
+     * @param port The port
+     * @param protocol The protocol
+     * @return The protocol
+     */
+    public String remember(final String host, final int port,
+        final String protocol) {
+        this.choices.put(Protocols.origin(host, port), protocol);
+        return protocol;
+    }
+
+    /**
+     * The origin.
+     * @param host The host
+     * @param port The port
+     * @return The origin
+     */
+    private static String origin(final String host, final int port) {
+        return String.format("%s:%d", host, port);
+    }
+}
@@ -25,16 +25,27 @@
 package org.cactoos.http.io;
 
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import org.cactoos.Bytes;
 import org.cactoos.Input;
 
 /**
  * {@link Input} that skips until it find some defined bytes.
  *
+ * <p>The origin is read in blocks, taken from {@link ArrayPool#SHARED},
+ * and the delimiter is searched with the Knuth-Morris-Pratt algorithm,
+ * so every byte is looked at only once.
+ * What is read after the delimiter is pushed back into the stream.</p>
+ *
  * @since 0.1
  */
 public final class SkipInput implements Input {
 
+    /**
+     * Size of blocks to read.
+     */
+    private static final int BLOCK = 4096;
+
     /**
      * The input.
      */
@@ -59,19 +70,60 @@ public final class SkipInput implements Input {
     @Override
     public InputStream stream() throws Exception {
         final byte[] bytes = this.delimiter.asBytes();
-        final BoundedByteBuffer buffer = new BoundedByteBuffer(
-            bytes.length
-        );
         final InputStream stream = this.origin.stream();
-        boolean eof = false;
-        while (!eof && !buffer.equalTo(bytes)) {
-            final int read = stream.read();
-            if (read < 0) {
-                eof = true;
-            } else {
-                buffer.offer((byte) read);
+        InputStream rest = stream;
+        if (bytes.length > 0) {
+            final int[] fallback = SkipInput.fallback(bytes);
+            final byte[] block = ArrayPool.SHARED.acquire(SkipInput.BLOCK);
+            try {
+                int matched = 0;
+                int len = stream.read(block);
+                while (len >= 0 && matched < bytes.length) {
+                    int pos = 0;
+                    while (pos < len && matched < bytes.length) {
+                        while (matched > 0 && block[pos] != bytes[matched]) {
+                            matched = fallback[matched - 1];
+                        }
+                        if (block[pos] == bytes[matched]) {
+                            matched += 1;
+                        }
+                        pos += 1;
+                    }
+                    if (matched < bytes.length) {
+                        len = stream.read(block);
+                    } else if (pos < len) {
+                        final PushbackInputStream back =
+                            new PushbackInputStream(stream, len - pos);
+                        back.unread(block, pos, len - pos);
+                        rest = back;
+                    }
+                }
+            } finally {
+                ArrayPool.SHARED.release(block);
+            }
+        }
+        return rest;
+    }
+
+    /**
+     * Knuth-Morris-Pratt failure function of the delimiter: for every
+     * prefix, the length of its longest proper prefix that is its suffix
+     * too.
+     * @param bytes The delimiter
+     * @return Lengths, per prefix
+     */
+    private static int[] fallback(final byte[] bytes) {
+        final int[] table = new int[bytes.length];
+        int len = 0;
+        for (int idx = 1; idx < bytes.length; ++idx) {
+            while (len > 0 && bytes[idx] != bytes[len]) {
+                len = table[len - 1];
+            }
+            if (bytes[idx] == bytes[len]) {
+                len += 1;
             }
+            table[idx] = len;
         }
-        return stream;
+        return table;
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.cactoos.BiFunc;
+
+/**
+ * Pool of idle persistent sockets, per host and port.
+ *
+ * <p>A socket is leased by {@link #lease(String, int)} and must be given
+ * back by {@link #release(String, int, Socket)} when the exchange is
+ * over and nothing is left unread on it. Before a pooled socket is leased
+ * again it is checked for being closed by the server in the meantime,
+ * without blocking: the channel of the socket is read in non-blocking
+ * mode. That's why sockets of channels are made by default. A plain
+ * socket, which has no channel, is only checked for bytes it's not
+ * supposed to have, and its closing by the server is found out by the
+ * exchange on it.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class SocketPool {
+
+    /**
+     * Default maximum of idle sockets per host and port.
+     */
+    private static final int MAX = 8;
+
+    /**
+     * Supplier of new sockets.
+     */
+    private final BiFunc<String, Integer, Socket> sockets;
+
+    /**
+     * Maximum of idle sockets per host and port.
+     */
+    private final int max;
+
+    /**
+     * Idle sockets per host and port.
+     */
+    private final Map<String, Queue<Socket>> idle;
+
+    /**
+     * Ctor.
+     */
+    public SocketPool() {
+        this(new Connect(new Timeouts(), () -> SocketChannel.open().socket()));
+    }
+
+    /**
+     * Ctor.
+     * @param sockets Supplier of new sockets
+     */
+    public SocketPool(final BiFunc<String, Integer, Socket> sockets) {
+        this(sockets, SocketPool.MAX);
+    }
+
+    /**
+     * Ctor.
+     * @param sockets Supplier of new sockets
+     * @param max Maximum of idle sockets kept per host and port
+     */
+    public SocketPool(final BiFunc<String, Integer, Socket> sockets,
+        final int max) {
+        this.sockets = sockets;
+        this.max = max;
+        this.idle = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Take an idle socket or create a new one.
+     * @param host The host
+     * @param port The TCP port
+     * @return Connected socket
+     * @throws Exception If fails
+     */
+    public Socket lease(final String host, final int port) throws Exception {
+        final Queue<Socket> queue = this.queue(host, port);
+        Socket socket = queue.poll();
+        while (socket != null && this.stale(socket)) {
+            socket.close();
+            socket = queue.poll();
+        }
+        if (socket == null) {
+            socket = this.sockets.apply(host, port);
+        }
+        return socket;
+    }
+
+    /**
+     * Create a new socket, even if there are idle ones.
+     * @param host The host
+     * @param port The TCP port
+     * @return Connected socket
+     * @throws Exception If fails
+     */
+    public Socket fresh(final String host, final int port) throws Exception {
+        return this.sockets.apply(host, port);
+    }
+
+    /**
+     * Give the socket back to the pool, or close it if the pool is full.
+     * @param host The host
+     * @param port The TCP port
+     * @param socket The socket, with nothing left unread
+     * @throws IOException If fails to close
+     */
+    public void release(final String host, final int port,
+        final Socket socket) throws IOException {
+        final Queue<Socket> queue = this.queue(host, port);
+        if (socket.isClosed() || queue.size() >= this.max
+            || !queue.offer(socket)) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Idle sockets of the host and port.
+     * @param host The host
+     * @param port The TCP port
+     * @return Queue of sockets
+     */
+    private Queue<Socket> queue(final String host, final int port) {
+        return this.idle.computeIfAbsent(
+            String.format("%s:%d", host, port),
+            key -> new ConcurrentLinkedQueue<>()
+        );
+    }
+
+    /**
+     * Is the socket closed by the other side, or broken?
+     *
+     * <p>An idle socket must have nothing to read, so EOF or any
+     * unexpected byte means it can't be used anymore.</p>
+     *
+     * @param socket The socket
+     * @return TRUE if it can't be reused
+     */
+    private boolean stale(final Socket socket) {
+        boolean stale = socket.isClosed() || !socket.isConnected()
+            || socket.isInputShutdown() || socket.isOutputShutdown();
+        if (!stale) {
+            final SocketChannel channel = socket.getChannel();
+            try {
+                if (channel == null) {
+                    stale = socket.getInputStream().available() > 0;
+                } else {
+                    synchronized (channel.blockingLock()) {
+                        channel.configureBlocking(false);
+                        stale = channel.read(ByteBuffer.allocate(1)) != 0;
+                        channel.configureBlocking(true);
+                    }
+                }
+            } catch (final IOException ex) {
+                stale = true;
+            }
+        }
+        return stale;
+    }
+}
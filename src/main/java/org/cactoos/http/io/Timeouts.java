@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+/**
+ * Timeouts of the phases of an exchange, in milliseconds.
+ *
+ * <p>Zero means no timeout. Each phase has its own deadline, which is
+ * enforced on the socket: the connect timeout covers the DNS lookup and
+ * the TCP connect, the handshake timeout covers the TLS handshake, the
+ * write timeout covers sending the whole request, the first byte timeout
+ * covers waiting for the response, and the idle timeout covers each
+ * pause between bytes of the response after that.</p>
+ *
+ * <p>The expect timeout is different: it's how long a request with
+ * <code>Expect: 100-continue</code> waits for <code>100 Continue</code>
+ * before its body is sent anyway, zero means the body goes right away.
+ * It's zero, unless it's set explicitly, so requests are streamed
+ * to the socket as they are.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class Timeouts {
+
+    /**
+     * Connect timeout.
+     */
+    private final long conn;
+
+    /**
+     * TLS handshake timeout.
+     */
+    private final long hshake;
+
+    /**
+     * Write timeout.
+     */
+    private final long wrt;
+
+    /**
+     * First byte timeout.
+     */
+    private final long fst;
+
+    /**
+     * Idle timeout.
+     */
+    private final long idl;
+
+    /**
+     * Expect timeout.
+     */
+    private final long expct;
+
+    /**
+     * Ctor, without timeouts.
+     */
+    public Timeouts() {
+        this(0L);
+    }
+
+    /**
+     * Ctor.
+     * @param all The timeout of every phase
+     */
+    public Timeouts(final long all) {
+        this(all, all, all, all, all);
+    }
+
+    /**
+     * Ctor.
+     * @param connect Connect timeout, including DNS lookup
+     * @param handshake TLS handshake timeout
+     * @param write Timeout of writing the request
+     * @param first Timeout of waiting for the first byte of the response
+     * @param idle Timeout of waiting for each next byte of the response
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Timeouts(final long connect, final long handshake,
+        final long write, final long first, final long idle) {
+        this(connect, handshake, write, first, idle, 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param connect Connect timeout, including DNS lookup
+     * @param handshake TLS handshake timeout
+     * @param write Timeout of writing the request
+     * @param first Timeout of waiting for the first byte of the response
+     * @param idle Timeout of waiting for each next byte of the response
+     * @param expect Timeout of waiting for 100 Continue
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public Timeouts(final long connect, final long handshake,
+        final long write, final long first, final long idle,
+        final long expect) {
+        this.conn = connect;
+        this.hshake = handshake;
+        this.wrt = write;
+        this.fst = first;
+        this.idl = idle;
+        this.expct = expect;
+    }
+
+    /**
+     * Connect timeout, including DNS lookup.
+     * @return Milliseconds, zero for none
+     */
+    public long connect() {
+        return this.conn;
+    }
+
+    /**
+     * TLS handshake timeout.
+     * @return Milliseconds, zero for none
+     */
+    public long handshake() {
+        return this.hshake;
+    }
+
+    /**
+     * Timeout of writing the request.
+     * @return Milliseconds, zero for none
+     */
+    public long write() {
+        return this.wrt;
+    }
+
+    /**
+     * Timeout of waiting for the first byte of the response.
+     * @return Milliseconds, zero for none
+     */
+    public long first() {
+        return this.fst;
+    }
+
+    /**
+     * Timeout of waiting for each next byte of the response.
+     * @return Milliseconds, zero for none
+     */
+    public long idle() {
+        return this.idl;
+    }
+
+    /**
+     * Timeout of waiting for 100 Continue, before the body is sent anyway.
+     * @return Milliseconds, zero to send the body right away
+     */
+    public long expect() {
+        return this.expct;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import org.cactoos.BiProc;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Sticky;
+
+/**
+ * TLS client sessions, shared between connections.
+ *
+ * <p>All sockets and engines are made by one {@link SSLContext}, whose
+ * client session cache remembers sessions by host and port, so the next
+ * connection to the same server resumes the session (by session ID or
+ * ticket) instead of making the full handshake. The cache may be
+ * bounded in size and lifetime. Share one object between wires, like
+ * {@link #SHARED}, which wires use by default.</p>
+ *
+ * <p>A connection counts as resumed when the ID of its session was in the
+ * cache right before its handshake: the ID of the resumed session in
+ * TLS 1.2, or of the session which came with the ticket in TLS 1.3. Every
+ * handshake is reported to the listener and counted in
+ * {@link #resumed()} or {@link #full()}.</p>
+ *
+ * <p>Delegated tasks of {@link SSLEngine} handshakes run in a bounded
+ * executor, one thread per processor by default.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class TlsSessions {
+
+    /**
+     * Sessions shared by wires, with the default context of the JVM.
+     */
+    public static final TlsSessions SHARED = new TlsSessions();
+
+    /**
+     * The context.
+     */
+    private final Scalar<SSLContext> context;
+
+    /**
+     * Listener of handshakes, gets TRUE if the session is resumed.
+     */
+    private final BiProc<SSLSession, Boolean> listener;
+
+    /**
+     * Executor of delegated handshake tasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Number of resumed handshakes.
+     */
+    private final AtomicLong resumes;
+
+    /**
+     * Number of full handshakes.
+     */
+    private final AtomicLong fulls;
+
+    /**
+     * Ctor, with the default context of the JVM.
+     */
+    public TlsSessions() {
+        this(SSLContext::getDefault, (session, resumed) -> { });
+    }
+
+    /**
+     * Ctor, with a new context.
+     * @param size Maximum number of sessions to cache, zero for no limit
+     * @param seconds Lifetime of a session, in seconds, zero for no limit
+     */
+    public TlsSessions(final int size, final int seconds) {
+        this(size, seconds, (session, resumed) -> { });
+    }
+
+    /**
+     * Ctor, with a new context.
+     * @param size Maximum number of sessions to cache, zero for no limit
+     * @param seconds Lifetime of a session, in seconds, zero for no limit
+     * @param listener Listener of handshakes
+     */
+    public TlsSessions(final int size, final int seconds,
+        final BiProc<SSLSession, Boolean> listener) {
+        this(
+            () -> {
+                final SSLContext ctx = SSLContext.getInstance("TLS");
+                ctx.init(null, null, null);
+                final SSLSessionContext cache =
+                    ctx.getClientSessionContext();
+                cache.setSessionCacheSize(size);
+                cache.setSessionTimeout(seconds);
+                return ctx;
+            },
+            listener
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param ctx The context
+     * @param listener Listener of handshakes
+     */
+    public TlsSessions(final Scalar<SSLContext> ctx,
+        final BiProc<SSLSession, Boolean> listener) {
+        this(
+            ctx, listener,
+            TlsSessions.bounded(Runtime.getRuntime().availableProcessors())
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param ctx The context
+     * @param listener Listener of handshakes
+     * @param tasks Executor of delegated handshake tasks
+     */
+    public TlsSessions(final Scalar<SSLContext> ctx,
+        final BiProc<SSLSession, Boolean> listener, final Executor tasks) {
+        this.context = new Sticky<>(ctx);
+        this.listener = listener;
+        this.executor = tasks;
+        this.resumes = new AtomicLong();
+        this.fulls = new AtomicLong();
+    }
+
+    /**
+     * Make the TLS handshake over a connected socket.
+     * @param plain The socket, connected
+     * @param host The host
+     * @param port The port
+     * @param timeout Handshake timeout, in milliseconds, zero for none
+     * @return The socket, after the handshake
+     * @throws Exception If fails
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Socket secured(final Socket plain, final String host,
+        final int port, final long timeout) throws Exception {
+        return this.secured(plain, host, port, timeout, new String[0]);
+    }
+
+    /**
+     * Make the TLS handshake over a connected socket, offering
+     * application protocols by ALPN.
+     * @param plain The socket, connected
+     * @param host The host
+     * @param port The port
+     * @param timeout Handshake timeout, in milliseconds, zero for none
+     * @param protocols Application protocols, in order of preference
+     * @return The socket, after the handshake
+     * @throws Exception If fails
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Socket secured(final Socket plain, final String host,
+        final int port, final long timeout, final String... protocols)
+        throws Exception {
+        final SSLSocket socket = (SSLSocket) this.context.value()
+            .getSocketFactory().createSocket(plain, host, port, true);
+        if (protocols.length > 0) {
+            final SSLParameters params = socket.getSSLParameters();
+            params.setApplicationProtocols(protocols);
+            socket.setSSLParameters(params);
+        }
+        try {
+            final int before = socket.getSoTimeout();
+            socket.setSoTimeout((int) timeout);
+            final Set<ByteBuffer> known = this.known();
+            socket.startHandshake();
+            socket.setSoTimeout(before);
+            this.handshaken(socket.getSession(), known);
+        } catch (final IOException ex) {
+            socket.close();
+            throw ex;
+        }
+        return socket;
+    }
+
+    /**
+     * Make a client engine for the server.
+     * @param host The host
+     * @param port The port
+     * @return The engine
+     * @throws Exception If fails
+     */
+    public SSLEngine engine(final String host, final int port)
+        throws Exception {
+        final SSLEngine engine = this.context.value()
+            .createSSLEngine(host, port);
+        engine.setUseClientMode(true);
+        return engine;
+    }
+
+    /**
+     * Number of handshakes which resumed a session.
+     * @return The number
+     */
+    public long resumed() {
+        return this.resumes.get();
+    }
+
+    /**
+     * Number of full handshakes.
+     * @return The number
+     */
+    public long full() {
+        return this.fulls.get();
+    }
+
+    /**
+     * Executor of delegated handshake tasks.
+     * @return The executor
+     */
+    Executor tasks() {
+        return this.executor;
+    }
+
+    /**
+     * IDs of sessions in the cache, before a handshake.
+     * @return The IDs
+     * @throws IOException If fails to make the context
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    Set<ByteBuffer> known() throws IOException {
+        final Enumeration<byte[]> all;
+        try {
+            all = this.context.value().getClientSessionContext().getIds();
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+        final Set<ByteBuffer> ids = new HashSet<>(0);
+        while (all.hasMoreElements()) {
+            ids.add(ByteBuffer.wrap(all.nextElement()));
+        }
+        return ids;
+    }
+
+    /**
+     * Count the finished handshake and report it.
+     * @param session The session
+     * @param known IDs of sessions in the cache, before the handshake
+     * @throws IOException If the listener fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    void handshaken(final SSLSession session, final Set<ByteBuffer> known)
+        throws IOException {
+        final boolean resumed = known.contains(
+            ByteBuffer.wrap(session.getId())
+        );
+        if (resumed) {
+            this.resumes.incrementAndGet();
+        } else {
+            this.fulls.incrementAndGet();
+        }
+        try {
+            this.listener.exec(session, resumed);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Make a bounded executor.
+     * @param threads Maximum number of threads
+     * @return The executor
+     */
+    private static Executor bounded(final int threads) {
+        final ThreadPoolExecutor exec = new ThreadPoolExecutor(
+            threads, threads, 1L, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            task -> {
+                final Thread thread = new Thread(task, "TlsSessions");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        exec.allowCoreThreadTimeOut(true);
+        return exec;
+    }
+}
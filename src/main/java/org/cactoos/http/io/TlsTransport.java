@@ -0,0 +1,415 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Sticky;
+
+/**
+ * Transport of bytes over TLS, with an {@link SSLEngine}.
+ *
+ * <p>The handshake is made without blocking: the transport waits for the
+ * channel to be readable or writable through interest operations of the
+ * key, and runs delegated tasks of the engine in the executor of
+ * {@link TlsSessions}, with the key switched off until they are done.
+ * Tasks of a renegotiation or a key update in the middle of the data
+ * go the same way: reads give nothing until they are done, then the key
+ * is woken up for writing once and put back to reading.
+ * Buffers of network and application data are taken from a
+ * {@link BufferPool} and given back when the transport is closed.</p>
+ *
+ * <p>There is no thread-safety guarantee, only the thread of the loop
+ * may touch it.</p>
+ *
+ * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class TlsTransport implements Transport {
+
+    /**
+     * Nothing to wrap.
+     */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    /**
+     * The channel.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The loop.
+     */
+    private final EventLoop loop;
+
+    /**
+     * The sessions.
+     */
+    private final TlsSessions sessions;
+
+    /**
+     * The engine.
+     */
+    private final Scalar<SSLEngine> engine;
+
+    /**
+     * The pool of buffers.
+     */
+    private final BufferPool pool;
+
+    /**
+     * Network data to send, ready to be read from.
+     */
+    private ByteBuffer outbound;
+
+    /**
+     * Network data received, ready to be written into.
+     */
+    private ByteBuffer inbound;
+
+    /**
+     * Application data received, ready to be written into.
+     */
+    private ByteBuffer plain;
+
+    /**
+     * IDs of sessions in the cache, before the handshake, or NULL if it's
+     * not started.
+     */
+    private Set<ByteBuffer> known;
+
+    /**
+     * The key of the channel, since it's opened.
+     */
+    private SelectionKey key;
+
+    /**
+     * Are delegated tasks running.
+     */
+    private boolean busy;
+
+    /**
+     * Is the key woken up after delegated tasks.
+     */
+    private boolean woken;
+
+    /**
+     * Ctor.
+     * @param channel The channel
+     * @param loop The loop
+     * @param sessions The sessions
+     * @param host The host
+     * @param port The port
+     * @param pool The pool of buffers
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public TlsTransport(final SocketChannel channel, final EventLoop loop,
+        final TlsSessions sessions, final String host, final int port,
+        final BufferPool pool) {
+        this.channel = channel;
+        this.loop = loop;
+        this.sessions = sessions;
+        this.engine = new Sticky<>(() -> sessions.engine(host, port));
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean open(final SelectionKey key) throws IOException {
+        final SSLEngine eng = this.eng();
+        this.key = key;
+        if (this.known == null) {
+            final SSLSession session = eng.getSession();
+            this.outbound = this.pool.acquire(session.getPacketBufferSize());
+            this.outbound.flip();
+            this.inbound = this.pool.acquire(session.getPacketBufferSize());
+            this.plain = this.pool.acquire(
+                session.getApplicationBufferSize()
+            );
+            this.known = this.sessions.known();
+            eng.beginHandshake();
+        }
+        boolean ready = false;
+        boolean waiting = false;
+        while (!ready && !waiting) {
+            final SSLEngineResult.HandshakeStatus status =
+                eng.getHandshakeStatus();
+            if (!this.flush()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                waiting = true;
+            } else if (status == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                this.wrap(TlsTransport.EMPTY);
+            } else if (status == SSLEngineResult.HandshakeStatus.NEED_UNWRAP
+                || "NEED_UNWRAP_AGAIN".equals(status.name())) {
+                if (!this.unwrap()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    waiting = true;
+                }
+            } else if (status == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                this.tasks(key);
+                waiting = true;
+            } else {
+                this.sessions.handshaken(eng.getSession(), this.known);
+                ready = true;
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public boolean write(final ByteBuffer src) throws IOException {
+        while (this.flush() && src.hasRemaining()) {
+            this.wrap(src);
+        }
+        return this.flush() && !src.hasRemaining();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        if (this.woken) {
+            this.woken = false;
+            this.key.interestOps(SelectionKey.OP_READ);
+        }
+        int read = 0;
+        while (read == 0 && !this.busy) {
+            if (this.plain.position() > 0) {
+                this.plain.flip();
+                read = Math.min(dst.remaining(), this.plain.remaining());
+                final ByteBuffer part = this.plain.duplicate();
+                part.limit(part.position() + read);
+                dst.put(part);
+                this.plain.position(this.plain.position() + read);
+                this.plain.compact();
+            } else if (this.eng().isInboundDone()) {
+                read = -1;
+            } else {
+                this.renegotiate();
+                if (!this.busy && !this.unwrap()) {
+                    break;
+                }
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.channel.close();
+        } finally {
+            if (this.known != null) {
+                this.pool.release(this.outbound);
+                this.pool.release(this.inbound);
+                this.pool.release(this.plain);
+                this.known = null;
+            }
+        }
+    }
+
+    /**
+     * Send what the engine has to send in the middle of the data,
+     * like a key update, or start its delegated tasks.
+     * @throws IOException If fails
+     */
+    private void renegotiate() throws IOException {
+        final SSLEngine eng = this.eng();
+        while (true) {
+            final SSLEngineResult.HandshakeStatus status =
+                eng.getHandshakeStatus();
+            if (status == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                this.tasks(this.key);
+                break;
+            } else if (status == SSLEngineResult.HandshakeStatus.NEED_WRAP
+                && this.flush()) {
+                this.wrap(TlsTransport.EMPTY);
+            } else {
+                break;
+            }
+        }
+        this.flush();
+    }
+
+    /**
+     * Write network data to the channel.
+     * @return TRUE if all of it is written
+     * @throws IOException If fails
+     */
+    private boolean flush() throws IOException {
+        if (this.outbound.hasRemaining()) {
+            this.channel.write(this.outbound);
+        }
+        return !this.outbound.hasRemaining();
+    }
+
+    /**
+     * Wrap application data into network data, with nothing left to
+     * flush before.
+     * @param src Application data
+     * @throws IOException If fails
+     */
+    private void wrap(final ByteBuffer src) throws IOException {
+        this.outbound.clear();
+        final SSLEngineResult result;
+        try {
+            result = this.eng().wrap(src, this.outbound);
+        } finally {
+            this.outbound.flip();
+        }
+        if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW
+            || result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW
+            || result.getStatus() == SSLEngineResult.Status.CLOSED
+            && src.hasRemaining()) {
+            throw new SSLException(
+                String.format("Can't wrap: %s", result.getStatus())
+            );
+        }
+    }
+
+    /**
+     * Unwrap network data into application data, reading the channel
+     * if there is not enough of it.
+     * @return TRUE if there is progress, FALSE if the channel has
+     *  nothing to read
+     * @throws IOException If fails
+     */
+    private boolean unwrap() throws IOException {
+        this.inbound.flip();
+        final SSLEngineResult result;
+        try {
+            result = this.eng().unwrap(this.inbound, this.plain);
+        } finally {
+            this.inbound.compact();
+        }
+        final boolean progress;
+        if (result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+            final int len = this.channel.read(this.inbound);
+            if (len < 0) {
+                this.eof();
+            }
+            progress = len > 0;
+        } else if (result.getStatus()
+            == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+            if (this.plain.position() == 0) {
+                throw new SSLException("Application buffer is too small");
+            }
+            progress = true;
+        } else {
+            progress = true;
+        }
+        return progress;
+    }
+
+    /**
+     * The channel is closed by the server.
+     * @throws IOException If the handshake is not finished
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private void eof() throws IOException {
+        final SSLEngine eng = this.eng();
+        if (eng.getHandshakeStatus()
+            != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING) {
+            throw new EOFException("The channel is closed during handshake");
+        }
+        try {
+            eng.closeInbound();
+        } catch (final SSLException ex) {
+            // the server closed without close_notify, which is
+            // common when the response ends with the connection
+        }
+    }
+
+    /**
+     * Run delegated tasks in the executor, with the key switched off,
+     * and wake it up for writing when they are done.
+     * @param key The key
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void tasks(final SelectionKey key) throws IOException {
+        key.interestOps(0);
+        this.busy = true;
+        final SSLEngine eng = this.eng();
+        this.sessions.tasks().execute(
+            () -> {
+                Runnable task = eng.getDelegatedTask();
+                while (task != null) {
+                    task.run();
+                    task = eng.getDelegatedTask();
+                }
+                try {
+                    this.loop.submit(
+                        key,
+                        sel -> {
+                            this.busy = false;
+                            this.woken = true;
+                            sel.interestOps(SelectionKey.OP_WRITE);
+                        }
+                    );
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Exception ex) {
+                    TlsTransport.abandon(key);
+                }
+            }
+        );
+    }
+
+    /**
+     * The engine.
+     * @return The engine
+     * @throws IOException If fails to make it
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private SSLEngine eng() throws IOException {
+        try {
+            return this.engine.value();
+        } catch (final IOException ex) {
+            throw ex;
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Close the channel of the key, since the loop is gone.
+     * @param key The key
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private static void abandon(final SelectionKey key) {
+        try {
+            key.channel().close();
+        } catch (final IOException ex) {
+            // nobody is there to report it to
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Bytes of an exchange over a connected non-blocking channel.
+ *
+ * <p>All methods are called by the thread of the {@link EventLoop}
+ * which owns the channel, they never block.</p>
+ *
+ * @since 0.1
+ */
+public interface Transport extends Closeable {
+
+    /**
+     * Make the transport ready for data, after the channel is connected.
+     *
+     * <p>Until it's ready, the transport sets interest operations
+     * of the key on its own.</p>
+     *
+     * @param key The key of the channel
+     * @return TRUE if ready
+     * @throws IOException If fails
+     */
+    boolean open(SelectionKey key) throws IOException;
+
+    /**
+     * Write as many bytes as the channel accepts.
+     * @param src The bytes to write
+     * @return TRUE if all of them, and everything before, are sent
+     * @throws IOException If fails
+     */
+    boolean write(ByteBuffer src) throws IOException;
+
+    /**
+     * Read as many bytes as there are.
+     * @param dst The buffer to read into
+     * @return Number of bytes read, maybe zero, or -1 at the end
+     * @throws IOException If fails
+     */
+    int read(ByteBuffer dst) throws IOException;
+
+}
@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP/1.1 Upgrade handshake over a socket, RFC 7230, Section 6.7.
+ *
+ * <p>The request goes out with <code>Connection: Upgrade</code>, the
+ * <code>Upgrade</code> header of the protocol and extra headers of the
+ * protocol (they replace the request headers of the same names, including
+ * <code>Connection</code>). Then the head of the response is read. If the
+ * server switched, with <code>101 Switching Protocols</code>, the socket
+ * belongs to the new protocol, which starts with the bytes of
+ * {@link ParsedHead#body()}. Otherwise, the response is a usual HTTP/1.1
+ * one.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ */
+public final class UpgradeHandshake {
+
+    /**
+     * The socket, connected.
+     */
+    private final Socket socket;
+
+    /**
+     * The protocol to upgrade to.
+     */
+    private final String protocol;
+
+    /**
+     * Extra headers of the request, by names.
+     */
+    private final Map<String, String> extra;
+
+    /**
+     * Ctor.
+     * @param socket The socket, connected
+     * @param protocol The protocol to upgrade to, like <code>h2c</code>
+     * @param extra Extra headers of the request, by names
+     */
+    public UpgradeHandshake(final Socket socket, final String protocol,
+        final Map<String, String> extra) {
+        this.socket = socket;
+        this.protocol = protocol;
+        this.extra = extra;
+    }
+
+    /**
+     * Send the request and read the head of the response.
+     * @param request The HTTP/1.1 request, with its body, if any
+     * @return Head of the response
+     * @throws IOException If fails
+     */
+    public ParsedHead exchange(final InputStream request) throws IOException {
+        final ParsedHead head = new ParsedHead(request);
+        final OutputStream out = new BufferedOutputStream(
+            this.socket.getOutputStream()
+        );
+        out.write(this.head(head));
+        final byte[] buf = new byte[4096];
+        final InputStream body = head.body();
+        while (true) {
+            final int len = body.read(buf);
+            if (len < 0) {
+                break;
+            }
+            out.write(buf, 0, len);
+        }
+        out.flush();
+        return new ParsedHead(this.socket.getInputStream());
+    }
+
+    /**
+     * Has the server switched to the protocol?
+     * @param response Head of the response
+     * @return TRUE if the status is 101 and the protocol is the one
+     * @throws IOException If fails
+     */
+    public boolean switched(final ParsedHead response) throws IOException {
+        boolean switched = false;
+        // @checkstyle MagicNumber (1 line)
+        if (response.status() == 101) {
+            for (final String value : response.headers().getOrDefault(
+                "upgrade", Collections.emptyList()
+            )) {
+                switched |= value.trim().equalsIgnoreCase(this.protocol);
+            }
+        }
+        return switched;
+    }
+
+    /**
+     * Head of the request, with the headers of the upgrade.
+     * @param head Head of the original request
+     * @return The head, with the empty line
+     * @throws IOException If fails
+     */
+    private byte[] head(final ParsedHead head) throws IOException {
+        final Set<String> replaced = new HashSet<>(this.extra.size() + 2);
+        replaced.add("connection");
+        replaced.add("upgrade");
+        for (final String name : this.extra.keySet()) {
+            replaced.add(name.toLowerCase(Locale.ENGLISH));
+        }
+        final String[] lines = new String(
+            UpgradeHandshake.bytes(head.head()), StandardCharsets.ISO_8859_1
+        ).split("\r?\n");
+        final StringBuilder text = new StringBuilder(256).append(lines[0])
+            .append("\r\n");
+        boolean skip = false;
+        for (int idx = 1; idx < lines.length; ++idx) {
+            final String line = lines[idx];
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.charAt(0) != ' ' && line.charAt(0) != '\t') {
+                final int colon = line.indexOf(':');
+                skip = colon > 0 && replaced.contains(
+                    line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH)
+                );
+            }
+            if (!skip) {
+                text.append(line).append("\r\n");
+            }
+        }
+        if (!UpgradeHandshake.has(this.extra, "connection")) {
+            text.append("Connection: Upgrade\r\n");
+        }
+        text.append("Upgrade: ").append(this.protocol).append("\r\n");
+        for (final Map.Entry<String, String> header : this.extra.entrySet()) {
+            text.append(header.getKey()).append(": ")
+                .append(header.getValue()).append("\r\n");
+        }
+        return text.append("\r\n").toString()
+            .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Is there a header with the name, in any case?
+     * @param headers Headers, by names
+     * @param name Lowered name
+     * @return TRUE if so
+     */
+    private static boolean has(final Map<String, String> headers,
+        final String name) {
+        boolean has = false;
+        for (final String key : headers.keySet()) {
+            has |= key.equalsIgnoreCase(name);
+        }
+        return has;
+    }
+
+    /**
+     * All bytes of the stream.
+     * @param input The stream
+     * @return The bytes
+     * @throws IOException If fails
+     */
+    private static byte[] bytes(final InputStream input) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[256];
+        while (true) {
+            final int len = input.read(buf);
+            if (len < 0) {
+                break;
+            }
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Executor that runs each task in a new virtual thread, where the JVM
+ * has them.
+ *
+ * <p>Virtual threads are found at runtime, since the library is
+ * compiled for Java 8: on JDK 21 and later every task gets its own
+ * virtual thread, so a blocking exchange holds no platform thread while
+ * it waits for the network. On older JDKs tasks run in a cached pool of
+ * daemon platform threads.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class VirtualExecutor implements Executor {
+
+    /**
+     * The executor found.
+     */
+    private final Scalar<Executor> origin;
+
+    /**
+     * Ctor.
+     */
+    public VirtualExecutor() {
+        this.origin = new Sticky<>(VirtualExecutor::found);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        new Unchecked<>(this.origin).value().execute(task);
+    }
+
+    /**
+     * Find the best executor in this JVM.
+     * @return The executor
+     */
+    private static Executor found() {
+        Executor exec;
+        try {
+            final ThreadFactory factory = (ThreadFactory) Class
+                .forName("java.lang.Thread$Builder")
+                .getMethod("factory")
+                .invoke(Thread.class.getMethod("ofVirtual").invoke(null));
+            exec = task -> factory.newThread(task).start();
+        } catch (final ReflectiveOperationException
+            | UnsupportedOperationException ex) {
+            exec = Executors.newCachedThreadPool(
+                task -> {
+                    final Thread thread = new Thread(task);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        return exec;
+    }
+}
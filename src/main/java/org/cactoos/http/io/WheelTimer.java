@@ -0,0 +1,265 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hashed wheel timer.
+ *
+ * <p>Tasks are put into slots of a wheel by their deadlines, one thread
+ * visits one slot per tick and runs the tasks which are due. Scheduling
+ * and cancelling cost O(1), no matter how many tasks are pending, while
+ * deadlines are met with the precision of one tick. Tasks must be short,
+ * since they all run in the same thread.</p>
+ *
+ * <p>The thread is a daemon, it starts with the first task.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class WheelTimer implements Closeable {
+
+    /**
+     * Tick duration, in nanoseconds.
+     */
+    private final long tick;
+
+    /**
+     * Slots of the wheel, touched only by the timer thread.
+     */
+    private final List<List<WheelTimer.Timeout>> wheel;
+
+    /**
+     * Tasks scheduled, but not put into the wheel yet.
+     */
+    private final Queue<WheelTimer.Timeout> pending;
+
+    /**
+     * The moment the wheel started to turn, in nanoseconds.
+     */
+    private final long start;
+
+    /**
+     * Is the thread started?
+     */
+    private final AtomicBoolean started;
+
+    /**
+     * Is it closed?
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     */
+    public WheelTimer() {
+        // @checkstyle MagicNumber (1 line)
+        this(10L, 512);
+    }
+
+    /**
+     * Ctor.
+     * @param msec Tick duration, in milliseconds
+     * @param slots Number of slots in the wheel
+     */
+    public WheelTimer(final long msec, final int slots) {
+        this.tick = TimeUnit.MILLISECONDS.toNanos(msec);
+        this.wheel = new ArrayList<>(slots);
+        for (int idx = 0; idx < slots; ++idx) {
+            this.wheel.add(new LinkedList<>());
+        }
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.start = System.nanoTime();
+        this.started = new AtomicBoolean();
+        this.closed = new AtomicBoolean();
+    }
+
+    /**
+     * Run the task once the delay has passed.
+     * @param task The task
+     * @param msec The delay, in milliseconds
+     * @return The timeout, to cancel
+     */
+    public WheelTimer.Timeout schedule(final Runnable task, final long msec) {
+        final WheelTimer.Timeout timeout = new WheelTimer.Timeout(
+            task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(msec)
+        );
+        this.pending.add(timeout);
+        if (this.started.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::turn, "WheelTimer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        this.closed.set(true);
+    }
+
+    /**
+     * Turn the wheel until closed.
+     */
+    private void turn() {
+        long ticks = 0L;
+        while (!this.closed.get()) {
+            final long wait = this.start + (ticks + 1L) * this.tick
+                - System.nanoTime();
+            if (wait > 0L) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            this.transfer(ticks);
+            this.expire(this.wheel.get((int) (ticks % this.wheel.size())));
+            ++ticks;
+        }
+    }
+
+    /**
+     * Put pending timeouts into slots of the wheel.
+     * @param ticks The current tick
+     */
+    private void transfer(final long ticks) {
+        while (true) {
+            final WheelTimer.Timeout timeout = this.pending.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.live()) {
+                final long due = Math.max(
+                    ticks,
+                    (timeout.deadline - this.start + this.tick - 1L)
+                        / this.tick - 1L
+                );
+                timeout.rounds = (due - ticks) / this.wheel.size();
+                this.wheel.get((int) (due % this.wheel.size())).add(timeout);
+            }
+        }
+    }
+
+    /**
+     * Run the timeouts of the slot which are due.
+     * @param slot The slot
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void expire(final List<WheelTimer.Timeout> slot) {
+        final Iterator<WheelTimer.Timeout> timeouts = slot.iterator();
+        while (timeouts.hasNext()) {
+            final WheelTimer.Timeout timeout = timeouts.next();
+            if (!timeout.live()) {
+                timeouts.remove();
+            } else if (timeout.rounds > 0L) {
+                --timeout.rounds;
+            } else {
+                timeouts.remove();
+                try {
+                    timeout.expire();
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException ex) {
+                    Thread.currentThread().getUncaughtExceptionHandler()
+                        .uncaughtException(Thread.currentThread(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * A task scheduled in the timer.
+     *
+     * @since 0.1
+     */
+    public static final class Timeout {
+
+        /**
+         * The task.
+         */
+        private final Runnable task;
+
+        /**
+         * The deadline, in nanoseconds.
+         */
+        private final long deadline;
+
+        /**
+         * Is it cancelled or expired?
+         */
+        private final AtomicBoolean done;
+
+        /**
+         * Full turns of the wheel left, touched only by the timer thread.
+         */
+        private long rounds;
+
+        /**
+         * Ctor.
+         * @param task The task
+         * @param deadline The deadline, in nanoseconds
+         */
+        Timeout(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+            this.done = new AtomicBoolean();
+        }
+
+        /**
+         * Cancel it.
+         * @return TRUE if cancelled, FALSE if it has expired already
+         */
+        public boolean cancel() {
+            return this.done.compareAndSet(false, true);
+        }
+
+        /**
+         * Is it still waiting?
+         * @return TRUE if neither cancelled nor expired
+         */
+        boolean live() {
+            return !this.done.get();
+        }
+
+        /**
+         * Run the task, unless cancelled.
+         */
+        void expire() {
+            if (this.done.compareAndSet(false, true)) {
+                this.task.run();
+            }
+        }
+    }
+}
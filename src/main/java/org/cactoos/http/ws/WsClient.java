@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.cactoos.BiFunc;
+import org.cactoos.http.io.Connect;
+import org.cactoos.http.io.ParsedHead;
+import org.cactoos.http.io.TlsSessions;
+import org.cactoos.http.io.UpgradeHandshake;
+
+/**
+ * Client of WebSocket, RFC 6455.
+ *
+ * <p>{@link #connect()} makes the opening handshake, over the HTTP/1.1
+ * upgrade of {@link UpgradeHandshake}, and gives the connection, where
+ * messages go both ways until it's closed. The scheme of the URI is
+ * <code>ws</code> or <code>wss</code>, the latter goes over TLS. The
+ * extension permessage-deflate is offered by default.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.1
+ */
+public final class WsClient {
+
+    /**
+     * GUID of the accept key, RFC 6455, Section 1.3.
+     */
+    private static final String GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    /**
+     * Default keepalive interval, in milliseconds.
+     */
+    private static final long KEEPALIVE = 30_000L;
+
+    /**
+     * Source of handshake keys.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The address.
+     */
+    private final URI uri;
+
+    /**
+     * Supplier of sockets.
+     */
+    private final BiFunc<String, Integer, Socket> sockets;
+
+    /**
+     * Extra headers of the handshake request.
+     */
+    private final Map<String, String> headers;
+
+    /**
+     * Offer permessage-deflate.
+     */
+    private final boolean deflate;
+
+    /**
+     * Keepalive interval, in milliseconds, zero for none.
+     */
+    private final long keepalive;
+
+    /**
+     * Ctor.
+     * @param uri The address, like <code>ws://localhost/chat</code>
+     */
+    public WsClient(final URI uri) {
+        this(uri, Collections.emptyMap());
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address, like <code>ws://localhost/chat</code>
+     * @param headers Extra headers of the handshake request, like Origin
+     */
+    public WsClient(final URI uri, final Map<String, String> headers) {
+        this(uri, headers, true, WsClient.KEEPALIVE);
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address, like <code>ws://localhost/chat</code>
+     * @param headers Extra headers of the handshake request, like Origin
+     * @param deflate Offer permessage-deflate
+     * @param keepalive Keepalive interval, in milliseconds, zero for none
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public WsClient(final URI uri, final Map<String, String> headers,
+        final boolean deflate, final long keepalive) {
+        this(uri, WsClient.sockets(uri), headers, deflate, keepalive);
+    }
+
+    /**
+     * Ctor.
+     * @param uri The address, like <code>ws://localhost/chat</code>
+     * @param sockets Supplier of sockets
+     * @param headers Extra headers of the handshake request, like Origin
+     * @param deflate Offer permessage-deflate
+     * @param keepalive Keepalive interval, in milliseconds, zero for none
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public WsClient(final URI uri,
+        final BiFunc<String, Integer, Socket> sockets,
+        final Map<String, String> headers, final boolean deflate,
+        final long keepalive) {
+        this.uri = uri;
+        this.sockets = sockets;
+        this.headers = headers;
+        this.deflate = deflate;
+        this.keepalive = keepalive;
+    }
+
+    /**
+     * Make the opening handshake.
+     * @return The connection
+     * @throws Exception If fails or the server refuses
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public WsConnection connect() throws Exception {
+        final Socket socket = this.sockets.apply(
+            this.uri.getHost(), WsClient.port(this.uri)
+        );
+        try {
+            final byte[] nonce = new byte[16];
+            WsClient.RANDOM.nextBytes(nonce);
+            final String key = Base64.getEncoder().encodeToString(nonce);
+            final Map<String, String> extra = new LinkedHashMap<>(this.headers);
+            extra.put("Sec-WebSocket-Key", key);
+            extra.put("Sec-WebSocket-Version", "13");
+            if (this.deflate) {
+                extra.put("Sec-WebSocket-Extensions", WsDeflate.NAME);
+            }
+            final UpgradeHandshake handshake = new UpgradeHandshake(
+                socket, "websocket", extra
+            );
+            final ParsedHead head = handshake.exchange(this.request());
+            if (!handshake.switched(head)) {
+                throw new IOException(
+                    String.format(
+                        "%s refused WebSocket: \"%s\"", this.uri, head.line()
+                    )
+                );
+            }
+            final Map<String, List<String>> response = head.headers();
+            if (!WsClient.accept(key).equals(
+                WsClient.header(response, "sec-websocket-accept")
+            )) {
+                throw new IOException(
+                    String.format("%s sent wrong accept key", this.uri)
+                );
+            }
+            WsDeflate compression = null;
+            final String ext = WsClient.header(
+                response, "sec-websocket-extensions"
+            );
+            if (!ext.isEmpty()) {
+                compression = WsDeflate.accepted(ext);
+            }
+            return new WsConnection(
+                socket, head.body(), compression, this.keepalive
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            socket.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * The handshake request, without Upgrade headers.
+     * @return The request
+     */
+    private ByteArrayInputStream request() {
+        String path = this.uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        if (this.uri.getRawQuery() != null) {
+            path = String.format("%s?%s", path, this.uri.getRawQuery());
+        }
+        String host = this.uri.getHost();
+        if (this.uri.getPort() > 0) {
+            host = String.format("%s:%d", host, this.uri.getPort());
+        }
+        return new ByteArrayInputStream(
+            String.format("GET %s HTTP/1.1\r\nHost: %s\r\n\r\n", path, host)
+                .getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    /**
+     * Values of the header, joined.
+     * @param headers Headers
+     * @param name Lowered name
+     * @return The value, empty if there is none
+     */
+    private static String header(final Map<String, List<String>> headers,
+        final String name) {
+        final List<String> values = headers.getOrDefault(
+            name, Collections.emptyList()
+        );
+        return String.join(", ", values);
+    }
+
+    /**
+     * The accept key the server must send.
+     * @param key Our key
+     * @return The accept key
+     * @throws IOException If SHA-1 is not there
+     */
+    private static String accept(final String key) throws IOException {
+        try {
+            return Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-1").digest(
+                    (key + WsClient.GUID).getBytes(StandardCharsets.US_ASCII)
+                )
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Supplier of sockets for the scheme.
+     * @param uri The address
+     * @return The supplier
+     */
+    private static BiFunc<String, Integer, Socket> sockets(final URI uri) {
+        final BiFunc<String, Integer, Socket> sockets;
+        if ("wss".equalsIgnoreCase(uri.getScheme())) {
+            final Connect connect = new Connect();
+            sockets = (host, port) -> TlsSessions.SHARED.secured(
+                connect.apply(host, port), host, port, 0L
+            );
+        } else {
+            sockets = new Connect();
+        }
+        return sockets;
+    }
+
+    /**
+     * TCP port of the URI.
+     * @param uri The address
+     * @return The port
+     */
+    private static int port(final URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            if ("wss".equalsIgnoreCase(uri.getScheme())) {
+                // @checkstyle MagicNumber (1 line)
+                port = 443;
+            } else {
+                // @checkstyle MagicNumber (1 line)
+                port = 80;
+            }
+        }
+        return port;
+    }
+}
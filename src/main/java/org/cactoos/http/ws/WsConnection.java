@@ -0,0 +1,508 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.http.io.VirtualExecutor;
+import org.cactoos.http.io.WheelTimer;
+
+/**
+ * Connection of WebSocket, after the handshake.
+ *
+ * <p>Messages are sent by any thread, one at a time, big ones are split
+ * into fragments. Every frame gets a new masking key. Messages are received
+ * by one thread, with {@link #receive()}, fragments are put together and
+ * control frames between them are handled on the way: a ping gets its
+ * pong, a close gets its close back and the end of the connection.</p>
+ *
+ * <p>If keepalive is set, a ping is sent every time nothing was sent for
+ * that long, which keeps the connection alive in NATs and proxies, and
+ * makes the server send something back. Pings are timed by a timer of
+ * this class and sent in threads of a {@link VirtualExecutor}, so a
+ * connection blocked in writing never holds pings of the others.</p>
+ *
+ * <p>{@link #close()} sends a close frame, if it wasn't sent yet, and
+ * closes the socket right away, without waiting for the close of the
+ * server, which RFC 6455 allows. A thread that waits in
+ * {@link #receive()} gets an {@link IOException}.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.TooManyFields"})
+public final class WsConnection implements Closeable {
+
+    /**
+     * Timer of keepalive pings.
+     */
+    private static final WheelTimer TIMER = new WheelTimer(100L, 512);
+
+    /**
+     * Executor of keepalive pings.
+     */
+    private static final Executor PINGS = new VirtualExecutor();
+
+    /**
+     * Source of masking keys.
+     */
+    private static final Random RANDOM = new SecureRandom();
+
+    /**
+     * Maximum size of a frame we send.
+     */
+    private static final int FRAGMENT = 1 << 16;
+
+    /**
+     * Maximum size of a message we receive.
+     */
+    private static final int MAX = 1 << 26;
+
+    /**
+     * Status of normal closure.
+     */
+    private static final int NORMAL = 1000;
+
+    /**
+     * Status of protocol error.
+     */
+    private static final int ERROR = 1002;
+
+    /**
+     * The socket.
+     */
+    private final Socket socket;
+
+    /**
+     * Frames from the server.
+     */
+    private final WsFrames frames;
+
+    /**
+     * Where frames are written, it is the lock of writing too.
+     */
+    private final OutputStream output;
+
+    /**
+     * Buffer to mask payloads in.
+     */
+    private final byte[] scratch;
+
+    /**
+     * The compression, or NULL if it's not negotiated.
+     */
+    private final WsDeflate deflate;
+
+    /**
+     * Keepalive interval, in milliseconds, zero for none.
+     */
+    private final long keepalive;
+
+    /**
+     * Maximum size of a frame we send.
+     */
+    private final int fragment;
+
+    /**
+     * Maximum size of a message we receive.
+     */
+    private final int max;
+
+    /**
+     * When something was sent last time, in nanoseconds.
+     */
+    private final AtomicLong sent;
+
+    /**
+     * The scheduled ping.
+     */
+    private final AtomicReference<WheelTimer.Timeout> ping;
+
+    /**
+     * Our close frame is sent.
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param socket The socket, after the handshake
+     * @param input Where frames come from, it may hold bytes that were
+     *  read from the socket with the handshake
+     * @param deflate The compression, or NULL
+     * @param keepalive Keepalive interval, in milliseconds, zero for none
+     * @throws IOException If the socket is closed
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    WsConnection(final Socket socket, final InputStream input,
+        final WsDeflate deflate, final long keepalive) throws IOException {
+        this(
+            socket, input, deflate, keepalive,
+            WsConnection.FRAGMENT, WsConnection.MAX
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param socket The socket, after the handshake
+     * @param input Where frames come from, it may hold bytes that were
+     *  read from the socket with the handshake
+     * @param deflate The compression, or NULL
+     * @param keepalive Keepalive interval, in milliseconds, zero for none
+     * @param fragment Maximum size of a frame we send
+     * @param max Maximum size of a message we receive
+     * @throws IOException If the socket is closed
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    WsConnection(final Socket socket, final InputStream input,
+        final WsDeflate deflate, final long keepalive, final int fragment,
+        final int max) throws IOException {
+        this.socket = socket;
+        this.frames = new WsFrames(input, max, false);
+        this.output = new BufferedOutputStream(
+            socket.getOutputStream(), 8192 + 14
+        );
+        this.scratch = new byte[8192];
+        this.deflate = deflate;
+        this.keepalive = keepalive;
+        this.fragment = fragment;
+        this.max = max;
+        this.sent = new AtomicLong(System.nanoTime());
+        this.ping = new AtomicReference<>();
+        if (keepalive > 0L) {
+            this.schedule(keepalive);
+        }
+    }
+
+    /**
+     * Send a text message.
+     * @param text The text
+     * @throws IOException If fails
+     */
+    public void send(final String text) throws IOException {
+        this.send(WsFrame.TEXT, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Send a binary message.
+     * @param data The bytes
+     * @throws IOException If fails
+     */
+    public void send(final byte[] data) throws IOException {
+        this.send(WsFrame.BINARY, data);
+    }
+
+    /**
+     * Send a ping.
+     * @param data Application data, up to 125 bytes
+     * @throws IOException If fails
+     */
+    public void ping(final byte[] data) throws IOException {
+        this.control(WsFrame.PING, data);
+    }
+
+    /**
+     * Receive the next message, answering control frames on the way.
+     * @return The message
+     * @throws IOException If fails, {@link EOFException} if the server
+     *  closed the connection
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    public WsMessage receive() throws IOException {
+        int type = -1;
+        boolean compressed = false;
+        byte[] data = new byte[0];
+        int len = 0;
+        while (true) {
+            final WsFrame frame = this.frames.next();
+            if (frame.control()) {
+                this.answer(frame);
+                continue;
+            }
+            if (frame.opcode() == WsFrame.CONTINUATION) {
+                if (type < 0 || frame.compressed()) {
+                    this.fail("Unexpected continuation frame");
+                }
+            } else {
+                if (type >= 0) {
+                    this.fail("Fragments of another message are expected");
+                }
+                if (frame.opcode() != WsFrame.TEXT
+                    && frame.opcode() != WsFrame.BINARY) {
+                    this.fail(
+                        String.format("Unknown opcode %d", frame.opcode())
+                    );
+                }
+                if (frame.compressed() && this.deflate == null) {
+                    this.fail("Compression wasn't negotiated");
+                }
+                type = frame.opcode();
+                compressed = frame.compressed();
+            }
+            final byte[] payload = frame.payload();
+            if (len == 0 && frame.fin()) {
+                data = payload;
+            } else {
+                if ((long) len + payload.length > this.max) {
+                    this.fail(
+                        String.format(
+                            "Message is bigger than %d bytes", this.max
+                        )
+                    );
+                }
+                if (len + payload.length > data.length) {
+                    data = Arrays.copyOf(
+                        data, Math.max(data.length << 1, len + payload.length)
+                    );
+                }
+                System.arraycopy(payload, 0, data, len, payload.length);
+            }
+            len += payload.length;
+            if (frame.fin()) {
+                break;
+            }
+        }
+        if (compressed) {
+            data = this.deflate.decompress(data, len, this.max);
+        } else if (data.length != len) {
+            data = Arrays.copyOf(data, len);
+        }
+        return new WsMessage(type == WsFrame.TEXT, data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.close(WsConnection.NORMAL, "");
+    }
+
+    /**
+     * Close the connection with the status.
+     * @param code Status code
+     * @param reason The reason, short text
+     * @throws IOException If fails
+     */
+    public void close(final int code, final String reason)
+        throws IOException {
+        final WheelTimer.Timeout timeout = this.ping.getAndSet(null);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        try {
+            synchronized (this.output) {
+                if (!this.closed && !this.socket.isClosed()) {
+                    this.closed = true;
+                    this.write(
+                        WsFrame.CLOSE, WsConnection.status(code, reason)
+                    );
+                }
+            }
+        } finally {
+            this.socket.close();
+        }
+    }
+
+    /**
+     * Send a data message, in fragments, if it's big.
+     * @param opcode The opcode
+     * @param data The payload
+     * @throws IOException If fails
+     */
+    private void send(final int opcode, final byte[] data)
+        throws IOException {
+        synchronized (this.output) {
+            this.check();
+            byte[] payload = data;
+            final boolean compressed = this.deflate != null;
+            if (compressed) {
+                payload = this.deflate.compress(data);
+            }
+            int pos = 0;
+            int type = opcode;
+            do {
+                final int len = Math.min(this.fragment, payload.length - pos);
+                new WsFrame(
+                    type, pos + len == payload.length,
+                    compressed && pos == 0, payload, pos, len
+                ).write(
+                    this.output, WsConnection.RANDOM.nextInt(), this.scratch
+                );
+                pos += len;
+                type = WsFrame.CONTINUATION;
+            } while (pos < payload.length);
+            this.output.flush();
+            this.sent.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * Send a control frame.
+     * @param opcode The opcode
+     * @param data The payload
+     * @throws IOException If fails
+     */
+    private void control(final int opcode, final byte[] data)
+        throws IOException {
+        if (data.length > 125) {
+            throw new IllegalArgumentException(
+                "Control frame can't be longer than 125 bytes"
+            );
+        }
+        synchronized (this.output) {
+            this.check();
+            this.write(opcode, data);
+        }
+    }
+
+    /**
+     * Answer the control frame of the server.
+     * @param frame The frame
+     * @throws IOException If fails, {@link EOFException} on close
+     */
+    private void answer(final WsFrame frame) throws IOException {
+        final byte[] payload = frame.payload();
+        if (frame.opcode() == WsFrame.PING) {
+            synchronized (this.output) {
+                if (!this.closed) {
+                    this.write(WsFrame.PONG, payload);
+                }
+            }
+        } else if (frame.opcode() == WsFrame.CLOSE) {
+            int code = 1005;
+            String reason = "";
+            if (payload.length >= 2) {
+                code = (payload[0] & 0xff) << 8 | payload[1] & 0xff;
+                reason = new String(
+                    payload, 2, payload.length - 2, StandardCharsets.UTF_8
+                );
+                this.close(code, "");
+            } else {
+                this.close();
+            }
+            throw new EOFException(
+                String.format(
+                    "The server closed the connection, %d \"%s\"",
+                    code, reason
+                )
+            );
+        } else if (frame.opcode() != WsFrame.PONG) {
+            this.fail(
+                String.format("Unknown opcode %d", frame.opcode())
+            );
+        }
+    }
+
+    /**
+     * Close the connection because the server broke the protocol.
+     * @param message What's wrong
+     * @throws IOException Always
+     */
+    private void fail(final String message) throws IOException {
+        this.close(WsConnection.ERROR, "");
+        throw new IOException(message);
+    }
+
+    /**
+     * Write a frame and flush, under the lock of writing.
+     * @param opcode The opcode
+     * @param data The payload
+     * @throws IOException If fails
+     */
+    private void write(final int opcode, final byte[] data)
+        throws IOException {
+        new WsFrame(opcode, data).write(
+            this.output, WsConnection.RANDOM.nextInt(), this.scratch
+        );
+        this.output.flush();
+        this.sent.set(System.nanoTime());
+    }
+
+    /**
+     * Check that messages may be sent, under the lock of writing.
+     * @throws IOException If not
+     */
+    private void check() throws IOException {
+        if (this.closed) {
+            throw new IOException("The connection is closed");
+        }
+    }
+
+    /**
+     * Send a ping if nothing was sent for the keepalive interval.
+     */
+    private void keep() {
+        final long idle = TimeUnit.NANOSECONDS.toMillis(
+            System.nanoTime() - this.sent.get()
+        );
+        try {
+            if (idle >= this.keepalive) {
+                this.ping(new byte[0]);
+                this.schedule(this.keepalive);
+            } else {
+                this.schedule(this.keepalive - idle);
+            }
+        } catch (final IOException ex) {
+            this.ping.set(null);
+        }
+    }
+
+    /**
+     * Schedule the next keepalive check.
+     * @param msec Delay, in milliseconds
+     */
+    private void schedule(final long msec) {
+        final WheelTimer.Timeout next = WsConnection.TIMER.schedule(
+            () -> WsConnection.PINGS.execute(this::keep), msec
+        );
+        if (this.ping.getAndSet(next) == null && this.socket.isClosed()) {
+            next.cancel();
+        }
+    }
+
+    /**
+     * Payload of a close frame.
+     * @param code Status code
+     * @param reason The reason
+     * @return The payload
+     */
+    private static byte[] status(final int code, final String reason) {
+        final byte[] text = reason.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(2 + text.length)
+            .putShort((short) code).put(text).array();
+    }
+}
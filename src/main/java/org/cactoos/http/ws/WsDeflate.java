@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of messages, permessage-deflate, RFC 7692.
+ *
+ * <p>Each message is deflated with SYNC_FLUSH and the tail of the flush,
+ * <code>00 00 FF FF</code>, is removed; on the way back it's fed to
+ * the inflater after the message. Both sides keep their sliding windows
+ * between messages, unless the server asked us for
+ * <code>client_no_context_takeover</code>. The window of our deflater
+ * is always 15 bits, that's why we never offer
+ * <code>client_max_window_bits</code>.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class WsDeflate {
+
+    /**
+     * Name of the extension.
+     */
+    static final String NAME = "permessage-deflate";
+
+    /**
+     * Tail of SYNC_FLUSH.
+     */
+    private static final byte[] TAIL = {0, 0, (byte) 0xff, (byte) 0xff};
+
+    /**
+     * The deflater.
+     */
+    private final Deflater deflater;
+
+    /**
+     * The inflater.
+     */
+    private final Inflater inflater;
+
+    /**
+     * Reset the deflater after each message.
+     */
+    private final boolean reset;
+
+    /**
+     * Buffer of compressed bytes, it grows.
+     */
+    private byte[] buffer;
+
+    /**
+     * Ctor.
+     * @param reset Reset the deflater after each message
+     */
+    WsDeflate(final boolean reset) {
+        this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        this.inflater = new Inflater(true);
+        this.reset = reset;
+        this.buffer = new byte[1024];
+    }
+
+    /**
+     * The extension, as the server accepted it.
+     * @param header Value of Sec-WebSocket-Extensions of the response
+     * @return The extension
+     * @throws IOException If the parameters can't be used
+     */
+    static WsDeflate accepted(final String header) throws IOException {
+        final String[] params = header.split(";");
+        if (!WsDeflate.NAME.equals(params[0].trim())) {
+            throw new IOException(
+                String.format("Extension \"%s\" wasn't offered", header)
+            );
+        }
+        boolean reset = false;
+        for (int idx = 1; idx < params.length; ++idx) {
+            final String param = params[idx].trim()
+                .toLowerCase(Locale.ENGLISH);
+            if ("client_no_context_takeover".equals(param)) {
+                reset = true;
+            } else if (!"server_no_context_takeover".equals(param)
+                && !param.startsWith("server_max_window_bits")) {
+                throw new IOException(
+                    String.format("Parameter \"%s\" can't be used", param)
+                );
+            }
+        }
+        return new WsDeflate(reset);
+    }
+
+    /**
+     * Compress the message.
+     *
+     * <p>An empty message is one zero byte, RFC 7692, Section 7.2.3.6,
+     * the deflater doesn't flush twice without input.</p>
+     *
+     * @param data The message
+     * @return Compressed bytes, without the tail
+     */
+    byte[] compress(final byte[] data) {
+        final byte[] compressed;
+        if (data.length == 0) {
+            compressed = new byte[1];
+        } else {
+            this.deflater.setInput(data);
+            int pos = 0;
+            while (true) {
+                pos += this.deflater.deflate(
+                    this.buffer, pos, this.buffer.length - pos,
+                    Deflater.SYNC_FLUSH
+                );
+                if (pos < this.buffer.length) {
+                    break;
+                }
+                this.buffer = Arrays.copyOf(
+                    this.buffer, this.buffer.length << 1
+                );
+            }
+            if (this.reset) {
+                this.deflater.reset();
+            }
+            compressed = Arrays.copyOf(
+                this.buffer, pos - WsDeflate.TAIL.length
+            );
+        }
+        return compressed;
+    }
+
+    /**
+     * Decompress the message.
+     * @param data The array with compressed bytes
+     * @param len How many bytes are there
+     * @param max Maximum size of the message
+     * @return The message
+     * @throws IOException If fails or the message is bigger than allowed
+     */
+    byte[] decompress(final byte[] data, final int len, final int max)
+        throws IOException {
+        this.inflater.setInput(data, 0, len);
+        byte[] out = new byte[Math.max(len << 2, 64)];
+        int pos = 0;
+        boolean tail = false;
+        try {
+            while (true) {
+                if (pos == out.length) {
+                    if (out.length >= max) {
+                        throw new IOException(
+                            String.format(
+                                "Message is bigger than %d bytes", max
+                            )
+                        );
+                    }
+                    out = Arrays.copyOf(
+                        out, (int) Math.min((long) out.length << 1, max)
+                    );
+                }
+                final int done = this.inflater.inflate(
+                    out, pos, out.length - pos
+                );
+                pos += done;
+                if (done == 0 && this.inflater.needsInput()) {
+                    if (tail) {
+                        break;
+                    }
+                    this.inflater.setInput(WsDeflate.TAIL);
+                    tail = true;
+                }
+                if (this.inflater.finished()) {
+                    this.inflater.reset();
+                    break;
+                }
+            }
+        } catch (final DataFormatException ex) {
+            throw new IOException("Broken compressed message", ex);
+        }
+        return Arrays.copyOf(out, pos);
+    }
+}
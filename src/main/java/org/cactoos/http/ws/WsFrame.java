@@ -0,0 +1,283 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Frame of WebSocket, RFC 6455, Section 5.2.
+ *
+ * <p>The payload is a part of an array, which is not copied. A masked
+ * frame is written through a scratch buffer, chunk by chunk, so the
+ * payload stays as it is and there is no new array for every frame.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsFrame {
+
+    /**
+     * Continuation frame opcode.
+     */
+    public static final int CONTINUATION = 0x0;
+
+    /**
+     * Text frame opcode.
+     */
+    public static final int TEXT = 0x1;
+
+    /**
+     * Binary frame opcode.
+     */
+    public static final int BINARY = 0x2;
+
+    /**
+     * Close frame opcode.
+     */
+    public static final int CLOSE = 0x8;
+
+    /**
+     * Ping frame opcode.
+     */
+    public static final int PING = 0x9;
+
+    /**
+     * Pong frame opcode.
+     */
+    public static final int PONG = 0xA;
+
+    /**
+     * FIN bit.
+     */
+    private static final int FIN = 0x80;
+
+    /**
+     * RSV1 bit, the message is compressed.
+     */
+    private static final int RSV1 = 0x40;
+
+    /**
+     * The first byte, with FIN, RSV and the opcode.
+     */
+    private final int first;
+
+    /**
+     * The array with the payload.
+     */
+    private final byte[] data;
+
+    /**
+     * Start of the payload in the array.
+     */
+    private final int off;
+
+    /**
+     * Length of the payload.
+     */
+    private final int len;
+
+    /**
+     * Ctor.
+     * @param opcode The opcode
+     * @param data The payload
+     */
+    public WsFrame(final int opcode, final byte[] data) {
+        this(opcode, true, false, data, 0, data.length);
+    }
+
+    /**
+     * Ctor.
+     * @param opcode The opcode
+     * @param fin It's the last frame of the message
+     * @param compressed The message is compressed, RSV1
+     * @param data The array with the payload
+     * @param off Start of the payload in the array
+     * @param len Length of the payload
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public WsFrame(final int opcode, final boolean fin,
+        final boolean compressed, final byte[] data, final int off,
+        final int len) {
+        this(WsFrame.first(opcode, fin, compressed), data, off, len);
+    }
+
+    /**
+     * Ctor.
+     * @param first The first byte, with FIN, RSV and the opcode
+     * @param data The array with the payload
+     * @param off Start of the payload in the array
+     * @param len Length of the payload
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    WsFrame(final int first, final byte[] data, final int off,
+        final int len) {
+        this.first = first;
+        this.data = data;
+        this.off = off;
+        this.len = len;
+    }
+
+    /**
+     * The opcode.
+     * @return The opcode
+     */
+    public int opcode() {
+        return this.first & 0x0f;
+    }
+
+    /**
+     * Is it the last frame of the message?
+     * @return TRUE if FIN is set
+     */
+    public boolean fin() {
+        return (this.first & WsFrame.FIN) != 0;
+    }
+
+    /**
+     * Is the message compressed?
+     * @return TRUE if RSV1 is set
+     */
+    public boolean compressed() {
+        return (this.first & WsFrame.RSV1) != 0;
+    }
+
+    /**
+     * Is it a control frame?
+     * @return TRUE if so
+     */
+    public boolean control() {
+        return (this.first & 0x08) != 0;
+    }
+
+    /**
+     * The payload, the array itself, if the frame has all of it.
+     * @return The payload
+     */
+    public byte[] payload() {
+        final byte[] payload;
+        if (this.off == 0 && this.len == this.data.length) {
+            payload = this.data;
+        } else {
+            payload = new byte[this.len];
+            System.arraycopy(this.data, this.off, payload, 0, this.len);
+        }
+        return payload;
+    }
+
+    /**
+     * Write the frame without a mask, as a server does.
+     * @param out Where to write
+     * @throws IOException If fails
+     */
+    public void write(final OutputStream out) throws IOException {
+        out.write(this.head(false));
+        out.write(this.data, this.off, this.len);
+    }
+
+    /**
+     * Write the frame with a mask, as a client does.
+     * @param out Where to write
+     * @param key The masking key
+     * @param scratch Buffer to mask the payload in, any size
+     * @throws IOException If fails
+     */
+    public void write(final OutputStream out, final int key,
+        final byte[] scratch) throws IOException {
+        final byte[] head = this.head(true);
+        final int start = head.length - 4;
+        head[start] = (byte) (key >>> 24);
+        head[start + 1] = (byte) (key >>> 16);
+        head[start + 2] = (byte) (key >>> 8);
+        head[start + 3] = (byte) key;
+        out.write(head);
+        int pos = 0;
+        while (pos < this.len) {
+            final int chunk = Math.min(scratch.length, this.len - pos);
+            for (int idx = 0; idx < chunk; ++idx) {
+                scratch[idx] = (byte) (
+                    this.data[this.off + pos + idx]
+                        ^ head[start + (pos + idx & 3)]
+                );
+            }
+            out.write(scratch, 0, chunk);
+            pos += chunk;
+        }
+    }
+
+    /**
+     * The head of the frame, with a place for the masking key.
+     * @param masked The frame is masked
+     * @return The head
+     */
+    private byte[] head(final boolean masked) {
+        int size = 2;
+        if (this.len > 0xffff) {
+            size += 8;
+        } else if (this.len > 125) {
+            size += 2;
+        }
+        int mask = 0;
+        if (masked) {
+            size += 4;
+            mask = 0x80;
+        }
+        final byte[] head = new byte[size];
+        head[0] = (byte) this.first;
+        if (this.len > 0xffff) {
+            head[1] = (byte) (mask | 127);
+            for (int idx = 0; idx < 8; ++idx) {
+                head[2 + idx] = (byte) ((long) this.len >>> (56 - 8 * idx));
+            }
+        } else if (this.len > 125) {
+            head[1] = (byte) (mask | 126);
+            head[2] = (byte) (this.len >>> 8);
+            head[3] = (byte) this.len;
+        } else {
+            head[1] = (byte) (mask | this.len);
+        }
+        return head;
+    }
+
+    /**
+     * The first byte.
+     * @param opcode The opcode
+     * @param fin It's the last frame of the message
+     * @param compressed The message is compressed
+     * @return The byte
+     */
+    private static int first(final int opcode, final boolean fin,
+        final boolean compressed) {
+        int first = opcode;
+        if (fin) {
+            first |= WsFrame.FIN;
+        }
+        if (compressed) {
+            first |= WsFrame.RSV1;
+        }
+        return first;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Frames of WebSocket, read from a stream.
+ *
+ * <p>Frames of a server are not masked, frames of a client are, the
+ * payload is unmasked in place. A frame that breaks the rules of
+ * RFC 6455, Section 5, is an {@link IOException}.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsFrames {
+
+    /**
+     * The stream.
+     */
+    private final DataInputStream input;
+
+    /**
+     * Maximum payload size.
+     */
+    private final int max;
+
+    /**
+     * Frames are masked, they come from a client.
+     */
+    private final boolean masked;
+
+    /**
+     * Ctor.
+     * @param input The stream
+     * @param max Maximum payload size
+     * @param masked Frames are masked, they come from a client
+     */
+    public WsFrames(final InputStream input, final int max,
+        final boolean masked) {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        this.max = max;
+        this.masked = masked;
+    }
+
+    /**
+     * Read the next frame.
+     * @return The frame
+     * @throws IOException If fails, {@link java.io.EOFException} at the end
+     */
+    public WsFrame next() throws IOException {
+        final int first = this.input.readUnsignedByte();
+        final int second = this.input.readUnsignedByte();
+        if ((first & 0x30) != 0) {
+            throw new IOException("RSV2 and RSV3 bits must be zero");
+        }
+        if ((second & 0x80) == 0 == this.masked) {
+            throw new IOException(
+                String.format("Frames must be masked: %b", this.masked)
+            );
+        }
+        long len = second & 0x7f;
+        if (len == 126) {
+            len = this.input.readUnsignedShort();
+        } else if (len == 127) {
+            len = this.input.readLong();
+        }
+        if ((first & 0x08) != 0 && (len > 125 || (first & 0x80) == 0)) {
+            throw new IOException(
+                "Control frame must not be fragmented or longer than 125"
+            );
+        }
+        if (len < 0 || len > this.max) {
+            throw new IOException(
+                String.format(
+                    "Frame of %d bytes is bigger than %d", len, this.max
+                )
+            );
+        }
+        final byte[] key = new byte[4];
+        if (this.masked) {
+            this.input.readFully(key);
+        }
+        final byte[] payload = new byte[(int) len];
+        this.input.readFully(payload);
+        if (this.masked) {
+            for (int idx = 0; idx < payload.length; ++idx) {
+                payload[idx] ^= key[idx & 3];
+            }
+        }
+        return new WsFrame(first, payload, 0, payload.length);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message of WebSocket, text or binary, with all its fragments.
+ *
+ * <p>The class is immutable and thread-safe, as long as nobody
+ * changes the array of {@link #bytes()}.</p>
+ *
+ * @since 0.1
+ */
+public final class WsMessage {
+
+    /**
+     * It's a text message.
+     */
+    private final boolean txt;
+
+    /**
+     * The payload.
+     */
+    private final byte[] data;
+
+    /**
+     * Ctor.
+     * @param text It's a text message
+     * @param data The payload
+     */
+    public WsMessage(final boolean text, final byte[] data) {
+        this.txt = text;
+        this.data = data;
+    }
+
+    /**
+     * Is it a text message?
+     * @return TRUE if so
+     */
+    public boolean text() {
+        return this.txt;
+    }
+
+    /**
+     * The payload, the array itself, it's not copied.
+     * @return The bytes
+     */
+    public byte[] bytes() {
+        return this.data;
+    }
+
+    /**
+     * The payload, as UTF-8 text.
+     * @return The text
+     */
+    public String asString() {
+        return new String(this.data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.cactoos.Input;
+import org.cactoos.http.io.EventLoop;
+import org.cactoos.text.TextOf;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+import org.takes.http.FtRemote;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link HtAsyncNioWire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class HtAsyncNioWireTest {
+
+    @Test
+    public void worksFine() throws IOException {
+        new FtRemote(new TkText("Hello, channel!")).exec(
+            home -> {
+                try (EventLoop loop = new EventLoop(1)) {
+                    new Assertion<>(
+                        "must return a response in the future",
+                        new TextOf(
+                            new HtAsyncNioWire(loop, home)
+                                .send(new Get(home))
+                                .get()
+                        ),
+                        new TextHasString("Hello, channel!")
+                    ).affirm();
+                }
+            }
+        );
+    }
+
+    @Test
+    public void gathersManyResponses() throws IOException {
+        new FtRemote(new TkText("Hello, all!")).exec(
+            home -> {
+                try (EventLoop loop = new EventLoop(1)) {
+                    final AsyncWire wire = new HtAsyncNioWire(loop, home);
+                    final CompletableFuture<Input> first =
+                        wire.send(new Get(home));
+                    final CompletableFuture<Input> second =
+                        wire.send(new Get(home));
+                    CompletableFuture.allOf(first, second).get();
+                    new Assertion<>(
+                        "must return both responses",
+                        new TextOf(second.get()),
+                        new TextHasString("Hello, all!")
+                    ).affirm();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.Input;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.InputHasContent;
+
+/**
+ * Test case for {@link HtAsyncRetryWire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class HtAsyncRetryWireTest {
+
+    @Test
+    public void eventuallySucceeds() throws Exception {
+        final int max = 3;
+        final AtomicInteger tries = new AtomicInteger(0);
+        new Assertion<>(
+            "must return the response of the last attempt",
+            new HtAsyncRetryWire(
+                input -> {
+                    final CompletableFuture<Input> future =
+                        new CompletableFuture<>();
+                    if (tries.incrementAndGet() < max) {
+                        future.completeExceptionally(
+                            new IOException("retry")
+                        );
+                    } else {
+                        future.complete(new InputOf("out"));
+                    }
+                    return future;
+                },
+                max
+            ).send(new InputOf("ignored")).get(),
+            new InputHasContent("out")
+        ).affirm();
+    }
+
+    @Test
+    public void failsAfterMaxRetries() throws Exception {
+        final int max = 3;
+        final AtomicInteger tries = new AtomicInteger(0);
+        try {
+            new HtAsyncRetryWire(
+                input -> {
+                    tries.incrementAndGet();
+                    final CompletableFuture<Input> future =
+                        new CompletableFuture<>();
+                    future.completeExceptionally(new IOException("retry"));
+                    return future;
+                },
+                max
+            ).send(new InputOf("ignored")).get();
+        } catch (final ExecutionException ex) {
+            new Assertion<>(
+                "must report the last failure",
+                ex.getCause().getMessage(),
+                new IsEqual<>("retry")
+            ).affirm();
+        }
+        new Assertion<>(
+            "must try the maximum number of times",
+            tries.get(),
+            new IsEqual<>(max)
+        ).affirm();
+    }
+
+    @Test
+    public void cancelsRunningAttempt() throws Exception {
+        final AtomicInteger tries = new AtomicInteger(0);
+        final CompletableFuture<Input> running = new CompletableFuture<>();
+        new HtAsyncRetryWire(
+            input -> {
+                tries.incrementAndGet();
+                return running;
+            },
+            3
+        ).send(new InputOf("ignored")).cancel(true);
+        new Assertion<>(
+            "must cancel the running attempt",
+            running.isCancelled(),
+            new IsEqual<>(true)
+        ).affirm();
+        new Assertion<>(
+            "must not try again after the cancel",
+            tries.get(),
+            new IsEqual<>(1)
+        ).affirm();
+    }
+}
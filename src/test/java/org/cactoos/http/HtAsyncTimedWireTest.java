@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.cactoos.Input;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.InputHasContent;
+
+/**
+ * Test case for {@link HtAsyncTimedWire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class HtAsyncTimedWireTest {
+
+    @Test
+    public void returnsResponseInTime() throws Exception {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long timeout = 1000;
+        new Assertion<>(
+            "must return the response",
+            new HtAsyncTimedWire(
+                input -> CompletableFuture.completedFuture(
+                    new InputOf("fast")
+                ),
+                timeout
+            ).send(new InputOf("ignored")).get(),
+            new InputHasContent("fast")
+        ).affirm();
+    }
+
+    @Test(expected = TimeoutException.class, timeout = 1000)
+    public void failsAfterTimeout() throws Throwable {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long timeout = 100;
+        try {
+            new HtAsyncTimedWire(
+                input -> new CompletableFuture<>(),
+                timeout
+            ).send(new InputOf("ignored")).get();
+        } catch (final ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void cancelsExchangeAfterTimeout() throws Exception {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long timeout = 100;
+        final CompletableFuture<Input> exchange = new CompletableFuture<>();
+        new HtAsyncTimedWire(input -> exchange, timeout)
+            .send(new InputOf("ignored"))
+            .handle((rsp, error) -> rsp)
+            .get();
+        new Assertion<>(
+            "must cancel the exchange",
+            exchange.isCancelled(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+
+    @Test(timeout = 1000)
+    public void cancelsRetriedExchangeAfterTimeout() throws Exception {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long timeout = 100;
+        final CompletableFuture<Input> exchange = new CompletableFuture<>();
+        new HtAsyncTimedWire(
+            new HtAsyncRetryWire(input -> exchange, 3),
+            timeout
+        ).send(new InputOf("ignored")).handle((rsp, error) -> rsp).get();
+        new Assertion<>(
+            "must cancel the exchange under the retries",
+            exchange.isCancelled(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+
+    @Test
+    public void cancelsExchangeWithResponse() throws Exception {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long timeout = 10_000;
+        final CompletableFuture<Input> exchange = new CompletableFuture<>();
+        new HtAsyncTimedWire(input -> exchange, timeout)
+            .send(new InputOf("ignored"))
+            .cancel(true);
+        new Assertion<>(
+            "must cancel the exchange with the response",
+            exchange.isCancelled(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.takes.http.FtRemote;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link HtDownload}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class HtDownloadTest {
+
+    @Test
+    public void savesBodyOfKnownLength() throws Exception {
+        final Path file = Files.createTempFile("download", ".txt");
+        try {
+            new Assertion<>(
+                "must return the length of the body",
+                new HtDownload(
+                    new InputOf(
+                        "HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello"
+                    ),
+                    file
+                ).value(),
+                new IsEqual<>(5L)
+            ).affirm();
+            new Assertion<>(
+                "must save the body to the file",
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                new IsEqual<>("hello")
+            ).affirm();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void savesChunkedBody() throws Exception {
+        final Path file = Files.createTempFile("download", ".txt");
+        try {
+            new HtDownload(
+                new InputOf(
+                    String.join(
+                        "\r\n",
+                        "HTTP/1.1 200 OK",
+                        "Transfer-Encoding: chunked",
+                        "",
+                        "3",
+                        "abc",
+                        "2",
+                        "de",
+                        "0",
+                        "",
+                        ""
+                    )
+                ),
+                file
+            ).value();
+            new Assertion<>(
+                "must save the decoded body",
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                new IsEqual<>("abcde")
+            ).affirm();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void failsOnShortBody() throws Exception {
+        final Path file = Files.createTempFile("download", ".txt");
+        try {
+            new HtDownload(
+                new InputOf(
+                    "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nhello"
+                ),
+                file
+            ).value();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void savesBodyFromServer() throws Exception {
+        final Path file = Files.createTempFile("download", ".txt");
+        try {
+            new FtRemote(new TkText("Hello, file!")).exec(
+                home -> {
+                    try {
+                        new HtDownload(
+                            new HtWire(home).send(new Get(home)), file
+                        ).value();
+                        new Assertion<>(
+                            "must save the body of the response",
+                            new String(
+                                Files.readAllBytes(file),
+                                StandardCharsets.UTF_8
+                            ),
+                            new IsEqual<>("Hello, file!")
+                        ).affirm();
+                    // @checkstyle IllegalCatchCheck (1 line)
+                    } catch (final Exception ex) {
+                        throw new IOException(ex);
+                    }
+                }
+            );
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
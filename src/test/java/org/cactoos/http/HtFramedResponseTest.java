@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import org.cactoos.io.InputOf;
+import org.cactoos.text.Joined;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link HtFramedResponse}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class HtFramedResponseTest {
+
+    @Test
+    public void endsBodyByContentLength() throws Exception {
+        new Assertion<>(
+            "must read exactly Content-Length bytes of body",
+            new TextOf(
+                new HtBody(
+                    new HtFramedResponse(
+                        new InputOf(
+                            new Joined(
+                                "\r\n",
+                                "HTTP/1.1 200 OK",
+                                "Content-Length: 5",
+                                "",
+                                "Hello, next response"
+                            )
+                        )
+                    )
+                )
+            ),
+            new TextIs("Hello")
+        ).affirm();
+    }
+
+    @Test
+    public void decodesChunkedBody() throws Exception {
+        new Assertion<>(
+            "must decode chunked body",
+            new TextOf(
+                new HtBody(
+                    new HtFramedResponse(
+                        new InputOf(
+                            new Joined(
+                                "\r\n",
+                                "HTTP/1.1 200 OK",
+                                "Transfer-Encoding: chunked",
+                                "",
+                                "4",
+                                "Hey!",
+                                "0",
+                                "",
+                                "garbage"
+                            )
+                        )
+                    )
+                )
+            ),
+            new TextIs("Hey!")
+        ).affirm();
+    }
+
+    @Test
+    public void hasNoBodyForNoContent() throws Exception {
+        new Assertion<>(
+            "must have no body for 204",
+            new TextOf(
+                new HtBody(
+                    new HtFramedResponse(
+                        new InputOf(
+                            new Joined(
+                                "\r\n",
+                                "HTTP/1.1 204 No Content",
+                                "Content-Length: 5",
+                                "",
+                                "Hello"
+                            )
+                        )
+                    )
+                )
+            ),
+            new TextIs("")
+        ).affirm();
+    }
+
+    @Test
+    public void hasNoBodyForHead() throws Exception {
+        new Assertion<>(
+            "must have no body for HEAD",
+            new TextOf(
+                new HtBody(
+                    new HtFramedResponse(
+                        new InputOf(
+                            new Joined(
+                                "\r\n",
+                                "HTTP/1.1 200 OK",
+                                "Content-Length: 5",
+                                "",
+                                "Hello"
+                            )
+                        ),
+                        "HEAD"
+                    )
+                )
+            ),
+            new TextIs("")
+        ).affirm();
+    }
+
+    @Test
+    public void keepsHead() throws Exception {
+        new Assertion<>(
+            "must keep the head of the response",
+            new HtStatus(
+                new HtFramedResponse(
+                    new InputOf(
+                        new Joined(
+                            "\r\n",
+                            "HTTP/1.1 404 Not Found",
+                            "Content-Length: 0",
+                            "",
+                            ""
+                        )
+                    )
+                )
+            ).intValue(),
+            new IsEqual<>(404)
+        ).affirm();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.http.h2.H2Responder;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+
+/**
+ * Test case for {@link HtHttp2Wire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class HtHttp2WireTest {
+
+    @Test(timeout = 10_000)
+    public void exchangesManyRequestsOverOneConnection() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        final CountDownLatch finished = new CountDownLatch(1);
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Void> done = exec.submit(
+                new H2Responder(server, 2, finished)
+            );
+            final Wire wire = new HtHttp2Wire(
+                "localhost", server.getLocalPort()
+            );
+            new Assertion<>(
+                "must receive the body of the first response",
+                new TextOf(
+                    new HtBody(
+                        wire.send(new Get(new URI("http://localhost/first")))
+                    )
+                ),
+                new TextHasString("Hello, /first")
+            ).affirm();
+            new Assertion<>(
+                "must receive the head of the second response",
+                new TextOf(
+                    new HtHead(
+                        wire.send(new Get(new URI("http://localhost/second")))
+                    )
+                ),
+                new TextHasString("HTTP/2 200")
+            ).affirm();
+            finished.countDown();
+            done.get();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void sendsPseudoHeaders() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        final CountDownLatch finished = new CountDownLatch(1);
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Void> done = exec.submit(
+                new H2Responder(server, 1, finished)
+            );
+            new Assertion<>(
+                "must send :path of the request line",
+                new HtStatus(
+                    new HtHttp2Wire("localhost", server.getLocalPort()).send(
+                        new Get(new URI("http://localhost/found"))
+                    )
+                ).intValue(),
+                new IsEqual<>(200)
+            ).affirm();
+            finished.countDown();
+            done.get();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+}
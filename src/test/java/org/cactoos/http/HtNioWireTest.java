@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import javax.net.ssl.SSLServerSocketFactory;
+import org.cactoos.http.io.EventLoop;
+import org.cactoos.http.io.TlsSessions;
+import org.cactoos.text.TextOf;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+import org.takes.http.BkBasic;
+import org.takes.http.FtRemote;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link HtNioWire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class HtNioWireTest {
+
+    @Test
+    public void worksFine() throws IOException {
+        new FtRemote(new TkText("Hello, loop!")).exec(
+            home -> {
+                try (EventLoop loop = new EventLoop(1)) {
+                    new Assertion<>(
+                        "must return a response through the loop",
+                        new TextOf(
+                            new HtResponse(
+                                new HtNioWire(loop, home),
+                                new Get(home)
+                            )
+                        ),
+                        new TextHasString("HTTP/1.1 200 OK")
+                    ).affirm();
+                }
+            }
+        );
+    }
+
+    @Test
+    public void sendsManyRequestsThroughOneThread() throws IOException {
+        new FtRemote(new TkText("Hello, everybody!")).exec(
+            home -> {
+                try (EventLoop loop = new EventLoop(1)) {
+                    final Wire wire = new HtNioWire(loop, home);
+                    final HtResponse first = new HtResponse(
+                        wire, new Get(home)
+                    );
+                    final HtResponse second = new HtResponse(
+                        wire, new Get(home)
+                    );
+                    new TextOf(first).asString();
+                    new Assertion<>(
+                        "must return the second response too",
+                        new TextOf(second),
+                        new TextHasString("Hello, everybody!")
+                    ).affirm();
+                }
+            }
+        );
+    }
+
+    @Test
+    public void worksThroughTls() throws Exception {
+        new FtRemote(
+            new BkBasic(new TkText("Hello, secure loop!")),
+            SSLServerSocketFactory.getDefault().createServerSocket(0)
+        ).exec(
+            home -> {
+                try (EventLoop loop = new EventLoop(1)) {
+                    new Assertion<>(
+                        "must return a response through TLS",
+                        new TextOf(
+                            new HtResponse(
+                                new HtNioWire(
+                                    loop, home.getHost(), home.getPort(),
+                                    new TlsSessions()
+                                ),
+                                new Get(home)
+                            )
+                        ),
+                        new TextHasString("Hello, secure loop!")
+                    ).affirm();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.Input;
+import org.cactoos.io.InputOf;
+import org.cactoos.list.ListOf;
+import org.cactoos.text.Joined;
+import org.cactoos.text.TextOf;
+import org.hamcrest.collection.IsMapContaining;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link HtParsedResponse}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class HtParsedResponseTest {
+
+    @Test
+    public void readsResponseOnlyOnce() throws Exception {
+        final AtomicInteger reads = new AtomicInteger();
+        final Input origin = new InputOf(
+            new Joined(
+                "\r\n",
+                "HTTP/1.1 200 OK",
+                "Content-Type: text/plain",
+                "Set-Cookie: session=abc",
+                "",
+                "Hello!"
+            )
+        );
+        final HtParsedResponse rsp = new HtParsedResponse(
+            () -> {
+                reads.incrementAndGet();
+                return origin.stream();
+            }
+        );
+        new HtStatus(rsp).intValue();
+        new HtHeaders(rsp).size();
+        new HtCookies(rsp).size();
+        new HtContentType(rsp).value();
+        new TextOf(new HtBody(rsp)).asString();
+        new Assertion<>(
+            "must ask the origin for its stream only once",
+            reads.get(),
+            new IsEqual<>(1)
+        ).affirm();
+    }
+
+    @Test
+    public void sharesHeadAndBody() throws Exception {
+        final HtParsedResponse rsp = new HtParsedResponse(
+            new InputOf(
+                new Joined(
+                    "\r\n",
+                    "HTTP/1.1 302 Found",
+                    "Location: http://www.example.com",
+                    "",
+                    "Moved"
+                )
+            )
+        );
+        new Assertion<>(
+            "must take the status",
+            new HtStatus(rsp).intValue(),
+            new IsEqual<>(302)
+        ).affirm();
+        new Assertion<>(
+            "must take the headers",
+            new HtHeaders(rsp),
+            new IsMapContaining<>(
+                new IsEqual<>("location"),
+                new IsEqual<>(new ListOf<>("http://www.example.com"))
+            )
+        ).affirm();
+        new Assertion<>(
+            "must stream the body",
+            new TextOf(new HtBody(rsp)),
+            new TextIs("Moved")
+        ).affirm();
+    }
+
+    @Test
+    public void returnsWholeResponse() throws Exception {
+        final String response = "HTTP/1.1 200 OK\r\nA: b\r\n\r\nbody";
+        final HtParsedResponse rsp = new HtParsedResponse(
+            new InputOf(response)
+        );
+        new HtStatus(rsp).intValue();
+        try (InputStream stream = rsp.stream()) {
+            new Assertion<>(
+                "must return the response again after parsing",
+                new TextOf(new InputOf(stream)),
+                new TextIs(response)
+            ).affirm();
+        }
+    }
+}
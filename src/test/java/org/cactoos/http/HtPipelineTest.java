@@ -0,0 +1,278 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.Input;
+import org.cactoos.http.io.SocketPool;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link HtPipeline}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class HtPipelineTest {
+
+    @Test(timeout = 10_000)
+    public void readsResponsesInOrder() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Integer> conns = exec.submit(
+                new HtPipelineTest.Server(server, 6, 1)
+            );
+            new Assertion<>(
+                "must read chunked and HEAD responses in order",
+                HtPipelineTest.bodies(
+                    new HtPipeline(
+                        "localhost", server.getLocalPort(), new SocketPool(), 4
+                    ).send(HtPipelineTest.requests(6))
+                ),
+                new IsEqual<>(Arrays.asList("/0", "/1", "/2", "", "/4", "/5"))
+            ).affirm();
+            new Assertion<>(
+                "must send all requests over one connection",
+                conns.get(),
+                new IsEqual<>(1)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void resendsRequestsAfterClose() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Integer> conns = exec.submit(
+                new HtPipelineTest.Server(server, 3, 3)
+            );
+            new Assertion<>(
+                "must send the rest of the batch over new connections",
+                HtPipelineTest.bodies(
+                    new HtPipeline(
+                        "localhost", server.getLocalPort(), new SocketPool(), 8
+                    ).send(HtPipelineTest.requests(9))
+                ),
+                new IsEqual<>(
+                    Arrays.asList(
+                        "/0", "/1", "/2", "", "/4", "/5", "/6", "", "/8"
+                    )
+                )
+            ).affirm();
+            new Assertion<>(
+                "must open a connection per three responses",
+                conns.get(),
+                new IsEqual<>(3)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void retriesStaleSocketOnNewConnection() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final String host = "localhost";
+            final int port = server.getLocalPort();
+            final Future<Integer> conns = exec.submit(
+                () -> {
+                    try (Socket stale = server.accept()) {
+                        stale.getInputStream().read();
+                    }
+                    return new HtPipelineTest.Server(server, 3, 1).call() + 1;
+                }
+            );
+            final SocketPool pool = new SocketPool();
+            pool.release(host, port, pool.lease(host, port));
+            new Assertion<>(
+                "must send the batch again over a new connection",
+                HtPipelineTest.bodies(
+                    new HtPipeline(host, port, pool, 8)
+                        .send(HtPipelineTest.requests(3))
+                ),
+                new IsEqual<>(Arrays.asList("/0", "/1", "/2"))
+            ).affirm();
+            new Assertion<>(
+                "must open one new connection",
+                conns.get(),
+                new IsEqual<>(2)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesPost() throws Exception {
+        new HtPipeline(new URI("http://localhost:1")).send(
+            Arrays.asList(new InputOf("POST / HTTP/1.1\r\nHost: x\r\n\r\n"))
+        );
+    }
+
+    /**
+     * Requests, each third one is HEAD.
+     * @param count How many
+     * @return Requests
+     * @throws Exception If fails
+     */
+    private static List<Input> requests(final int count) throws Exception {
+        final List<Input> list = new ArrayList<>(count);
+        for (int idx = 0; idx < count; ++idx) {
+            if (idx % 4 == 3) {
+                list.add(
+                    new InputOf(
+                        String.format("HEAD /%d HTTP/1.1\r\nHost: x\r\n", idx)
+                    )
+                );
+            } else {
+                list.add(new Get(new URI(String.format("http://x/%d", idx))));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Bodies of the responses.
+     * @param responses The responses
+     * @return Bodies
+     * @throws Exception If fails
+     */
+    private static List<String> bodies(final List<Input> responses)
+        throws Exception {
+        final List<String> list = new ArrayList<>(responses.size());
+        for (final Input response : responses) {
+            list.add(new TextOf(new HtBody(response)).asString());
+        }
+        return list;
+    }
+
+    /**
+     * Server that answers pipelined requests with their paths and closes
+     * connections after the given number of responses.
+     * @since 0.1
+     */
+    private static final class Server implements Callable<Integer> {
+
+        /**
+         * The server socket.
+         */
+        private final ServerSocket server;
+
+        /**
+         * Responses per connection.
+         */
+        private final int max;
+
+        /**
+         * Connections to accept.
+         */
+        private final int count;
+
+        /**
+         * Ctor.
+         * @param server The server socket
+         * @param max Responses per connection
+         * @param count Connections to accept
+         */
+        Server(final ServerSocket server, final int max, final int count) {
+            this.server = server;
+            this.max = max;
+            this.count = count;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            for (int conn = 0; conn < this.count; ++conn) {
+                try (Socket socket = this.server.accept()) {
+                    this.serve(socket);
+                }
+            }
+            return this.count;
+        }
+
+        /**
+         * Answer requests of the connection.
+         * @param socket The socket
+         * @throws Exception If fails
+         */
+        private void serve(final Socket socket) throws Exception {
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.US_ASCII
+                )
+            );
+            final OutputStream out = socket.getOutputStream();
+            for (int idx = 0; idx < this.max; ++idx) {
+                final String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                String header = reader.readLine();
+                while (!header.isEmpty()) {
+                    header = reader.readLine();
+                }
+                final String path = line.split(" ")[1];
+                String head = String.join(
+                    "\r\n", "HTTP/1.1 200 OK", "Transfer-Encoding: chunked", ""
+                );
+                if (idx == this.max - 1) {
+                    head = String.join("", head, "Connection: close\r\n");
+                }
+                String body = String.format(
+                    "%x\r\n%s\r\n0\r\n\r\n", path.length(), path
+                );
+                if (line.startsWith("HEAD")) {
+                    body = "";
+                }
+                out.write(
+                    String.join("\r\n", head, body)
+                        .getBytes(StandardCharsets.US_ASCII)
+                );
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.cactoos.http.io.SocketPool;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+import org.takes.http.FtRemote;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link HtPooledWire}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class HtPooledWireTest {
+
+    @Test
+    public void worksFine() throws IOException {
+        new FtRemote(new TkText("Hello, pool!")).exec(
+            home -> new Assertion<>(
+                "must return a response through a pooled socket",
+                new TextOf(
+                    new HtResponse(
+                        new HtPooledWire(home, new SocketPool()),
+                        new Get(home)
+                    )
+                ),
+                new TextHasString("HTTP/1.1 200 OK")
+            ).affirm()
+        );
+    }
+
+    @Test
+    public void worksFineTwiceWithSamePool() throws IOException {
+        new FtRemote(new TkText("Hello again!")).exec(
+            home -> {
+                final Wire wire = new HtPooledWire(home, new SocketPool());
+                new TextOf(new HtResponse(wire, new Get(home))).asString();
+                new Assertion<>(
+                    "must return a second response from the same pool",
+                    new TextOf(new HtResponse(wire, new Get(home))),
+                    new TextHasString("Hello again!")
+                ).affirm();
+            }
+        );
+    }
+
+    /**
+     * The server answers HEAD requests with Content-Length and no body,
+     * on one connection only, so the second request must reuse it.
+     *
+     * @checkstyle MagicNumberCheck (45 lines)
+     */
+    @Test(timeout = 10_000)
+    public void reusesSocketAfterHead() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            exec.submit(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        final BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(
+                                socket.getInputStream(),
+                                StandardCharsets.US_ASCII
+                            )
+                        );
+                        for (int idx = 0; idx < 2; ++idx) {
+                            while (!reader.readLine().isEmpty()) {
+                                continue;
+                            }
+                            socket.getOutputStream().write(
+                                "HTTP/1.1 200 OK\r\nContent-Length: 100\r\n\r\n"
+                                    .getBytes(StandardCharsets.US_ASCII)
+                            );
+                        }
+                        return reader.readLine();
+                    }
+                }
+            );
+            final Wire wire = new HtPooledWire(
+                "localhost", server.getLocalPort(), new SocketPool()
+            );
+            final String head = "HEAD / HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            new TextOf(wire.send(new InputOf(head))).asString();
+            new Assertion<>(
+                "must read the response to HEAD on the same socket",
+                new TextOf(wire.send(new InputOf(head))).asString(),
+                new IsEqual<>("HTTP/1.1 200 OK\r\nContent-Length: 100\r\n\r\n")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+}
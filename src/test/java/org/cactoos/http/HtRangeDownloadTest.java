@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link HtRangeDownload}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HtRangeDownloadTest {
+
+    @Test(timeout = 20_000)
+    public void downloadsInSegments() throws Exception {
+        final byte[] content = HtRangeDownloadTest.content();
+        final Path file = Files.createTempFile("ranges", ".bin");
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final RangeServer ranges = new RangeServer(
+                server, content, 5, true
+            );
+            final Future<Void> done = exec.submit(ranges);
+            new Assertion<>(
+                "must return the length of the resource",
+                HtRangeDownloadTest.download(server, file, 4),
+                new IsEqual<>((long) content.length)
+            ).affirm();
+            done.get();
+            new Assertion<>(
+                "must save the resource",
+                Arrays.equals(Files.readAllBytes(file), content),
+                new IsTrue()
+            ).affirm();
+            new Assertion<>(
+                "must ask for the first byte and four segments",
+                ranges.partials(),
+                new IsEqual<>(5)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = 20_000)
+    public void fallsBackWithoutRanges() throws Exception {
+        final byte[] content = HtRangeDownloadTest.content();
+        final Path file = Files.createTempFile("ranges", ".bin");
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Void> done = exec.submit(
+                new RangeServer(server, content, 1, false)
+            );
+            HtRangeDownloadTest.download(server, file, 4);
+            done.get();
+            new Assertion<>(
+                "must save the whole resource from the first answer",
+                Arrays.equals(Files.readAllBytes(file), content),
+                new IsTrue()
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Download the resource of the server.
+     * @param server The server
+     * @param file The file
+     * @param segments Maximum number of segments
+     * @return The length
+     * @throws Exception If fails
+     */
+    private static long download(final ServerSocket server, final Path file,
+        final int segments) throws Exception {
+        return new HtRangeDownload(
+            new HtWire("localhost", server.getLocalPort()),
+            new InputOf("GET /data HTTP/1.1\r\nHost: localhost\r\n\r\n"),
+            file,
+            segments
+        ).value();
+    }
+
+    /**
+     * Random resource, big enough for four segments.
+     * @return The bytes
+     */
+    private static byte[] content() {
+        final byte[] content = new byte[300_000];
+        new Random(1L).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.EOFException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.Input;
+import org.cactoos.io.BytesOf;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link HtResumableBody}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HtResumableBodyTest {
+
+    @Test(timeout = 10_000)
+    public void continuesAfterBreaks() throws Exception {
+        final byte[] content = HtResumableBodyTest.content();
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final RangeServer ranges = new RangeServer(
+                server, content, 4, true, 300
+            );
+            final Future<Void> done = exec.submit(ranges);
+            new Assertion<>(
+                "must read the whole body through the breaks",
+                Arrays.equals(
+                    new BytesOf(
+                        new HtResumableBody(
+                            new HtWire("localhost", server.getLocalPort()),
+                            HtResumableBodyTest.request(),
+                            5
+                        )
+                    ).asBytes(),
+                    content
+                ),
+                new IsTrue()
+            ).affirm();
+            done.get();
+            new Assertion<>(
+                "must continue three times",
+                ranges.partials(),
+                new IsEqual<>(3)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000, expected = EOFException.class)
+    public void failsWhenAttemptsAreOver() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            exec.submit(
+                new RangeServer(
+                    server, HtResumableBodyTest.content(), 2, true, 300
+                )
+            );
+            new BytesOf(
+                new HtResumableBody(
+                    new HtWire("localhost", server.getLocalPort()),
+                    HtResumableBodyTest.request(),
+                    1
+                )
+            ).asBytes();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    /**
+     * Request of the resource.
+     * @return The request
+     */
+    private static Input request() {
+        return new InputOf("GET /data HTTP/1.1\r\nHost: localhost\r\n\r\n");
+    }
+
+    /**
+     * Random resource.
+     * @return The bytes
+     */
+    private static byte[] content() {
+        final byte[] content = new byte[1000];
+        new Random(1L).nextBytes(content);
+        return content;
+    }
+}
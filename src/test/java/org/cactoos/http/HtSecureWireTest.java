@@ -25,8 +25,19 @@ package org.cactoos.http;
 
 import java.io.InputStream;
 import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocket;
 import javax.net.ssl.SSLServerSocketFactory;
 import org.cactoos.Input;
+import org.cactoos.http.h2.H2Responder;
+import org.cactoos.http.io.Protocols;
+import org.cactoos.http.io.Timeouts;
+import org.cactoos.http.io.TlsSessions;
 import org.cactoos.io.InputOf;
 import org.cactoos.text.FormattedText;
 import org.cactoos.text.Joined;
@@ -44,6 +55,7 @@ import org.takes.tk.TkText;
  *
  * @since 0.1
  * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class HtSecureWireTest {
 
@@ -92,6 +104,93 @@ public final class HtSecureWireTest {
         );
     }
 
+    @Test
+    public void resumesSession() throws Exception {
+        final TlsSessions sessions = new TlsSessions(1, 0);
+        HtSecureWireTest.secure(new TkText("Hello, again!"), 0).exec(
+            home -> {
+                for (int idx = 0; idx < 2; ++idx) {
+                    new TextOf(
+                        new HtResponse(
+                            new HtSecureWire(
+                                home.getHost(), home.getPort(), sessions
+                            ),
+                            new HtSecureWireTest.Request(home.getHost())
+                        )
+                    ).asString();
+                }
+                MatcherAssert.assertThat(
+                    "Doesn't resume the session of the first connection",
+                    sessions.resumed(),
+                    Matchers.equalTo(1L)
+                );
+            }
+        );
+    }
+
+    @Test(timeout = 10_000)
+    public void negotiatesHttpTwo() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        final CountDownLatch finished = new CountDownLatch(1);
+        try (SSLServerSocket server = (SSLServerSocket) SSLServerSocketFactory
+            .getDefault().createServerSocket(0)) {
+            final SSLParameters params = server.getSSLParameters();
+            params.setApplicationProtocols(new String[] {"h2"});
+            server.setSSLParameters(params);
+            final Future<Void> done = exec.submit(
+                new H2Responder(server, 2, finished)
+            );
+            final Protocols protocols = new Protocols();
+            final Wire wire = new HtSecureWire(
+                "localhost", server.getLocalPort(), new TlsSessions(),
+                protocols, new Timeouts()
+            );
+            for (int idx = 0; idx < 2; ++idx) {
+                MatcherAssert.assertThat(
+                    "Doesn't exchange over HTTP/2 connection",
+                    new TextOf(
+                        new HtBody(
+                            wire.send(new Get(new URI("https://localhost/h2")))
+                        )
+                    ).asString(),
+                    Matchers.equalTo("Hello, /h2")
+                );
+            }
+            MatcherAssert.assertThat(
+                "Doesn't remember h2 of the origin",
+                protocols.chosen("localhost", server.getLocalPort()),
+                Matchers.equalTo("h2")
+            );
+            finished.countDown();
+            done.get();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void remembersHttpOneWithoutAlpn() throws Exception {
+        final Protocols protocols = new Protocols();
+        HtSecureWireTest.secure(new TkText("Hello, one!"), 0).exec(
+            home -> {
+                new TextOf(
+                    new HtResponse(
+                        new HtSecureWire(
+                            home.getHost(), home.getPort(), new TlsSessions(),
+                            protocols, new Timeouts()
+                        ),
+                        new HtSecureWireTest.Request(home.getHost())
+                    )
+                ).asString();
+                MatcherAssert.assertThat(
+                    "Doesn't fall back to HTTP/1.1",
+                    protocols.chosen(home.getHost(), home.getPort()),
+                    Matchers.equalTo("http/1.1")
+                );
+            }
+        );
+    }
+
     /**
      * Creates an instance of secure Front.
      * @param take Take
@@ -23,6 +23,8 @@
  */
 package org.cactoos.http;
 
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
 import java.util.concurrent.TimeoutException;
 import org.cactoos.io.InputOf;
 import org.cactoos.text.TextOf;
@@ -76,4 +78,36 @@ public final class HtTimedWireTest {
             timeout
         ).send(new InputOf("unused"));
     }
+
+    /**
+     * The server never reads, so writing a big request blocks until
+     * the socket is closed.
+     *
+     * @checkstyle MagicNumberCheck (13 lines)
+     */
+    @Test(expected = TimeoutException.class, timeout = 5000)
+    public void abortsBlockedWrite() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            new HtTimedWire(
+                new HtWire("localhost", server.getLocalPort()),
+                100
+            ).send(new InputOf(new byte[50_000_000]));
+        }
+    }
+
+    /**
+     * The server never responds, so reading the response blocks until
+     * the socket is closed.
+     *
+     * @checkstyle MagicNumberCheck (13 lines)
+     */
+    @Test(expected = SocketTimeoutException.class, timeout = 5000)
+    public void abortsBlockedRead() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            new HtTimedWire(
+                new HtWire("localhost", server.getLocalPort()),
+                100
+            ).send(new InputOf("GET / HTTP/1.1\r\n\r\n")).stream().read();
+        }
+    }
 }
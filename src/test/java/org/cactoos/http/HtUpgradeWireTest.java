@@ -23,141 +23,100 @@
  */
 package org.cactoos.http;
 
-import java.io.IOException;
-import java.io.InputStream;
-import org.cactoos.Input;
-import org.cactoos.Scalar;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.http.h2.H2Responder;
+import org.cactoos.http.io.Connect;
+import org.cactoos.http.io.Protocols;
+import org.cactoos.http.io.Timeouts;
 import org.cactoos.text.TextOf;
-import org.hamcrest.MatcherAssert;
-import org.hamcrest.Matchers;
-import org.hamcrest.core.IsInstanceOf;
-import org.junit.Ignore;
+import org.hamcrest.core.IsEqual;
 import org.junit.Test;
-import org.takes.Request;
-import org.takes.Response;
-import org.takes.Take;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
 import org.takes.http.FtRemote;
-import org.takes.rs.RsWithStatus;
 import org.takes.tk.TkText;
 
 /**
- * Test for {@link HtUpgradeWire}. Must test if the {@link Wire} returned
- * after an 101 status code is an {@link HtSecureWire}.
+ * Test case for {@link HtUpgradeWire}.
+ *
  * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class HtUpgradeWireTest {
 
-    /**
-     * Tests if the wire of the response of an 101 code is an
-     * {@link HtSecureWire}.
-     * @throws Exception If Something goes wrong.
-     */
-    @Test
-    @Ignore("HtUpgradeWire implementation is not ready yet.")
-    public void testUpgrade() throws Exception {
-        new FtRemote(new TkAlways101Mock(new TkText("Hello, world!"))).exec(
-            home -> MatcherAssert.assertThat(
-                "Could not upgrade wire",
-                new ResponseWrap(
-                    new HtUpgradeWire(
-                        new HtWire(
-                            home.getHost(), home.getPort()
-                        )
-                    ),
-                    home.getHost()
-                ).value(),
-                new IsInstanceOf(HtSecureWire.class)
-            )
-        );
-    }
-
-    /**
-     * Test of {@link HtUpgradeWire} just to suit coverage standards.
-     * @throws Exception If something goes wrong.
-     */
-    @Test
-    public void testHtUpgrade() throws Exception {
-        new FtRemote(new TkText("Upgraded wire")).exec(
-            home -> MatcherAssert.assertThat(
-                "Upgrade wire not found",
+    @Test(timeout = 10_000)
+    public void upgradesToHttpTwo() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        final CountDownLatch finished = new CountDownLatch(1);
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<Void> done = exec.submit(
+                new H2Responder(server, 2, finished, true)
+            );
+            final Protocols protocols = new Protocols();
+            final Wire wire = new HtUpgradeWire(
+                "localhost", server.getLocalPort(), new Connect(), protocols,
+                new Timeouts()
+            );
+            new Assertion<>(
+                "must receive the response to the upgrade in stream 1",
                 new TextOf(
                     new HtResponse(
-                        new HtUpgradeWire(
-                            new HtWire(
-                                home.getHost(),
-                                home.getPort()
-                            )
-                        ),
-                        home.getHost()
+                        wire, new Get(new URI("http://localhost/first"))
                     )
-                ).asString(),
-                Matchers.containsString("HTTP/1.1 200")
-            )
-        );
-    }
-
-    /**
-     * Wrap for response which allows access to its wire.
-     */
-    private class ResponseWrap implements Input, Scalar<Wire> {
-
-        /**
-         * Origin response.
-         */
-        private final HtResponse response;
-        /**
-         * Original wire.
-         */
-        private final Wire htwire;
-
-        /**
-         * Ctor.
-         * @param wire Original wire.
-         * @param req Request string.
-         */
-        ResponseWrap(final Wire wire, final String req) {
-            this.htwire = wire;
-            this.response = new HtResponse(wire, req);
-        }
-
-        @Override
-        public InputStream stream() throws Exception {
-            return this.response.stream();
-        }
-
-        @Override
-        public Wire value() {
-            return this.htwire;
+                ),
+                new TextHasString("HTTP/2 200")
+            ).affirm();
+            new Assertion<>(
+                "must send the next request over the upgraded connection",
+                new TextOf(
+                    new HtBody(
+                        wire.send(new Get(new URI("http://localhost/second")))
+                    )
+                ),
+                new TextHasString("Hello, /second")
+            ).affirm();
+            new Assertion<>(
+                "must remember h2c of the origin",
+                protocols.chosen("localhost", server.getLocalPort()),
+                new IsEqual<>(Protocols.H2C)
+            ).affirm();
+            finished.countDown();
+            done.get();
+        } finally {
+            exec.shutdownNow();
         }
     }
 
-    /**
-     * Mock which always returns response with 101 code.
-     */
-    private class TkAlways101Mock implements Take {
-
-        /**
-         * Origin {@link Take}.
-         */
-        private final Take origin;
-
-        /**
-         * Ctor.
-         * @param origin Origin take.
-         */
-        TkAlways101Mock(final Take origin) {
-            this.origin = origin;
-        }
-
-        @Override
-        public Response act(final Request req) throws IOException {
-            return new RsWithStatus(
-                this.origin.act(req),
-                // @checkstyle MagicNumber (1 line)
-                101,
-                "Switching Protocols"
-            );
-        }
+    @Test
+    public void staysWithHttpOne() throws Exception {
+        final Protocols protocols = new Protocols();
+        new FtRemote(new TkText("Upgraded wire")).exec(
+            home -> {
+                final Wire wire = new HtUpgradeWire(
+                    home.getHost(), home.getPort(), new Connect(), protocols,
+                    new Timeouts()
+                );
+                for (int idx = 0; idx < 2; ++idx) {
+                    new Assertion<>(
+                        "must return the response of HTTP/1.1 server",
+                        new TextOf(
+                            new HtResponse(wire, new Get(home))
+                        ),
+                        new TextHasString("HTTP/1.1 200")
+                    ).affirm();
+                }
+                new Assertion<>(
+                    "must remember HTTP/1.1 of the origin",
+                    protocols.chosen(home.getHost(), home.getPort()),
+                    new IsEqual<>(Protocols.HTTP)
+                ).affirm();
+            }
+        );
     }
 }
@@ -23,17 +23,33 @@
  */
 package org.cactoos.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.cactoos.BiFunc;
+import org.cactoos.http.io.Connect;
 import org.cactoos.http.io.ReadBytes;
+import org.cactoos.http.io.Timeouts;
 import org.cactoos.io.DeadInput;
 import org.cactoos.io.DeadInputStream;
+import org.cactoos.io.InputOf;
 import org.cactoos.text.FormattedText;
 import org.cactoos.text.TextOf;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.junit.Test;
 import org.llorllale.cactoos.matchers.Assertion;
@@ -132,6 +148,257 @@ public final class HtWireTest {
         );
     }
 
+    /**
+     * The server accepts the connection, but never responds.
+     *
+     * @checkstyle MagicNumberCheck (15 lines)
+     */
+    @Test(expected = SocketTimeoutException.class, timeout = 5000)
+    public void failsWithoutFirstByteInTime() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            new HtWire(
+                "localhost",
+                server.getLocalPort(),
+                new Timeouts(0L, 0L, 0L, 100L, 0L)
+            ).send(new Get(URI.create("http://localhost/"))).stream().read();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void sendsBodyAfterContinue() throws Exception {
+        new Assertion<>(
+            "must send the body after 100 Continue",
+            HtWireTest.expecting(
+                "HTTP/1.1 100 Continue\r\n\r\n",
+                "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n",
+                new Timeouts(0L, 0L, 0L, 0L, 0L, 5000L)
+            ),
+            new IsEqual<>("HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n|hello")
+        ).affirm();
+    }
+
+    @Test(timeout = 10_000)
+    public void skipsBodyOnFinalStatus() throws Exception {
+        new Assertion<>(
+            "must not send the body after 417",
+            HtWireTest.expecting(
+                "HTTP/1.1 417 Expectation Failed\r\nContent-Length: 0\r\n\r\n",
+                "",
+                new Timeouts(0L, 0L, 0L, 0L, 0L, 5000L)
+            ),
+            new IsEqual<>(
+                "HTTP/1.1 417 Expectation Failed\r\nContent-Length: 0\r\n\r\n|"
+            )
+        ).affirm();
+    }
+
+    /**
+     * The server doesn't know about 100 Continue and waits for the body.
+     *
+     * @checkstyle MagicNumberCheck (15 lines)
+     */
+    @Test(timeout = 10_000)
+    public void sendsBodyWithoutContinueInTime() throws Exception {
+        new Assertion<>(
+            "must send the body when there is no 100 Continue",
+            HtWireTest.expecting(
+                "",
+                "HTTP/1.1 204 No Content\r\n\r\n",
+                new Timeouts(0L, 0L, 0L, 0L, 0L, 100L)
+            ),
+            new IsEqual<>("HTTP/1.1 204 No Content\r\n\r\n|hello")
+        ).affirm();
+    }
+
+    /**
+     * The request has no head, so it must go as it is, with nothing
+     * added to it, even though it's looked for the expect header.
+     *
+     * @checkstyle MagicNumberCheck (40 lines)
+     */
+    @Test(timeout = 10_000)
+    public void sendsRequestWithoutHeadAsIs() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> got = exec.submit(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        socket.setSoTimeout(500);
+                        final InputStream ins = socket.getInputStream();
+                        final ByteArrayOutputStream bytes =
+                            new ByteArrayOutputStream();
+                        try {
+                            while (true) {
+                                final int data = ins.read();
+                                if (data < 0) {
+                                    break;
+                                }
+                                bytes.write(data);
+                            }
+                        } catch (final SocketTimeoutException ex) {
+                            socket.getOutputStream().write(
+                                "HTTP/1.1 204 No Content\r\n\r\n"
+                                    .getBytes(StandardCharsets.UTF_8)
+                            );
+                            socket.shutdownOutput();
+                        }
+                        return new String(
+                            bytes.toByteArray(), StandardCharsets.UTF_8
+                        );
+                    }
+                }
+            );
+            new TextOf(
+                new HtWire(
+                    "localhost",
+                    server.getLocalPort(),
+                    new Timeouts(0L, 0L, 0L, 0L, 0L, 5000L)
+                ).send(new InputOf("PING payload-without-head"))
+            ).asString();
+            new Assertion<>(
+                "must send the request byte by byte",
+                got.get(),
+                new IsEqual<>("PING payload-without-head")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void uploadsFileThroughChannel() throws Exception {
+        final Path file = Files.createTempFile("upload", ".txt");
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            Files.write(file, "Hello, file!".getBytes(StandardCharsets.UTF_8));
+            final Future<String> body = exec.submit(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        final InputStream ins = socket.getInputStream();
+                        int length = 0;
+                        while (true) {
+                            final String line = HtWireTest.line(ins);
+                            if (line.isEmpty()) {
+                                break;
+                            }
+                            if (line.startsWith("Content-Length: ")) {
+                                length = Integer.parseInt(line.substring(16));
+                            }
+                        }
+                        final byte[] got = new byte[length];
+                        new DataInputStream(ins).readFully(got);
+                        socket.getOutputStream().write(
+                            "HTTP/1.1 204 No Content\r\n\r\n"
+                                .getBytes(StandardCharsets.UTF_8)
+                        );
+                        socket.shutdownOutput();
+                        return new String(got, StandardCharsets.UTF_8);
+                    }
+                }
+            );
+            new TextOf(
+                new HtWire(
+                    URI.create(
+                        String.format(
+                            "http://localhost:%d/", server.getLocalPort()
+                        )
+                    ),
+                    new Connect(
+                        new Timeouts(), () -> SocketChannel.open().socket()
+                    )
+                ).send(new Upload(URI.create("http://localhost/f"), file))
+            ).asString();
+            new Assertion<>(
+                "must send the file after the head",
+                body.get(),
+                new IsEqual<>("Hello, file!")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Send a request with <code>Expect: 100-continue</code> to a server,
+     * which answers the head, reads the rest and answers it again.
+     * @param interim The answer to the head
+     * @param last The answer after the rest of the request
+     * @param timeouts Timeouts
+     * @return The response and the body the server got, split by a bar
+     * @throws Exception If fails
+     */
+    private static String expecting(final String interim, final String last,
+        final Timeouts timeouts) throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> body = exec.submit(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        final InputStream ins = socket.getInputStream();
+                        final OutputStream ous = socket.getOutputStream();
+                        while (!HtWireTest.line(ins).isEmpty()) {
+                            continue;
+                        }
+                        ous.write(interim.getBytes(StandardCharsets.UTF_8));
+                        final ByteArrayOutputStream got =
+                            new ByteArrayOutputStream();
+                        for (int idx = 0; idx < 5; ++idx) {
+                            final int data = ins.read();
+                            if (data < 0) {
+                                break;
+                            }
+                            got.write(data);
+                        }
+                        ous.write(last.getBytes(StandardCharsets.UTF_8));
+                        socket.shutdownOutput();
+                        return new String(
+                            got.toByteArray(), StandardCharsets.UTF_8
+                        );
+                    }
+                }
+            );
+            final String response = new TextOf(
+                new HtWire("localhost", server.getLocalPort(), timeouts).send(
+                    new InputOf(
+                        String.join(
+                            "\r\n",
+                            "PUT /upload HTTP/1.1",
+                            "Host: localhost",
+                            "Expect: 100-continue",
+                            "Content-Length: 5",
+                            "",
+                            "hello"
+                        )
+                    )
+                )
+            ).asString();
+            return String.join("|", response, body.get());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    /**
+     * Read one line of the head, without CRLF.
+     * @param ins The stream
+     * @return The line
+     * @throws IOException If fails
+     */
+    private static String line(final InputStream ins) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        while (true) {
+            final int data = ins.read();
+            if (data < 0 || data == '\n') {
+                break;
+            }
+            if (data != '\r') {
+                line.append((char) data);
+            }
+        }
+        return line.toString();
+    }
+
     /**
      * Verify correct port is returned for given URL.
      * @param url URL to check
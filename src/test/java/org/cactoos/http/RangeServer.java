@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Server of one resource, with or without ranges, for tests.
+ *
+ * <p>It accepts the given number of connections, one by one, and answers
+ * one request in each of them. A request with <code>Range</code> of
+ * <code>bytes=first-last</code> gets <code>206</code> with these bytes,
+ * if ranges are served, and if its <code>If-Range</code> is the ETag
+ * of the resource, when it's there. Other requests get the whole
+ * resource. Bodies may be cut after a limit, with the connection
+ * closed.</p>
+ *
+ * @since 0.1
+ */
+public final class RangeServer implements Callable<Void> {
+
+    /**
+     * ETag of the resource.
+     */
+    private static final String ETAG = "\"v1\"";
+
+    /**
+     * The server socket.
+     */
+    private final ServerSocket server;
+
+    /**
+     * The resource.
+     */
+    private final byte[] content;
+
+    /**
+     * How many connections to accept.
+     */
+    private final int count;
+
+    /**
+     * Ranges are served.
+     */
+    private final boolean ranges;
+
+    /**
+     * Maximum number of bytes of a body to send.
+     */
+    private final int limit;
+
+    /**
+     * Number of partial responses.
+     */
+    private final AtomicInteger partials;
+
+    /**
+     * Ctor.
+     * @param server The server socket
+     * @param content The resource
+     * @param count How many connections to accept
+     * @param ranges Ranges are served
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public RangeServer(final ServerSocket server, final byte[] content,
+        final int count, final boolean ranges) {
+        this(server, content, count, ranges, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param server The server socket
+     * @param content The resource
+     * @param count How many connections to accept
+     * @param ranges Ranges are served
+     * @param limit Maximum number of bytes of a body to send
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public RangeServer(final ServerSocket server, final byte[] content,
+        final int count, final boolean ranges, final int limit) {
+        this.server = server;
+        this.content = content.clone();
+        this.count = count;
+        this.ranges = ranges;
+        this.limit = limit;
+        this.partials = new AtomicInteger();
+    }
+
+    @Override
+    public Void call() throws IOException {
+        for (int idx = 0; idx < this.count; ++idx) {
+            try (Socket socket = this.server.accept()) {
+                this.answer(
+                    new ParsedHead(socket.getInputStream()),
+                    socket.getOutputStream()
+                );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of partial responses sent.
+     * @return The number
+     */
+    public int partials() {
+        return this.partials.get();
+    }
+
+    /**
+     * Answer the request.
+     * @param request The request
+     * @param out Where to write the response
+     * @throws IOException If fails
+     */
+    private void answer(final ParsedHead request, final OutputStream out)
+        throws IOException {
+        final List<String> range = request.headers().get("range");
+        final List<String> valid = request.headers().get("if-range");
+        int first = 0;
+        int last = this.content.length - 1;
+        final String status;
+        String extra = "";
+        if (this.ranges && range != null
+            && (valid == null || RangeServer.ETAG.equals(valid.get(0)))) {
+            final String[] parts = range.get(0).substring(6).split("-");
+            first = Integer.parseInt(parts[0]);
+            if (parts.length > 1) {
+                last = Integer.parseInt(parts[1]);
+            }
+            status = "206 Partial Content";
+            extra = String.format(
+                "Content-Range: bytes %d-%d/%d\r\n",
+                first, last, this.content.length
+            );
+            this.partials.incrementAndGet();
+        } else {
+            status = "200 OK";
+        }
+        out.write(
+            String.format(
+                "HTTP/1.1 %s\r\nETag: %s\r\n%sContent-Length: %d\r\n\r\n",
+                status, RangeServer.ETAG, extra, last - first + 1
+            ).getBytes(StandardCharsets.US_ASCII)
+        );
+        out.write(
+            this.content, first, Math.min(last - first + 1, this.limit)
+        );
+        out.flush();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.net.URI;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.TextOf;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link Ranged}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class RangedTest {
+
+    @Test
+    public void addsRangeToHead() throws Exception {
+        new Assertion<>(
+            "must add the range and the validator",
+            new TextOf(
+                new Ranged(
+                    new Get(URI.create("http://localhost/a")),
+                    10L, 19L, "\"v1\""
+                )
+            ),
+            new TextIs(
+                String.join(
+                    "\r\n",
+                    "GET /a HTTP/1.1",
+                    "Host: localhost",
+                    "Range: bytes=10-19",
+                    "If-Range: \"v1\"",
+                    "",
+                    ""
+                )
+            )
+        ).affirm();
+    }
+
+    @Test
+    public void keepsBodyAfterRange() throws Exception {
+        new Assertion<>(
+            "must keep the body of the request",
+            new TextOf(
+                new Ranged(
+                    new InputOf("GET / HTTP/1.1\r\nHost: h\r\n\r\nbody"),
+                    5L, ""
+                )
+            ),
+            new TextIs(
+                "GET / HTTP/1.1\r\nHost: h\r\nRange: bytes=5-\r\n\r\nbody"
+            )
+        ).affirm();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link Upload}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class UploadTest {
+
+    @Test
+    public void addsContentLengthToHead() throws Exception {
+        final Path file = UploadTest.file("abc");
+        try {
+            new Assertion<>(
+                "must send the head and the file",
+                new TextOf(
+                    new Upload(URI.create("http://localhost/a"), file)
+                ),
+                new TextIs(
+                    String.join(
+                        "\r\n",
+                        "PUT /a HTTP/1.1",
+                        "Host: localhost",
+                        "Content-Length: 3",
+                        "",
+                        "abc"
+                    )
+                )
+            ).affirm();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void transfersFileToChannel() throws Exception {
+        final Path file = UploadTest.file("Hello, channel!");
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new Upload("POST", URI.create("http://localhost/b"), file)
+                .transfer(Channels.newChannel(out));
+            new Assertion<>(
+                "must transfer the content of the file",
+                new String(out.toByteArray(), StandardCharsets.UTF_8),
+                new IsEqual<>("Hello, channel!")
+            ).affirm();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = EOFException.class, timeout = 5000)
+    public void failsWhenNothingIsTransferred() throws Exception {
+        final Path file = UploadTest.file("Hello, nobody!");
+        try {
+            new Upload(URI.create("http://localhost/c"), file).transfer(
+                new WritableByteChannel() {
+                    @Override
+                    public int write(final ByteBuffer src) {
+                        return 0;
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {
+                        // nothing to close
+                    }
+                }
+            );
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Make a file.
+     * @param content The content
+     * @return The file
+     * @throws Exception If fails
+     */
+    private static Path file(final String content) throws Exception {
+        final Path file = Files.createTempFile("upload", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link DynamicTable}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class DynamicTableTest {
+
+    @Test
+    public void indexesNewestFirst() {
+        final DynamicTable table = new DynamicTable(4096, true);
+        table.add("a", "1");
+        table.add("b", "2");
+        new Assertion<>(
+            "must give index 1 to the newest entry",
+            table.name(1),
+            new IsEqual<>("b")
+        ).affirm();
+        new Assertion<>(
+            "must find the oldest entry by name and value",
+            table.index("a", "1"),
+            new IsEqual<>(2)
+        ).affirm();
+    }
+
+    @Test
+    public void evictsOldestEntries() {
+        final DynamicTable table = new DynamicTable(68, true);
+        table.add("a", "1");
+        table.add("b", "2");
+        table.add("c", "3");
+        new Assertion<>(
+            "must keep only entries that fit",
+            table.length(),
+            new IsEqual<>(2)
+        ).affirm();
+        new Assertion<>(
+            "must forget the evicted entry",
+            table.index("a"),
+            new IsEqual<>(0)
+        ).affirm();
+    }
+
+    @Test
+    public void keepsEntriesWhenGrows() {
+        final DynamicTable table = new DynamicTable(1 << 20, false);
+        for (int idx = 0; idx < 100; ++idx) {
+            table.add("n", String.valueOf(idx));
+        }
+        new Assertion<>(
+            "must keep the oldest entry in place",
+            table.value(100),
+            new IsEqual<>("0")
+        ).affirm();
+    }
+
+    @Test
+    public void dropsAllEntriesWhenShrinks() {
+        final DynamicTable table = new DynamicTable(4096, true);
+        table.add("a", "1");
+        table.capacity(0);
+        new Assertion<>(
+            "must drop all entries",
+            table.length(),
+            new IsEqual<>(0)
+        ).affirm();
+    }
+}
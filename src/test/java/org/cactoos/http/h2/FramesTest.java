@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Frames}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class FramesTest {
+
+    @Test
+    public void readsWrittenFrames() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Frame(
+            Frame.DATA, Frame.END_STREAM, 3, new byte[] {1, 2, 3}
+        ).write(out);
+        final Frame frame = new Frames(
+            new ByteArrayInputStream(out.toByteArray())
+        ).next();
+        new Assertion<>(
+            "must read the type",
+            frame.type(),
+            new IsEqual<>(Frame.DATA)
+        ).affirm();
+        new Assertion<>(
+            "must read the stream",
+            frame.stream(),
+            new IsEqual<>(3)
+        ).affirm();
+        new Assertion<>(
+            "must read the flags",
+            frame.has(Frame.END_STREAM),
+            new IsEqual<>(true)
+        ).affirm();
+        new Assertion<>(
+            "must read the payload",
+            frame.payload(),
+            new IsEqual<>(new byte[] {1, 2, 3})
+        ).affirm();
+    }
+
+    @Test
+    public void stripsPadding() throws Exception {
+        new Assertion<>(
+            "must strip the padding of DATA",
+            new Frame(
+                Frame.DATA, Frame.PADDED, 1, new byte[] {2, 7, 0, 0}
+            ).content(),
+            new IsEqual<>(new byte[] {7})
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTooBigFrame() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Frame(Frame.DATA, 0, 1, new byte[100]).write(out);
+        new Frames(new ByteArrayInputStream(out.toByteArray()), 99).next();
+    }
+
+    @Test(expected = EOFException.class)
+    public void endsWithEof() throws Exception {
+        new Frames(new ByteArrayInputStream(new byte[5])).next();
+    }
+}
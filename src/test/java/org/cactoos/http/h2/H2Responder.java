@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Server side of one HTTP/2 connection, for tests.
+ *
+ * <p>It accepts one connection and answers the given number of requests,
+ * each response has status 200 and the path of the request in the body.
+ * The connection stays open until the latch is released, so the client
+ * reads its responses to the end. It may start as HTTP/1.1 one, which is
+ * upgraded to h2c by the first request, the response to it goes in
+ * stream 1.</p>
+ *
+ * @since 0.1
+ */
+public final class H2Responder implements Callable<Void> {
+
+    /**
+     * The server socket.
+     */
+    private final ServerSocket server;
+
+    /**
+     * How many requests to answer.
+     */
+    private final int count;
+
+    /**
+     * Released when the client is done with responses.
+     */
+    private final CountDownLatch finished;
+
+    /**
+     * The connection starts as HTTP/1.1 one, with an upgrade.
+     */
+    private final boolean upgrade;
+
+    /**
+     * Ctor.
+     * @param server The server socket
+     * @param count How many requests to answer
+     * @param finished Released when the client is done with responses
+     */
+    public H2Responder(final ServerSocket server, final int count,
+        final CountDownLatch finished) {
+        this(server, count, finished, false);
+    }
+
+    /**
+     * Ctor.
+     * @param server The server socket
+     * @param count How many requests to answer
+     * @param finished Released when the client is done with responses
+     * @param upgrade The connection starts as HTTP/1.1 one, with an upgrade
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public H2Responder(final ServerSocket server, final int count,
+        final CountDownLatch finished, final boolean upgrade) {
+        this.server = server;
+        this.count = count;
+        this.finished = finished;
+        this.upgrade = upgrade;
+    }
+
+    @Override
+    public Void call() throws Exception {
+        try (Socket socket = this.server.accept()) {
+            InputStream input = socket.getInputStream();
+            final OutputStream output = socket.getOutputStream();
+            final HpackEncoder encoder = new HpackEncoder();
+            int left = this.count;
+            String path = "";
+            if (this.upgrade) {
+                final ParsedHead head = new ParsedHead(input);
+                path = head.line().split(" ")[1];
+                output.write(
+                    String.join(
+                        "\r\n",
+                        "HTTP/1.1 101 Switching Protocols",
+                        "Connection: Upgrade",
+                        "Upgrade: h2c",
+                        "",
+                        ""
+                    ).getBytes(StandardCharsets.US_ASCII)
+                );
+                input = head.body();
+            }
+            new Frame(Frame.SETTINGS, 0, 0, new byte[0]).write(output);
+            // @checkstyle MagicNumberCheck (1 line)
+            new DataInputStream(input).readFully(new byte[24]);
+            if (this.upgrade) {
+                H2Responder.respond(1, path, encoder, output);
+                left -= 1;
+            }
+            final Frames frames = new Frames(input);
+            final HpackDecoder decoder = new HpackDecoder();
+            while (left > 0) {
+                final Frame frame = frames.next();
+                if (frame.type() == Frame.HEADERS) {
+                    H2Responder.respond(
+                        frame.stream(),
+                        H2Responder.path(decoder.decode(frame.content())),
+                        encoder, output
+                    );
+                    left -= 1;
+                }
+            }
+            this.finished.await();
+        }
+        return null;
+    }
+
+    /**
+     * Write a response.
+     * @param stream Stream identifier
+     * @param path Path of the request
+     * @param encoder Encoder of headers
+     * @param output Where to write
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static void respond(final int stream, final String path,
+        final HpackEncoder encoder, final OutputStream output)
+        throws IOException {
+        new Frame(
+            Frame.HEADERS, Frame.END_HEADERS, stream,
+            encoder.encode(
+                Collections.singletonList(
+                    new AbstractMap.SimpleImmutableEntry<>(":status", "200")
+                )
+            )
+        ).write(output);
+        new Frame(
+            Frame.DATA, Frame.END_STREAM, stream,
+            String.format("Hello, %s", path).getBytes(StandardCharsets.UTF_8)
+        ).write(output);
+        output.flush();
+    }
+
+    /**
+     * The path of the request.
+     * @param fields Request header fields
+     * @return The path
+     */
+    private static String path(
+        final Iterable<Map.Entry<String, String>> fields) {
+        String path = "";
+        for (final Map.Entry<String, String> field : fields) {
+            if (":path".equals(field.getKey())) {
+                path = field.getValue();
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link HpackDecoder}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HpackDecoderTest {
+
+    @Test
+    public void decodesRequestsOfRfc() throws Exception {
+        final HpackDecoder decoder = new HpackDecoder();
+        new Assertion<>(
+            "must decode the first request of RFC 7541, Appendix C.3",
+            decoder.decode(
+                HpackDecoderTest.hex(
+                    "828684410f7777772e6578616d706c652e636f6d"
+                )
+            ).toString(),
+            new IsEqual<>(
+                // @checkstyle LineLength (1 line)
+                "[:method=GET, :scheme=http, :path=/, :authority=www.example.com]"
+            )
+        ).affirm();
+        new Assertion<>(
+            "must decode the second request, with the dynamic table",
+            decoder.decode(
+                HpackDecoderTest.hex("828684be58086e6f2d6361636865")
+            ).toString(),
+            new IsEqual<>(
+                // @checkstyle LineLength (1 line)
+                "[:method=GET, :scheme=http, :path=/, :authority=www.example.com, cache-control=no-cache]"
+            )
+        ).affirm();
+        new Assertion<>(
+            "must decode the third request, with the dynamic table",
+            decoder.decode(
+                HpackDecoderTest.hex(
+                    // @checkstyle LineLength (1 line)
+                    "828785bf400a637573746f6d2d6b65790c637573746f6d2d76616c7565"
+                )
+            ).toString(),
+            new IsEqual<>(
+                // @checkstyle LineLength (1 line)
+                "[:method=GET, :scheme=https, :path=/index.html, :authority=www.example.com, custom-key=custom-value]"
+            )
+        ).affirm();
+    }
+
+    @Test
+    public void decodesHuffmanStrings() throws Exception {
+        new Assertion<>(
+            "must decode the request of RFC 7541, Appendix C.4.1",
+            new HpackDecoder().decode(
+                HpackDecoderTest.hex(
+                    "828684418cf1e3c2e5f23a6ba0ab90f4ff"
+                )
+            ).toString(),
+            new IsEqual<>(
+                // @checkstyle LineLength (1 line)
+                "[:method=GET, :scheme=http, :path=/, :authority=www.example.com]"
+            )
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void forgetsEntriesAfterTableShrinks() throws Exception {
+        final HpackDecoder decoder = new HpackDecoder();
+        decoder.decode(HpackDecoderTest.hex("4001610162"));
+        decoder.decode(HpackDecoderTest.hex("20"));
+        decoder.decode(HpackDecoderTest.hex("be"));
+    }
+
+    @Test
+    public void findsEntryInDynamicTable() throws Exception {
+        final HpackDecoder decoder = new HpackDecoder();
+        decoder.decode(HpackDecoderTest.hex("4001610162"));
+        new Assertion<>(
+            "must find the entry added by the previous block",
+            decoder.decode(HpackDecoderTest.hex("be")).toString(),
+            new IsEqual<>("[a=b]")
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownIndex() throws Exception {
+        new HpackDecoder().decode(HpackDecoderTest.hex("be"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedBlock() throws Exception {
+        new HpackDecoder().decode(HpackDecoderTest.hex("400a6375"));
+    }
+
+    /**
+     * Bytes of hex.
+     * @param hex Hex
+     * @return Bytes
+     */
+    private static byte[] hex(final String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int idx = 0; idx < bytes.length; ++idx) {
+            bytes[idx] = (byte) Integer.parseInt(
+                hex.substring(idx * 2, idx * 2 + 2), 16
+            );
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link HpackEncoder}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HpackEncoderTest {
+
+    @Test
+    public void encodesStaticEntryAsIndex() {
+        new Assertion<>(
+            "must encode :method GET as index 2",
+            new HpackEncoder().encode(
+                HpackEncoderTest.fields(":method", "GET")
+            ),
+            new IsEqual<>(new byte[] {(byte) 0x82})
+        ).affirm();
+    }
+
+    @Test
+    public void encodesWhatDecoderDecodes() throws Exception {
+        new Assertion<>(
+            "must encode fields, that are decoded back",
+            new HpackDecoder().decode(
+                new HpackEncoder().encode(
+                    HpackEncoderTest.fields(
+                        ":path", "/index.html", "X-Custom", "a value"
+                    )
+                )
+            ).toString(),
+            new IsEqual<>("[:path=/index.html, x-custom=a value]")
+        ).affirm();
+    }
+
+    @Test
+    public void indexesRepeatedFields() {
+        final HpackEncoder encoder = new HpackEncoder();
+        encoder.encode(
+            HpackEncoderTest.fields("authorization", "Bearer some-long-token")
+        );
+        new Assertion<>(
+            "must send the repeated field as index of the dynamic table",
+            encoder.encode(
+                HpackEncoderTest.fields(
+                    "authorization", "Bearer some-long-token"
+                )
+            ),
+            new IsEqual<>(new byte[] {(byte) 0xbe})
+        ).affirm();
+    }
+
+    @Test
+    public void neverIndexesSensitiveFields() throws Exception {
+        final HpackEncoder encoder = new HpackEncoder(
+            Collections.singleton("cookie")
+        );
+        final HpackDecoder decoder = new HpackDecoder();
+        decoder.decode(
+            encoder.encode(HpackEncoderTest.fields("cookie", "a=b"))
+        );
+        final byte[] block = encoder.encode(
+            HpackEncoderTest.fields("cookie", "a=b")
+        );
+        new Assertion<>(
+            "must send the sensitive field as never indexed literal",
+            block[0] & 0xf0,
+            new IsEqual<>(0x10)
+        ).affirm();
+        new Assertion<>(
+            "must send the sensitive field, that is decoded back",
+            decoder.decode(block).toString(),
+            new IsEqual<>("[cookie=a=b]")
+        ).affirm();
+    }
+
+    @Test
+    public void announcesTableSizeUpdate() throws Exception {
+        final HpackEncoder encoder = new HpackEncoder();
+        final HpackDecoder decoder = new HpackDecoder();
+        decoder.decode(encoder.encode(HpackEncoderTest.fields("x-a", "b")));
+        encoder.capacity(0);
+        encoder.capacity(100);
+        final byte[] block = encoder.encode(
+            HpackEncoderTest.fields("x-a", "b")
+        );
+        new Assertion<>(
+            "must start the block with the smallest table size",
+            block[0],
+            new IsEqual<>((byte) 0x20)
+        ).affirm();
+        new Assertion<>(
+            "must encode the block after the update, that is decoded back",
+            decoder.decode(block).toString(),
+            new IsEqual<>("[x-a=b]")
+        ).affirm();
+    }
+
+    @Test
+    public void encodesNonAsciiInUtf() throws Exception {
+        new Assertion<>(
+            "must encode the value in UTF-8",
+            new HpackDecoder().decode(
+                new HpackEncoder().encode(
+                    HpackEncoderTest.fields("x-name", "\u00e9")
+                )
+            ).get(0).getValue(),
+            new IsEqual<>("\u00c3\u00a9")
+        ).affirm();
+    }
+
+    @Test
+    public void encodesLongValues() throws Exception {
+        final String value = new String(new char[1000]).replace('\0', 'v');
+        new Assertion<>(
+            "must encode value longer than the integer prefix",
+            new HpackDecoder().decode(
+                new HpackEncoder().encode(
+                    HpackEncoderTest.fields("x-long", value)
+                )
+            ).get(0).getValue(),
+            new IsEqual<>(value)
+        ).affirm();
+    }
+
+    /**
+     * Header fields of names and values.
+     * @param pairs Names and values
+     * @return Fields
+     */
+    private static List<Map.Entry<String, String>> fields(
+        final String... pairs) {
+        final List<Map.Entry<String, String>> fields = new LinkedList<>();
+        for (int idx = 0; idx < pairs.length; idx += 2) {
+            fields.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    pairs[idx], pairs[idx + 1]
+                )
+            );
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Huffman}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class HuffmanTest {
+
+    @Test
+    public void decodesExampleFromRfc() throws Exception {
+        final byte[] code = HuffmanTest.bytes(
+            0xf1, 0xe3, 0xc2, 0xe5, 0xf2, 0x3a, 0x6b, 0xa0, 0xab, 0x90,
+            0xf4, 0xff
+        );
+        new Assertion<>(
+            "must decode string of RFC 7541, Appendix C.4.1",
+            new String(
+                Huffman.decode(code, 0, code.length),
+                StandardCharsets.ISO_8859_1
+            ),
+            new IsEqual<>("www.example.com")
+        ).affirm();
+    }
+
+    @Test
+    public void decodesPartOfArray() throws Exception {
+        final byte[] code = HuffmanTest.bytes(
+            0x00, 0xa8, 0xeb, 0x10, 0x64, 0x9c, 0xbf, 0x00
+        );
+        new Assertion<>(
+            "must decode only the bytes asked",
+            new String(
+                Huffman.decode(code, 1, 6), StandardCharsets.ISO_8859_1
+            ),
+            new IsEqual<>("no-cache")
+        ).affirm();
+    }
+
+    @Test
+    public void encodesExampleFromRfc() {
+        final byte[] code = new byte[Huffman.length("www.example.com")];
+        Huffman.encode("www.example.com", code, 0);
+        new Assertion<>(
+            "must encode string of RFC 7541, Appendix C.4.1",
+            code,
+            new IsEqual<>(
+                HuffmanTest.bytes(
+                    0xf1, 0xe3, 0xc2, 0xe5, 0xf2, 0x3a, 0x6b, 0xa0, 0xab,
+                    0x90, 0xf4, 0xff
+                )
+            )
+        ).affirm();
+    }
+
+    @Test
+    public void decodesWhatItEncodes() throws Exception {
+        final StringBuilder all = new StringBuilder(256);
+        for (int chr = 0; chr < 256; ++chr) {
+            all.append((char) chr);
+        }
+        final String str = all.toString();
+        final byte[] code = new byte[Huffman.length(str)];
+        Huffman.encode(str, code, 0);
+        new Assertion<>(
+            "must decode every octet back",
+            new String(
+                Huffman.decode(code, 0, code.length),
+                StandardCharsets.ISO_8859_1
+            ),
+            new IsEqual<>(str)
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsLongPadding() throws Exception {
+        final byte[] code = HuffmanTest.bytes(
+            0xa8, 0xeb, 0x10, 0x64, 0x9c, 0xbf, 0xff
+        );
+        Huffman.decode(code, 0, code.length);
+    }
+
+    /**
+     * Bytes of ints.
+     * @param ints Ints
+     * @return Bytes
+     */
+    private static byte[] bytes(final int... ints) {
+        final byte[] bytes = new byte[ints.length];
+        for (int idx = 0; idx < ints.length; ++idx) {
+            bytes[idx] = (byte) ints[idx];
+        }
+        return bytes;
+    }
+}
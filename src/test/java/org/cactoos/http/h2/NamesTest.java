@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.h2;
+
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.core.IsSame;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Names}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class NamesTest {
+
+    @Test
+    public void internsNames() {
+        final Names names = new Names();
+        final byte[] name = "x-trace-id".getBytes(StandardCharsets.US_ASCII);
+        new Assertion<>(
+            "must give the same name for the same octets",
+            names.of(name, 0, name.length),
+            new IsSame<>(names.of(name.clone(), 0, name.length))
+        ).affirm();
+    }
+
+    @Test
+    public void knowsNamesOfStaticTable() {
+        final byte[] name = "  accept".getBytes(StandardCharsets.US_ASCII);
+        new Assertion<>(
+            "must give the name of the static table",
+            new Names().of(name, 2, 6),
+            new IsSame<>(StaticTable.name(StaticTable.index("accept")))
+        ).affirm();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.net.Socket;
+import org.hamcrest.core.IsNot;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link AbortScope}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class AbortScopeTest {
+
+    @Test
+    public void closesEnlistedResourcesOnAbort() throws Exception {
+        final AbortScope scope = new AbortScope();
+        final Socket socket = new Socket();
+        scope.value(
+            () -> {
+                AbortScope.enlist(socket);
+                return scope.abort();
+            }
+        );
+        new Assertion<>(
+            "must close the enlisted socket",
+            socket.isClosed(),
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    public void abortsOuterScopeToo() throws Exception {
+        final AbortScope outer = new AbortScope();
+        final Socket socket = new Socket();
+        outer.value(
+            () -> new AbortScope().value(
+                () -> {
+                    AbortScope.enlist(socket);
+                    return outer.abort();
+                }
+            )
+        );
+        new Assertion<>(
+            "must close the socket enlisted in the inner scope",
+            socket.isClosed(),
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    public void doesNotAbortFinishedScope() throws Exception {
+        final AbortScope scope = new AbortScope();
+        try (Socket socket = new Socket()) {
+            scope.value(
+                () -> {
+                    AbortScope.enlist(socket);
+                    return socket;
+                }
+            );
+            scope.abort();
+            new Assertion<>(
+                "must not close the socket after the scope is finished",
+                socket.isClosed(),
+                new IsNot<>(new IsTrue())
+            ).affirm();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void closesResourcesEnlistedAfterAbort() throws Exception {
+        final AbortScope scope = new AbortScope();
+        scope.value(
+            () -> {
+                scope.abort();
+                AbortScope.enlist(new Socket());
+                return scope;
+            }
+        );
+    }
+}
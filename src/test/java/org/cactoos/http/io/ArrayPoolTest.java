@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsSame;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link ArrayPool}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ArrayPoolTest {
+
+    @Test
+    public void reusesReleasedArray() {
+        final ArrayPool pool = new ArrayPool(1024, 2, 1);
+        final byte[] array = pool.acquire(100);
+        pool.release(array);
+        new Assertion<>(
+            "must give the released array again",
+            pool.acquire(1000),
+            new IsSame<>(array)
+        ).affirm();
+    }
+
+    @Test
+    public void takesSmallestClassThatFits() {
+        new Assertion<>(
+            "must round the capacity up to the class size",
+            new ArrayPool(1024, 3, 1).acquire(1500).length,
+            new IsEqual<>(2048)
+        ).affirm();
+    }
+
+    @Test
+    public void doesNotKeepBiggerArrays() {
+        final ArrayPool pool = new ArrayPool(1024, 2, 1);
+        final byte[] array = pool.acquire(5000);
+        pool.release(array);
+        new Assertion<>(
+            "must not pool arrays bigger than the biggest class",
+            pool.acquire(5000),
+            new IsNot<>(new IsSame<>(array))
+        ).affirm();
+    }
+
+    @Test
+    public void sharesArraysBetweenThreads() throws Exception {
+        final ArrayPool pool = new ArrayPool(1024, 1, 4);
+        final byte[] first = pool.acquire(1024);
+        final byte[] second = pool.acquire(1024);
+        pool.release(first);
+        pool.release(second);
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            new Assertion<>(
+                "must give the shared idle array to another thread",
+                exec.submit(() -> pool.acquire(1024)).get(),
+                new IsSame<>(second)
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void countsLeasedArrays() {
+        final ArrayPool pool = new ArrayPool();
+        final byte[] array = pool.acquire(4096);
+        pool.acquire(100_000);
+        pool.release(array);
+        new Assertion<>(
+            "must count arrays that are not given back",
+            pool.leased(),
+            new IsEqual<>(1L)
+        ).affirm();
+    }
+}
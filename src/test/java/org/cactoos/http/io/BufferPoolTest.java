@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.nio.ByteBuffer;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsSame;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link BufferPool}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class BufferPoolTest {
+
+    @Test
+    public void reusesReleasedBuffer() {
+        final BufferPool pool = new BufferPool(1024, 1);
+        final ByteBuffer buffer = pool.acquire(100);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        new Assertion<>(
+            "must give the released buffer again",
+            pool.acquire(100),
+            new IsSame<>(buffer)
+        ).affirm();
+        new Assertion<>(
+            "must clear the released buffer",
+            buffer.position(),
+            new IsEqual<>(0)
+        ).affirm();
+    }
+
+    @Test
+    public void allocatesBiggerBufferIfAsked() {
+        final BufferPool pool = new BufferPool(1024, 1);
+        pool.release(pool.acquire(1024));
+        new Assertion<>(
+            "must allocate a buffer of the capacity asked",
+            pool.acquire(4096).capacity(),
+            new IsEqual<>(4096)
+        ).affirm();
+    }
+
+    @Test
+    public void keepsNoMoreThanMaximum() {
+        final BufferPool pool = new BufferPool(1024, 1);
+        final ByteBuffer first = pool.acquire(1024);
+        final ByteBuffer second = pool.acquire(1024);
+        pool.release(first);
+        pool.release(second);
+        pool.acquire(1024);
+        new Assertion<>(
+            "must drop buffers above the maximum",
+            pool.acquire(1024),
+            new IsNot<>(new IsSame<>(second))
+        ).affirm();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.Joined;
+import org.cactoos.text.TextOf;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link ChunkedInputStream}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class ChunkedInputStreamTest {
+
+    @Test
+    public void decodesChunks() throws Exception {
+        new Assertion<>(
+            "must decode all chunks",
+            new TextOf(
+                new ReadBytes(
+                    new ChunkedInputStream(
+                        new InputOf(
+                            new Joined(
+                                "\r\n",
+                                "5;name=value",
+                                "Hello",
+                                "8",
+                                ", world!",
+                                "0",
+                                "",
+                                ""
+                            )
+                        ).stream()
+                    )
+                )
+            ),
+            new TextIs("Hello, world!")
+        ).affirm();
+    }
+
+    @Test
+    public void stopsAfterTrailer() throws Exception {
+        final InputStream origin = new InputOf(
+            new Joined(
+                "\r\n",
+                "3",
+                "abc",
+                "0",
+                "Expires: never",
+                "",
+                "HTTP/1.1 200 OK"
+            )
+        ).stream();
+        new ReadBytes(new ChunkedInputStream(origin)).asBytes();
+        new Assertion<>(
+            "must leave the next message unread",
+            new TextOf(new ReadBytes(origin)),
+            new TextIs("HTTP/1.1 200 OK")
+        ).affirm();
+    }
+
+    @Test(expected = EOFException.class)
+    public void failsOnTruncatedChunk() throws Exception {
+        new ReadBytes(
+            new ChunkedInputStream(new InputOf("a\r\nabc").stream())
+        ).asBytes();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link EventLoop}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class EventLoopTest {
+
+    @Test
+    public void callsHandlerWhenChannelIsReady() throws Exception {
+        final Pipe pipe = Pipe.open();
+        final CountDownLatch ready = new CountDownLatch(1);
+        try (EventLoop loop = new EventLoop(1)) {
+            pipe.source().configureBlocking(false);
+            loop.register(
+                pipe.source(), SelectionKey.OP_READ,
+                key -> {
+                    key.interestOps(0);
+                    ready.countDown();
+                }
+            );
+            pipe.sink().write(ByteBuffer.wrap(new byte[] {1}));
+            new Assertion<>(
+                "must call the handler of the ready channel",
+                ready.await(1L, TimeUnit.MINUTES),
+                new IsTrue()
+            ).affirm();
+        } finally {
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    public void closesChannelsOnClose() throws Exception {
+        final Pipe pipe = Pipe.open();
+        final EventLoop loop = new EventLoop(1);
+        pipe.source().configureBlocking(false);
+        loop.register(pipe.source(), SelectionKey.OP_READ, key -> { });
+        loop.close();
+        final long start = System.currentTimeMillis();
+        while (pipe.source().isOpen()
+            && System.currentTimeMillis() - start < 1000L) {
+            Thread.sleep(10L);
+        }
+        new Assertion<>(
+            "must close registered channels",
+            !pipe.source().isOpen(),
+            new IsTrue()
+        ).affirm();
+        pipe.sink().close();
+    }
+
+    @Test(expected = ExecutionException.class, timeout = 5000)
+    public void failsExchangeOnClose() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final EventLoop loop = new EventLoop(1);
+            final SocketChannel channel = SocketChannel.open(
+                new InetSocketAddress("localhost", server.getLocalPort())
+            );
+            channel.configureBlocking(false);
+            final ChannelExchange exchange = new ChannelExchange(
+                channel,
+                ByteBuffer.wrap(
+                    "GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.UTF_8)
+                ),
+                loop
+            );
+            loop.register(channel, SelectionKey.OP_WRITE, exchange);
+            loop.close();
+            exchange.response().get();
+        }
+    }
+
+    @Test
+    public void failsHandlerWhichThrows() throws Exception {
+        final Pipe pipe = Pipe.open();
+        final CountDownLatch failed = new CountDownLatch(1);
+        try (EventLoop loop = new EventLoop(1)) {
+            pipe.source().configureBlocking(false);
+            loop.register(
+                pipe.source(), SelectionKey.OP_READ,
+                new ChannelHandler() {
+                    @Override
+                    public void exec(final SelectionKey key) {
+                        throw new IllegalStateException("broken");
+                    }
+
+                    @Override
+                    public void fail(final IOException cause) {
+                        failed.countDown();
+                    }
+                }
+            );
+            pipe.sink().write(ByteBuffer.wrap(new byte[] {1}));
+            new Assertion<>(
+                "must fail the handler which throws",
+                failed.await(1L, TimeUnit.MINUTES),
+                new IsTrue()
+            ).affirm();
+        } finally {
+            pipe.sink().close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.io.InputOf;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link LeasedInputStream}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class LeasedInputStreamTest {
+
+    @Test
+    public void releasesAfterEof() throws Exception {
+        final AtomicReference<Boolean> eof = new AtomicReference<>(false);
+        try (InputStream stream = new LeasedInputStream(
+            new InputOf("Hello").stream(), eof::set
+        )) {
+            new ReadBytes(stream).asBytes();
+        }
+        new Assertion<>(
+            "must release with EOF reached",
+            eof.get(),
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    public void releasesBeforeEof() throws Exception {
+        final AtomicReference<Boolean> eof = new AtomicReference<>(true);
+        try (InputStream stream = new LeasedInputStream(
+            new InputOf("Hello, world!").stream(), eof::set
+        )) {
+            stream.read();
+        }
+        new Assertion<>(
+            "must release with EOF not reached",
+            eof.get(),
+            new IsNot<>(new IsTrue())
+        ).affirm();
+    }
+
+    @Test
+    public void doesNotCloseOrigin() throws Exception {
+        final CloseableInputStream origin = new CloseableInputStream(
+            new InputOf("Hey").stream()
+        );
+        new LeasedInputStream(origin, eof -> { }).close();
+        new Assertion<>(
+            "must leave the origin stream to the release procedure",
+            origin.wasClosed(),
+            new IsEqual<>(false)
+        ).affirm();
+    }
+}
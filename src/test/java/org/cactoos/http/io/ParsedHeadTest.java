@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import org.cactoos.io.InputOf;
+import org.cactoos.list.ListOf;
+import org.cactoos.text.Joined;
+import org.cactoos.text.Repeated;
+import org.cactoos.text.TextOf;
+import org.hamcrest.collection.IsMapContaining;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextIs;
+
+/**
+ * Test case for {@link ParsedHead}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class ParsedHeadTest {
+
+    @Test
+    public void parsesStatus() throws Exception {
+        new Assertion<>(
+            "must parse the status code",
+            new ParsedHead(
+                new InputOf(
+                    new Joined("\r\n", "HTTP/1.1 404 Not Found", "", "")
+                ).stream()
+            ).status(),
+            new IsEqual<>(404)
+        ).affirm();
+    }
+
+    @Test
+    public void parsesHeadersWithLoweredNames() throws Exception {
+        new Assertion<>(
+            "must group values of the same header",
+            new ParsedHead(
+                new InputOf(
+                    new Joined(
+                        "\r\n",
+                        "HTTP/1.1 200 OK",
+                        "Set-Cookie: a=1",
+                        "set-cookie:b=2  ",
+                        "",
+                        "Set-Cookie: c=3"
+                    )
+                ).stream()
+            ).headers(),
+            new IsMapContaining<>(
+                new IsEqual<>("set-cookie"),
+                new IsEqual<>(new ListOf<>("a=1", "b=2"))
+            )
+        ).affirm();
+    }
+
+    @Test
+    public void keepsHeadWithoutEmptyLine() throws Exception {
+        new Assertion<>(
+            "must return the head only",
+            new TextOf(
+                new ReadBytes(
+                    new ParsedHead(
+                        new InputOf(
+                            new Joined(
+                                "\r\n", "HTTP/1.1 200 OK", "A: b", "", "body"
+                            )
+                        ).stream()
+                    ).head()
+                )
+            ),
+            new TextIs("HTTP/1.1 200 OK\r\nA: b")
+        ).affirm();
+    }
+
+    @Test
+    public void startsBodyAfterEmptyLine() throws Exception {
+        final String body = new Repeated("body", 3000).asString();
+        new Assertion<>(
+            "must position the body right after the empty line",
+            new TextOf(
+                new ReadBytes(
+                    new ParsedHead(
+                        new InputOf(
+                            new Joined("\r\n", "HTTP/1.1 200 OK", "", body)
+                        ).stream()
+                    ).body()
+                )
+            ),
+            new TextIs(body)
+        ).affirm();
+    }
+
+    @Test
+    public void replaysMessage() throws Exception {
+        final String message = "HTTP/1.1 200 OK\r\nA: b\r\n\r\nHello";
+        new Assertion<>(
+            "must return the whole message again",
+            new TextOf(
+                new ReadBytes(
+                    new ParsedHead(new InputOf(message).stream()).message()
+                )
+            ),
+            new TextIs(message)
+        ).affirm();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.net.Socket;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Protocols}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ProtocolsTest {
+
+    @Test
+    public void knowsNothingAtFirst() {
+        new Assertion<>(
+            "must not know the protocol of a new origin",
+            new Protocols().chosen("localhost", 443),
+            new IsEqual<>("")
+        ).affirm();
+    }
+
+    @Test
+    public void remembersHttpOfPlainSocket() throws Exception {
+        final Protocols protocols = new Protocols();
+        try (Socket socket = new Socket()) {
+            protocols.remember("localhost", 8080, socket);
+        }
+        new Assertion<>(
+            "must remember HTTP/1.1 if nothing was negotiated",
+            protocols.chosen("localhost", 8080),
+            new IsEqual<>(Protocols.HTTP)
+        ).affirm();
+    }
+
+    @Test
+    public void remembersUpgradeByOrigin() {
+        final Protocols protocols = new Protocols();
+        protocols.remember("localhost", 80, Protocols.H2C);
+        new Assertion<>(
+            "must remember h2c of another port apart",
+            protocols.chosen("localhost", 8080),
+            new IsEqual<>("")
+        ).affirm();
+        new Assertion<>(
+            "must remember h2c of the origin",
+            protocols.chosen("localhost", 80),
+            new IsEqual<>(Protocols.H2C)
+        ).affirm();
+    }
+}
@@ -66,8 +66,12 @@ public final class ReadBytes implements Bytes {
             () -> {
                 final ByteArrayOutputStream baos = new ByteArrayOutputStream();
                 final byte[] buf = new byte[max];
-                while (input.read(buf) >= 0) {
-                    baos.write(buf);
+                while (true) {
+                    final int len = input.read(buf);
+                    if (len < 0) {
+                        break;
+                    }
+                    baos.write(buf, 0, len);
                 }
                 return baos.toByteArray();
             }
@@ -27,10 +27,13 @@ package org.cactoos.http.io;
 import org.cactoos.io.BytesOf;
 import org.cactoos.io.InputOf;
 import org.cactoos.text.Joined;
+import org.cactoos.text.Repeated;
 import org.cactoos.text.TextOf;
 import org.hamcrest.MatcherAssert;
 import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
 import org.llorllale.cactoos.matchers.TextHasString;
+import org.llorllale.cactoos.matchers.TextIs;
 
 /**
  * Test case for {@link SkipInput}.
@@ -94,4 +97,39 @@ public final class SkipInputTest {
             new TextHasString("")
         );
     }
+
+    @Test
+    public void findsOverlappingDelimiter() throws Exception {
+        new Assertion<>(
+            "must find the delimiter overlapping its own prefix",
+            new TextOf(
+                new SkipInput(
+                    new InputOf("\r\n\r\r\n\r\nbody"),
+                    new BytesOf("\r\n\r\n")
+                )
+            ),
+            new TextIs("body")
+        ).affirm();
+    }
+
+    @Test
+    public void keepsEverythingAfterDelimiter() throws Exception {
+        final String suffix = new Repeated("0123456789", 1000).asString();
+        new Assertion<>(
+            "must keep the bytes read together with the delimiter",
+            new TextOf(
+                new SkipInput(
+                    new InputOf(
+                        new Joined(
+                            "\r\n\r\n",
+                            new Repeated("x", 4094).asString(),
+                            suffix
+                        )
+                    ),
+                    new BytesOf("\r\n\r\n")
+                )
+            ),
+            new TextIs(suffix)
+        ).affirm();
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link SocketPool}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class SocketPoolTest {
+
+    @Test
+    public void reusesReleasedSocket() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final String host = "localhost";
+            final int port = server.getLocalPort();
+            final SocketPool pool = new SocketPool();
+            final Socket socket = pool.lease(host, port);
+            try (Socket peer = server.accept()) {
+                pool.release(host, port, socket);
+                new Assertion<>(
+                    "must lease the released socket again",
+                    pool.lease(host, port),
+                    new IsEqual<>(socket)
+                ).affirm();
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void dropsSocketClosedByServer() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final String host = "localhost";
+            final int port = server.getLocalPort();
+            final SocketPool pool = new SocketPool();
+            final Socket socket = pool.lease(host, port);
+            server.accept().close();
+            pool.release(host, port, socket);
+            try (Socket fresh = pool.lease(host, port)) {
+                new Assertion<>(
+                    "must not lease a socket closed by the server",
+                    fresh,
+                    new IsNot<>(new IsEqual<>(socket))
+                ).affirm();
+                new Assertion<>(
+                    "must close the stale socket",
+                    socket.isClosed(),
+                    new IsTrue()
+                ).affirm();
+            }
+        }
+    }
+
+    @Test
+    public void makesFreshSocketPastIdleOnes() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final String host = "localhost";
+            final int port = server.getLocalPort();
+            final SocketPool pool = new SocketPool();
+            final Socket socket = pool.lease(host, port);
+            try (Socket peer = server.accept()) {
+                pool.release(host, port, socket);
+                try (Socket fresh = pool.fresh(host, port)) {
+                    new Assertion<>(
+                        "must not take the idle socket",
+                        fresh,
+                        new IsNot<>(new IsEqual<>(socket))
+                    ).affirm();
+                }
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void closesSocketWhenFull() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            final String host = "localhost";
+            final int port = server.getLocalPort();
+            final SocketPool pool = new SocketPool(Socket::new, 0);
+            final Socket socket = pool.lease(host, port);
+            pool.release(host, port, socket);
+            new Assertion<>(
+                "must close the socket which doesn't fit into the pool",
+                socket.isClosed(),
+                new IsTrue()
+            ).affirm();
+        }
+    }
+}
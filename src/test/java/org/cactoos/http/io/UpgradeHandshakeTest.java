@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.io.ByteArrayInputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+
+/**
+ * Test case for {@link UpgradeHandshake}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+public final class UpgradeHandshakeTest {
+
+    @Test(timeout = 10_000)
+    public void switchesToProtocol() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> request = exec.submit(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        final ParsedHead head = new ParsedHead(
+                            socket.getInputStream()
+                        );
+                        final String text = new TextOf(head.head()).asString();
+                        socket.getOutputStream().write(
+                            String.join(
+                                "\r\n",
+                                "HTTP/1.1 101 Switching Protocols",
+                                "Connection: Upgrade",
+                                "Upgrade: echo",
+                                "",
+                                "frames"
+                            ).getBytes(StandardCharsets.US_ASCII)
+                        );
+                        return text;
+                    }
+                }
+            );
+            try (Socket socket = new Socket(
+                "localhost", server.getLocalPort()
+            )) {
+                final UpgradeHandshake handshake = new UpgradeHandshake(
+                    socket, "echo", Collections.singletonMap("X-Key", "abc")
+                );
+                final ParsedHead response = handshake.exchange(
+                    new ByteArrayInputStream(
+                        String.join(
+                            "\r\n",
+                            "GET /chat HTTP/1.1",
+                            "Host: localhost",
+                            "Connection: close",
+                            "",
+                            ""
+                        ).getBytes(StandardCharsets.US_ASCII)
+                    )
+                );
+                new Assertion<>(
+                    "must detect the switch to the protocol",
+                    handshake.switched(response),
+                    new IsEqual<>(true)
+                ).affirm();
+                new Assertion<>(
+                    "must give bytes of the new protocol after the head",
+                    new TextOf(response.body()),
+                    new TextHasString("frames")
+                ).affirm();
+            }
+            new Assertion<>(
+                "must replace Connection header of the request",
+                new TextOf(request.get()),
+                new TextHasString(
+                    String.join(
+                        "\r\n",
+                        "Host: localhost",
+                        "Connection: Upgrade",
+                        "Upgrade: echo",
+                        "X-Key: abc"
+                    )
+                )
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void refusesOtherProtocol() throws Exception {
+        new Assertion<>(
+            "must not take 101 of another protocol as the switch",
+            new UpgradeHandshake(
+                new Socket(), "websocket", Collections.emptyMap()
+            ).switched(
+                new ParsedHead(
+                    new ByteArrayInputStream(
+                        String.join(
+                            "\r\n",
+                            "HTTP/1.1 101 Switching Protocols",
+                            "Upgrade: h2c",
+                            "",
+                            ""
+                        ).getBytes(StandardCharsets.US_ASCII)
+                    )
+                )
+            ),
+            new IsEqual<>(false)
+        ).affirm();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.io;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.core.IsNot;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link WheelTimer}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WheelTimerTest {
+
+    @Test
+    public void runsTaskAfterDelay() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        final long delay = 100L;
+        final long start = System.nanoTime();
+        try (WheelTimer timer = new WheelTimer()) {
+            timer.schedule(done::countDown, delay);
+            done.await(1L, TimeUnit.MINUTES);
+        }
+        new Assertion<>(
+            "must not run the task before the delay",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= delay,
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    public void runsTaskAfterManyTurns() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        try (WheelTimer timer = new WheelTimer(1L, 4)) {
+            timer.schedule(done::countDown, 50L);
+            new Assertion<>(
+                "must run the task after a few turns of the wheel",
+                done.await(1L, TimeUnit.MINUTES),
+                new IsTrue()
+            ).affirm();
+        }
+    }
+
+    @Test
+    public void doesNotRunCancelledTask() throws Exception {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final CountDownLatch after = new CountDownLatch(1);
+        try (WheelTimer timer = new WheelTimer()) {
+            timer.schedule(() -> ran.set(true), 20L).cancel();
+            timer.schedule(after::countDown, 100L);
+            after.await(1L, TimeUnit.MINUTES);
+        }
+        new Assertion<>(
+            "must not run the cancelled task",
+            ran.get(),
+            new IsNot<>(new IsTrue())
+        ).affirm();
+    }
+}
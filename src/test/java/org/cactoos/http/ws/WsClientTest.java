@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.EOFException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.TextHasString;
+
+/**
+ * Test case for {@link WsClient}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsClientTest {
+
+    @Test(timeout = 10_000)
+    public void exchangesCompressedMessages() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> log = exec.submit(
+                new WsEcho(server, true, 1000)
+            );
+            final byte[] data = new byte[200_000];
+            new Random(0L).nextBytes(data);
+            try (WsConnection conn = WsClientTest.client(server, 0L)) {
+                conn.send("{\"symbol\":\"ACME\",\"price\":101.5}");
+                new Assertion<>(
+                    "must receive the text back",
+                    conn.receive().asString(),
+                    new IsEqual<>("{\"symbol\":\"ACME\",\"price\":101.5}")
+                ).affirm();
+                conn.send(data);
+                new Assertion<>(
+                    "must receive the fragments of big message back",
+                    conn.receive().bytes(),
+                    new IsEqual<>(data)
+                ).affirm();
+            }
+            new Assertion<>(
+                "must answer the ping and close",
+                new TextOf(log.get()),
+                new TextHasString("pong:hi close")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void exchangesPlainMessages() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            exec.submit(new WsEcho(server, false, 3));
+            try (WsConnection conn = WsClientTest.client(server, 0L)) {
+                conn.send(new byte[] {1, 2, 3, 4, 5, 6, 7});
+                final WsMessage msg = conn.receive();
+                new Assertion<>(
+                    "must receive binary message in fragments",
+                    msg.bytes(),
+                    new IsEqual<>(new byte[] {1, 2, 3, 4, 5, 6, 7})
+                ).affirm();
+                new Assertion<>(
+                    "must tell binary message from text",
+                    msg.text(),
+                    new IsEqual<>(false)
+                ).affirm();
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void pingsIdleServer() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> log = exec.submit(
+                new WsEcho(server, true, 1000)
+            );
+            try (WsConnection conn = WsClientTest.client(server, 100L)) {
+                Thread.sleep(500L);
+                conn.send("after a pause");
+                conn.receive();
+            }
+            new Assertion<>(
+                "must ping the server while idle",
+                new TextOf(log.get()),
+                new TextHasString("ping ping")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void endsWithCloseOfServer() throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try (ServerSocket server = new ServerSocket(0)) {
+            final Future<String> log = exec.submit(
+                new WsEcho(server, false, 10)
+            );
+            String status = "";
+            try (WsConnection conn = WsClientTest.client(server, 0L)) {
+                conn.send("close");
+                conn.receive();
+            } catch (final EOFException ex) {
+                status = ex.getMessage();
+            }
+            new Assertion<>(
+                "must tell the status of the server",
+                new TextOf(status),
+                new TextHasString("1000")
+            ).affirm();
+            new Assertion<>(
+                "must send close back",
+                new TextOf(log.get()),
+                new TextHasString("close")
+            ).affirm();
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    /**
+     * Connect to the server.
+     * @param server The server
+     * @param keepalive Keepalive interval
+     * @return The connection
+     * @throws Exception If fails
+     */
+    private static WsConnection client(final ServerSocket server,
+        final long keepalive) throws Exception {
+        return new WsClient(
+            new URI(String.format("ws://localhost:%d/", server.getLocalPort())),
+            Collections.emptyMap(), true, keepalive
+        ).connect();
+    }
+}
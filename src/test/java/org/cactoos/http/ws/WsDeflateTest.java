@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link WsDeflate}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsDeflateTest {
+
+    @Test
+    public void inflatesMessagesWithSharedWindow() throws Exception {
+        final WsDeflate deflate = new WsDeflate(false);
+        final byte[] first = {
+            (byte) 0xf2, 0x48, (byte) 0xcd, (byte) 0xc9, (byte) 0xc9, 0x07,
+            0x00,
+        };
+        final byte[] second = {(byte) 0xf2, 0x00, 0x11, 0x00, 0x00};
+        new Assertion<>(
+            "must inflate the first message of RFC 7692, Section 7.2.3.2",
+            new String(
+                deflate.decompress(first, first.length, 100),
+                StandardCharsets.US_ASCII
+            ),
+            new IsEqual<>("Hello")
+        ).affirm();
+        new Assertion<>(
+            "must inflate the second message with the window of the first",
+            new String(
+                deflate.decompress(second, second.length, 100),
+                StandardCharsets.US_ASCII
+            ),
+            new IsEqual<>("Hello")
+        ).affirm();
+    }
+
+    @Test
+    public void takesContextOver() throws Exception {
+        final WsDeflate deflate = new WsDeflate(false);
+        final byte[] text = "{\"symbol\":\"ACME\",\"price\":101.5}"
+            .getBytes(StandardCharsets.US_ASCII);
+        final int first = deflate.compress(text).length;
+        new Assertion<>(
+            "must compress the same message shorter the second time",
+            deflate.compress(text).length < first,
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    public void compressesBackAndForth() throws Exception {
+        final WsDeflate client = new WsDeflate(true);
+        final WsDeflate server = new WsDeflate(false);
+        final byte[] data = new byte[100_000];
+        new Random(0L).nextBytes(data);
+        for (int idx = 0; idx < data.length; idx += 3) {
+            data[idx] = 'x';
+        }
+        for (final byte[] msg : new byte[][] {data, new byte[0], data}) {
+            final byte[] packed = client.compress(msg);
+            new Assertion<>(
+                "must inflate what was deflated",
+                server.decompress(packed, packed.length, 1 << 20),
+                new IsEqual<>(msg)
+            ).affirm();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void refusesBombs() throws Exception {
+        final byte[] packed = new WsDeflate(false).compress(new byte[10_000]);
+        new WsDeflate(false).decompress(packed, packed.length, 1000);
+    }
+
+    @Test
+    public void resetsContextIfServerAsks() throws Exception {
+        final WsDeflate deflate = WsDeflate.accepted(
+            String.join(
+                "; ", "permessage-deflate", "server_no_context_takeover",
+                "client_no_context_takeover", "server_max_window_bits=10"
+            )
+        );
+        final byte[] text = "{\"symbol\":\"ACME\",\"price\":101.5}"
+            .getBytes(StandardCharsets.US_ASCII);
+        new Assertion<>(
+            "must compress each message on its own",
+            deflate.compress(text),
+            new IsEqual<>(deflate.compress(text))
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void refusesSmallClientWindow() throws Exception {
+        WsDeflate.accepted("permessage-deflate; client_max_window_bits=9");
+    }
+}
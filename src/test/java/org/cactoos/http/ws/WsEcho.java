@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import org.cactoos.http.io.ParsedHead;
+
+/**
+ * Server side of one WebSocket connection, for tests.
+ *
+ * <p>It accepts one connection, pings the client and sends every message
+ * back as it is, compressed or not, in fragments of the given size. The
+ * text <code>close</code>, not compressed, makes it close the connection.
+ * It ends when the client closes and returns the log of control frames,
+ * like <code>pong:hi ping close</code>.</p>
+ *
+ * @since 0.1
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsEcho implements Callable<String> {
+
+    /**
+     * The server socket.
+     */
+    private final ServerSocket server;
+
+    /**
+     * Accept permessage-deflate, if it's offered.
+     */
+    private final boolean deflate;
+
+    /**
+     * Size of fragments.
+     */
+    private final int chunk;
+
+    /**
+     * Ctor.
+     * @param server The server socket
+     * @param deflate Accept permessage-deflate, if it's offered
+     * @param chunk Size of fragments
+     */
+    public WsEcho(final ServerSocket server, final boolean deflate,
+        final int chunk) {
+        this.server = server;
+        this.deflate = deflate;
+        this.chunk = chunk;
+    }
+
+    @Override
+    public String call() throws Exception {
+        final StringBuilder log = new StringBuilder(0);
+        try (Socket socket = this.server.accept()) {
+            final ParsedHead head = new ParsedHead(socket.getInputStream());
+            final OutputStream output = socket.getOutputStream();
+            String ext = "";
+            if (this.deflate && head.headers().getOrDefault(
+                "sec-websocket-extensions", Collections.emptyList()
+            ).toString().contains(WsDeflate.NAME)) {
+                ext = String.format(
+                    "Sec-WebSocket-Extensions: %s\r\n", WsDeflate.NAME
+                );
+            }
+            output.write(
+                String.format(
+                    String.join(
+                        "\r\n",
+                        "HTTP/1.1 101 Switching Protocols",
+                        "Upgrade: websocket",
+                        "Connection: Upgrade",
+                        "Sec-WebSocket-Accept: %s",
+                        "%s\r\n"
+                    ),
+                    Base64.getEncoder().encodeToString(
+                        MessageDigest.getInstance("SHA-1").digest(
+                            String.join(
+                                "",
+                                head.headers().get("sec-websocket-key").get(0),
+                                "258EAFA5-E914-47DA-95CA-C5AB0DC85B11"
+                            ).getBytes(StandardCharsets.US_ASCII)
+                        )
+                    ),
+                    ext
+                ).getBytes(StandardCharsets.US_ASCII)
+            );
+            new WsFrame(
+                WsFrame.PING, "hi".getBytes(StandardCharsets.US_ASCII)
+            ).write(output);
+            this.echo(new WsFrames(head.body(), 1 << 26, true), output, log);
+        }
+        return log.toString().trim();
+    }
+
+    /**
+     * Send messages back until the close.
+     * @param frames Frames of the client
+     * @param output Where to write
+     * @param log Log of control frames
+     * @throws Exception If fails
+     */
+    private void echo(final WsFrames frames, final OutputStream output,
+        final StringBuilder log) throws Exception {
+        final ByteArrayOutputStream message = new ByteArrayOutputStream();
+        int first = 0;
+        boolean closing = false;
+        while (true) {
+            final WsFrame frame = frames.next();
+            if (frame.opcode() == WsFrame.CLOSE) {
+                log.append(" close");
+                if (!closing) {
+                    WsEcho.reply(frame, output);
+                }
+                break;
+            } else if (frame.opcode() == WsFrame.PING) {
+                log.append(" ping");
+                new WsFrame(WsFrame.PONG, frame.payload()).write(output);
+            } else if (frame.opcode() == WsFrame.PONG) {
+                log.append(" pong:").append(
+                    new String(frame.payload(), StandardCharsets.US_ASCII)
+                );
+            } else {
+                if (frame.opcode() != WsFrame.CONTINUATION) {
+                    first = frame.opcode();
+                    if (frame.compressed()) {
+                        first |= 0x40;
+                    }
+                }
+                message.write(frame.payload());
+                if (frame.fin()) {
+                    if (first == WsFrame.TEXT
+                        && "close".equals(message.toString("UTF-8"))) {
+                        new WsFrame(
+                            WsFrame.CLOSE, new byte[] {0x03, (byte) 0xe8}
+                        ).write(output);
+                        closing = true;
+                    } else {
+                        this.send(message.toByteArray(), first, output);
+                    }
+                    message.reset();
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the close frame back, the client may have closed the socket
+     * already, which it's allowed to do.
+     * @param frame Close frame of the client
+     * @param output Where to write
+     */
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private static void reply(final WsFrame frame, final OutputStream output) {
+        try {
+            new WsFrame(WsFrame.CLOSE, frame.payload()).write(output);
+        } catch (final IOException ex) {
+            // the client is gone already
+        }
+    }
+
+    /**
+     * Send the message in fragments.
+     * @param data The message
+     * @param first Opcode and RSV1 of the first fragment
+     * @param output Where to write
+     * @throws Exception If fails
+     */
+    private void send(final byte[] data, final int first,
+        final OutputStream output) throws Exception {
+        int pos = 0;
+        int type = first;
+        do {
+            final int len = Math.min(this.chunk, data.length - pos);
+            int bits = type;
+            if (pos + len == data.length) {
+                bits |= 0x80;
+            }
+            new WsFrame(bits, data, pos, len).write(output);
+            pos += len;
+            type = WsFrame.CONTINUATION;
+        } while (pos < data.length);
+        output.flush();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link WsFrame}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsFrameTest {
+
+    @Test
+    public void writesUnmaskedText() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(
+            WsFrame.TEXT, "Hello".getBytes(StandardCharsets.US_ASCII)
+        ).write(out);
+        new Assertion<>(
+            "must write the frame of RFC 6455, Section 5.7",
+            out.toByteArray(),
+            new IsEqual<>(
+                new byte[] {
+                    (byte) 0x81, 0x05, 0x48, 0x65, 0x6c, 0x6c, 0x6f,
+                }
+            )
+        ).affirm();
+    }
+
+    @Test
+    public void masksThroughSmallScratch() throws Exception {
+        final byte[] data = "Hello".getBytes(StandardCharsets.US_ASCII);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(WsFrame.TEXT, data).write(out, 0x37fa213d, new byte[2]);
+        new Assertion<>(
+            "must write the masked frame of RFC 6455, Section 5.7",
+            out.toByteArray(),
+            new IsEqual<>(
+                new byte[] {
+                    (byte) 0x81, (byte) 0x85, 0x37, (byte) 0xfa, 0x21, 0x3d,
+                    0x7f, (byte) 0x9f, 0x4d, 0x51, 0x58,
+                }
+            )
+        ).affirm();
+        new Assertion<>(
+            "must not change the payload",
+            new String(data, StandardCharsets.US_ASCII),
+            new IsEqual<>("Hello")
+        ).affirm();
+    }
+
+    @Test
+    public void writesExtendedLength() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(
+            WsFrame.BINARY, false, true, new byte[300], 10, 256
+        ).write(out);
+        final byte[] bytes = out.toByteArray();
+        new Assertion<>(
+            "must write 16-bit length of 256 bytes, without FIN, with RSV1",
+            new byte[] {bytes[0], bytes[1], bytes[2], bytes[3]},
+            new IsEqual<>(new byte[] {0x42, 0x7e, 0x01, 0x00})
+        ).affirm();
+        new Assertion<>(
+            "must write the payload after the head",
+            bytes.length,
+            new IsEqual<>(4 + 256)
+        ).affirm();
+    }
+
+    @Test
+    public void tellsControlFrames() {
+        new Assertion<>(
+            "must tell ping from data",
+            new WsFrame(WsFrame.PING, new byte[0]).control(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cactoos.http.ws;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link WsFrames}.
+ *
+ * @since 0.1
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class WsFramesTest {
+
+    @Test
+    public void readsMaskedFrames() throws Exception {
+        final byte[] data = new byte[70_000];
+        new Random(0L).nextBytes(data);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(WsFrame.BINARY, data).write(out, 0x01020304, new byte[64]);
+        new WsFrame(WsFrame.PING, new byte[] {1, 2})
+            .write(out, -1, new byte[8]);
+        final WsFrames frames = new WsFrames(
+            new ByteArrayInputStream(out.toByteArray()), 1 << 20, true
+        );
+        new Assertion<>(
+            "must unmask the payload of 64-bit length",
+            frames.next().payload(),
+            new IsEqual<>(data)
+        ).affirm();
+        new Assertion<>(
+            "must read the control frame",
+            frames.next().opcode(),
+            new IsEqual<>(WsFrame.PING)
+        ).affirm();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMaskedFramesOfServer() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(WsFrame.TEXT, new byte[1]).write(out, 1, new byte[8]);
+        new WsFrames(
+            new ByteArrayInputStream(out.toByteArray()), 1 << 20, false
+        ).next();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsBigFrames() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(WsFrame.TEXT, new byte[200]).write(out);
+        new WsFrames(
+            new ByteArrayInputStream(out.toByteArray()), 100, false
+        ).next();
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFragmentedControlFrames() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new WsFrame(
+            WsFrame.PING, false, false, new byte[1], 0, 1
+        ).write(out);
+        new WsFrames(
+            new ByteArrayInputStream(out.toByteArray()), 100, false
+        ).next();
+    }
+}